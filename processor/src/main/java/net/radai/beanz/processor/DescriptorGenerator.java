@@ -0,0 +1,693 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.processor;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * works out the properties of a single bean class the same way Beanz.parse() does at runtime
+ * (public getters/setters 1st, then non-static fields up the class hierarchy) and writes out
+ * the source of a provider that builds the equivalent descriptor without reflection.
+ * properties that cannot be reproduced exactly at compile time (generic or inaccessible types,
+ * overloaded accessors, static accessors) are listed as unsupported, and the generated provider
+ * refuses to describe the class unless they are all ignored.
+ */
+class DescriptorGenerator {
+    private static final Set<String> BUILT_IN_CODECS = new HashSet<>(Arrays.asList(
+            "java.lang.Boolean", "java.lang.Byte", "java.lang.Character", "java.lang.Short",
+            "java.lang.Integer", "java.lang.Long", "java.lang.Float", "java.lang.Double",
+            "java.lang.String", "java.util.Date"
+    ));
+
+    private static final List<String> IMPORTS = new ArrayList<>();
+
+    static {
+        for (String api : Arrays.asList("AccessStrategy", "BeanDescriptor", "BeanDescriptorProvider", "Codec", "FieldAccessMode", "PropertyDescriptor")) {
+            IMPORTS.add("net.radai.beanz.api." + api);
+        }
+        for (String codec : Arrays.asList("ArrayCodec", "CodecRegistry", "CollectionCodec", "FunctionCodec", "MapCodec")) {
+            IMPORTS.add("net.radai.beanz.codecs." + codec);
+        }
+        for (String kind : Arrays.asList("Array", "Collection", "Map", "Simple")) {
+            for (String flavor : Arrays.asList("Composite", "Field", "Function")) {
+                IMPORTS.add("net.radai.beanz.properties." + kind + flavor + "PropertyDescriptor");
+            }
+        }
+        IMPORTS.add("net.radai.beanz.util.ReflectionUtil");
+        for (String util : Arrays.asList("java.lang.reflect.Type", "java.util.Arrays", "java.util.Collections", "java.util.HashMap", "java.util.HashSet", "java.util.Map", "java.util.Set")) {
+            IMPORTS.add(util);
+        }
+    }
+
+    private final Elements elements;
+    private final Types types;
+    private final TypeElement beanElement;
+    private final PackageElement packageElement;
+    private final String beanClassName;
+    private final TypeMirror collectionType;
+    private final TypeMirror mapType;
+
+    private final List<ExecutableElement> methods = new ArrayList<>();
+    private final List<VariableElement> fields = new ArrayList<>();
+    private final Set<String> unsupported = new TreeSet<>();
+
+    DescriptorGenerator(ProcessingEnvironment processingEnv, TypeElement beanElement) {
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.beanElement = beanElement;
+        this.packageElement = elements.getPackageOf(beanElement);
+        this.beanClassName = beanElement.getQualifiedName().toString();
+        this.collectionType = types.erasure(elements.getTypeElement("java.util.Collection").asType());
+        this.mapType = types.erasure(elements.getTypeElement("java.util.Map").asType());
+    }
+
+    /**
+     * @return null if a descriptor can be generated for the bean class, otherwise the reason why not
+     */
+    String validate() {
+        if (beanElement.getKind() != ElementKind.CLASS) {
+            return "@Beanz.Generate only applies to classes";
+        }
+        if (beanElement.getNestingKind() == NestingKind.MEMBER && !beanElement.getModifiers().contains(Modifier.STATIC)) {
+            return "@Beanz.Generate does not apply to inner classes (they have a hidden field pointing to the outer instance). make " + beanClassName + " static";
+        }
+        if (!isAccessible(beanElement)) {
+            return "@Beanz.Generate does not apply to private classes";
+        }
+        return null;
+    }
+
+    String getGeneratedClassName() {
+        return elements.getBinaryName(beanElement) + "$BeanzDescriptor";
+    }
+
+    String generate() {
+        collectMembers();
+
+        //property names, in the same order Beanz.parse() encounters them
+        Set<String> names = new LinkedHashSet<>();
+        for (ExecutableElement method : methods) {
+            if (isGetter(method) || isSetter(method)) {
+                names.add(propNameFrom(method.getSimpleName().toString()));
+            }
+        }
+        for (VariableElement field : fields) {
+            names.add(field.getSimpleName().toString());
+        }
+
+        StringBuilder properties = new StringBuilder();
+        for (String name : names) {
+            try {
+                properties.append(property(name));
+            } catch (UnsupportedPropertyException e) {
+                unsupported.add(name);
+            }
+        }
+
+        String generatedClassName = getGeneratedClassName();
+        String packageName = packageElement.getQualifiedName().toString();
+        String simpleName = packageName.isEmpty() ? generatedClassName : generatedClassName.substring(packageName.length() + 1);
+
+        StringBuilder sb = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            sb.append("package ").append(packageName).append(";\n\n");
+        }
+        //single-type imports, so that classes in the bean's package cant shadow them
+        String previous = "";
+        for (String imported : IMPORTS) {
+            if (imported.startsWith("java.") && !previous.startsWith("java.")) {
+                sb.append("\n");
+            }
+            sb.append("import ").append(imported).append(";\n");
+            previous = imported;
+        }
+        sb.append("\n");
+        sb.append("/**\n");
+        sb.append(" * generated by ").append(BeanzProcessor.class.getName()).append(" from ").append(beanClassName).append(". do not edit\n");
+        sb.append(" */\n");
+        sb.append("public final class ").append(simpleName).append(" implements BeanDescriptorProvider {\n");
+        sb.append("    private static final Set<String> UNSUPPORTED = Collections.unmodifiableSet(new HashSet<>(Arrays.<String>asList(");
+        boolean first = true;
+        for (String name : unsupported) {
+            sb.append(first ? "" : ", ").append(literal(name));
+            first = false;
+        }
+        sb.append(")));\n\n");
+        sb.append("    @Override\n");
+        sb.append("    public Class<?> getBeanClass() {\n");
+        sb.append("        return ").append(beanClassName).append(".class;\n");
+        sb.append("    }\n\n");
+        sb.append("    @Override\n");
+        sb.append("    public BeanDescriptor describe(Set<String> ignore, AccessStrategy access) {\n");
+        sb.append("        return describe(ignore, access, CodecRegistry.BUILT_INS);\n");
+        sb.append("    }\n\n");
+        sb.append("    @Override\n");
+        sb.append("    @SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        sb.append("    public BeanDescriptor describe(Set<String> ignore, AccessStrategy access, CodecRegistry parentCodecs) {\n");
+        sb.append("        if (!ignore.containsAll(UNSUPPORTED)) {\n");
+        sb.append("            return null; //only runtime parsing can handle these\n");
+        sb.append("        }\n");
+        sb.append("        BeanDescriptor bean = new BeanDescriptor(").append(beanClassName).append(".class, parentCodecs);\n");
+        sb.append("        CodecRegistry codecs = bean.getCodecs();\n");
+        sb.append(properties);
+        sb.append("        return bean;\n");
+        sb.append("    }\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    /**
+     * mirrors Class.getMethods() (public methods, including static ones, of the class, its superclasses
+     * and its superinterfaces) and the fields visited by Beanz.parse() (non-static fields up the class hierarchy)
+     */
+    private void collectMembers() {
+        Set<TypeElement> interfaces = new LinkedHashSet<>();
+        TypeElement c = beanElement;
+        while (c != null) {
+            for (ExecutableElement method : ElementFilter.methodsIn(c.getEnclosedElements())) {
+                if (method.getModifiers().contains(Modifier.PUBLIC)) {
+                    methods.add(method);
+                }
+            }
+            for (VariableElement field : ElementFilter.fieldsIn(c.getEnclosedElements())) {
+                if (!field.getModifiers().contains(Modifier.STATIC)) {
+                    fields.add(field);
+                }
+            }
+            collectInterfaces(c, interfaces);
+            c = superclassOf(c);
+        }
+        for (TypeElement iface : interfaces) {
+            for (ExecutableElement method : ElementFilter.methodsIn(iface.getEnclosedElements())) {
+                Set<Modifier> modifiers = method.getModifiers();
+                if (!modifiers.contains(Modifier.STATIC) && !modifiers.contains(Modifier.PRIVATE)) {
+                    methods.add(method);
+                }
+            }
+        }
+    }
+
+    private void collectInterfaces(TypeElement type, Set<TypeElement> into) {
+        for (TypeMirror iface : type.getInterfaces()) {
+            TypeElement ifaceElement = (TypeElement) types.asElement(iface);
+            if (into.add(ifaceElement)) {
+                collectInterfaces(ifaceElement, into);
+            }
+        }
+    }
+
+    private TypeElement superclassOf(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        return (TypeElement) types.asElement(superclass);
+    }
+
+    /**
+     * the equivalent of Beanz.resolve() for a single property
+     * @return the source code that adds the property to the descriptor, or an empty string if it is not a property
+     */
+    private String property(String name) {
+        ExecutableElement getter = findGetter(name);
+        ExecutableElement setter = findSetter(name);
+        VariableElement field = findField(name);
+        if (getter == null && setter == null && field == null) {
+            return "";
+        }
+        if ((getter != null && isStatic(getter)) || (setter != null && isStatic(setter))) {
+            throw new UnsupportedPropertyException();
+        }
+
+        TypeMirror getterType = getter != null ? getter.getReturnType() : null;
+        TypeMirror setterType = setter != null ? setter.getParameters().get(0).asType() : null;
+        TypeMirror fieldType = field != null ? field.asType() : null;
+        //a field is not part of a property that has both a getter and a setter
+        List<TypeMirror> involved = getter != null && setter != null ? Arrays.asList(getterType, setterType) : Arrays.asList(getterType, setterType, fieldType);
+        for (TypeMirror type : involved) {
+            if (type != null && !isRepresentable(type)) {
+                throw new UnsupportedPropertyException();
+            }
+        }
+        TypeMirror type;
+        if (getter != null && setter != null) {
+            if (!types.isSameType(getterType, setterType)) {
+                return ""; //ambiguous
+            }
+            type = getterType;
+        } else if (getter == null && setter == null) {
+            type = fieldType;
+        } else {
+            type = getterType != null ? getterType : setterType;
+            if (field != null && !types.isSameType(type, fieldType)) {
+                return ""; //ambiguous
+            }
+        }
+        String kind = propertyKind(type);
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("        if (!ignore.contains(").append(literal(name)).append(")) {\n");
+        sb.append("            Type type = ").append(typeExpression(type)).append(";\n");
+        List<String> codecStatements = new ArrayList<>();
+        resolveCodec(type, codecStatements);
+        for (String statement : codecStatements) {
+            sb.append("            ").append(statement).append("\n");
+        }
+        String propertyExpression;
+        if (getter != null && setter != null) {
+            propertyExpression = methodProperty(kind, name, getter, setter);
+        } else if (getter == null && setter == null) {
+            propertyExpression = fieldProperty(kind, name, field, type);
+        } else if (field == null) {
+            propertyExpression = methodProperty(kind, name, getter, setter);
+        } else {
+            propertyExpression = "new " + kind + "CompositePropertyDescriptor(bean, " + literal(name) + ", type, new PropertyDescriptor[] {\n"
+                    + "                    " + methodProperty(kind, name, getter, setter) + ",\n"
+                    + "                    " + fieldProperty(kind, name, field, type) + "})";
+        }
+        sb.append("            bean.addProperty(").append(propertyExpression).append(");\n");
+        sb.append("        }\n");
+        return sb.toString();
+    }
+
+    private String methodProperty(String kind, String name, ExecutableElement getter, ExecutableElement setter) {
+        String getterExpression = "null";
+        String setterExpression = "null";
+        if (getter != null) {
+            getterExpression = "b -> ((" + beanClassName + ") b)." + getter.getSimpleName() + "()";
+        }
+        if (setter != null) {
+            TypeMirror paramType = setter.getParameters().get(0).asType();
+            setterExpression = "(b, v) -> ((" + beanClassName + ") b)." + setter.getSimpleName() + "((" + castTo(paramType) + ") v)";
+        }
+        return "new " + kind + "FunctionPropertyDescriptor(bean, " + literal(name) + ", type, " + getterExpression + ", " + setterExpression + ")";
+    }
+
+    private String fieldProperty(String kind, String name, VariableElement field, TypeMirror type) {
+        TypeElement declaringElement = (TypeElement) field.getEnclosingElement();
+        Set<Modifier> modifiers = field.getModifiers();
+        boolean accessible = isAccessible(declaringElement) && (modifiers.contains(Modifier.PUBLIC)
+                || (!modifiers.contains(Modifier.PRIVATE) && elements.getPackageOf(declaringElement).equals(packageElement)));
+        if (!accessible) {
+            //no way around reflection for these
+            return "new " + kind + "FieldPropertyDescriptor(bean, " + literal(name) + ", type, ReflectionUtil.findField("
+                    + beanClassName + ".class, " + literal(name) + "), access, FieldAccessMode.PLAIN)";
+        }
+        String declaringClassName = declaringElement.getQualifiedName().toString();
+        String getterExpression = "b -> ((" + declaringClassName + ") b)." + field.getSimpleName();
+        String setterExpression = "null";
+        if (!modifiers.contains(Modifier.FINAL)) {
+            setterExpression = "(b, v) -> ((" + declaringClassName + ") b)." + field.getSimpleName() + " = (" + castTo(type) + ") v";
+        }
+        return "new " + kind + "FunctionPropertyDescriptor(bean, " + literal(name) + ", type, " + getterExpression + ", " + setterExpression + ")";
+    }
+
+    /**
+     * mirrors Beanz.resolvePropertyCodec(), adding a statement that registers a codec for every type
+     * (and component type) that Beanz would have registered one for.
+     * @return true if there is a codec for the given type
+     */
+    private boolean resolveCodec(TypeMirror type, List<String> statements) {
+        if (isBuiltIn(type)) {
+            return true;
+        }
+        String typeExpression = typeExpression(type);
+        if (type.getKind() == TypeKind.ARRAY || isSubtype(type, collectionType)) {
+            TypeMirror elementType;
+            if (type.getKind() == TypeKind.ARRAY) {
+                elementType = ((ArrayType) type).getComponentType();
+            } else {
+                List<? extends TypeMirror> typeArguments = ((DeclaredType) type).getTypeArguments();
+                if (typeArguments.size() != 1) {
+                    throw new UnsupportedPropertyException(); //Beanz would throw
+                }
+                elementType = typeArguments.get(0);
+            }
+            if (!resolveCodec(elementType, statements)) {
+                return false;
+            }
+            String elementExpression = typeExpression(elementType);
+            String codecClass = type.getKind() == TypeKind.ARRAY ? "ArrayCodec" : "CollectionCodec";
+            statements.add("codecs.computeIfAbsent(" + typeExpression + ", t -> new " + codecClass + "(t, "
+                    + elementExpression + ", codecs.get(" + elementExpression + ")));");
+            return true;
+        }
+        if (isSubtype(type, mapType)) {
+            List<? extends TypeMirror> typeArguments = ((DeclaredType) type).getTypeArguments();
+            if (typeArguments.size() != 2) {
+                throw new UnsupportedPropertyException(); //Beanz would throw
+            }
+            boolean keyCodec = resolveCodec(typeArguments.get(0), statements);
+            boolean valueCodec = resolveCodec(typeArguments.get(1), statements);
+            if (!keyCodec || !valueCodec) {
+                return false;
+            }
+            String keyExpression = typeExpression(typeArguments.get(0));
+            String valueExpression = typeExpression(typeArguments.get(1));
+            statements.add("codecs.computeIfAbsent(" + typeExpression + ", t -> new MapCodec(t, " + keyExpression + ", "
+                    + valueExpression + ", codecs.get(" + keyExpression + "), codecs.get(" + valueExpression + ")));");
+            return true;
+        }
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        TypeElement typeElement = (TypeElement) ((DeclaredType) type).asElement();
+        String className = typeElement.getQualifiedName().toString();
+        if (typeElement.getKind() == ElementKind.ENUM) {
+            statements.add("codecs.computeIfAbsent(" + typeExpression + ", t -> new FunctionCodec(t, o -> ((" + className
+                    + ") o).name(), s -> " + className + ".valueOf(s)));");
+            return true;
+        }
+        //toString + valueOf(String)/fromString(String) defined DIRECTLY on the type itself
+        ExecutableElement encodeMethod = null;
+        ExecutableElement decodeMethod = null;
+        for (ExecutableElement method : ElementFilter.methodsIn(typeElement.getEnclosedElements())) {
+            Set<Modifier> modifiers = method.getModifiers();
+            boolean isPublic = modifiers.contains(Modifier.PUBLIC) || (typeElement.getKind() == ElementKind.INTERFACE && !modifiers.contains(Modifier.PRIVATE));
+            if (!isPublic) {
+                continue;
+            }
+            String methodName = method.getSimpleName().toString();
+            List<? extends VariableElement> parameters = method.getParameters();
+            if ("toString".equals(methodName) && !modifiers.contains(Modifier.STATIC) && parameters.isEmpty()
+                    && isClass(method.getReturnType(), "java.lang.String")) {
+                encodeMethod = method;
+            } else if (("fromString".equals(methodName) || "valueOf".equals(methodName)) && modifiers.contains(Modifier.STATIC)
+                    && parameters.size() == 1 && isClass(parameters.get(0).asType(), "java.lang.String")) {
+                if (decodeMethod != null) {
+                    throw new UnsupportedPropertyException(); //Beanz would throw
+                }
+                decodeMethod = method;
+            }
+        }
+        if (encodeMethod == null || decodeMethod == null) {
+            return false;
+        }
+        String erasedName = types.erasure(type).toString();
+        statements.add("codecs.computeIfAbsent(" + typeExpression + ", t -> new FunctionCodec(t, o -> ((" + erasedName
+                + ") o).toString(), s -> " + className + "." + decodeMethod.getSimpleName() + "(s)));");
+        return true;
+    }
+
+    /**
+     * @return a java expression that evaluates to a java.lang.reflect.Type equal to what reflection would return for the given type
+     */
+    private String typeExpression(TypeMirror type) {
+        if (isClassLike(type)) {
+            return types.erasure(type).toString() + ".class";
+        }
+        if (type.getKind() == TypeKind.ARRAY) {
+            return "ReflectionUtil.arrayOf(" + typeExpression(((ArrayType) type).getComponentType()) + ")";
+        }
+        DeclaredType declaredType = (DeclaredType) type;
+        StringBuilder sb = new StringBuilder("ReflectionUtil.parameterize(");
+        sb.append(((TypeElement) declaredType.asElement()).getQualifiedName()).append(".class");
+        for (TypeMirror typeArgument : declaredType.getTypeArguments()) {
+            sb.append(", ").append(typeExpression(typeArgument));
+        }
+        return sb.append(")").toString();
+    }
+
+    /**
+     * @return true if the given type can be referenced from the generated class and has a java.lang.reflect.Type
+     * that can be reconstructed at runtime (no type variables, wildcards or generic outer classes)
+     */
+    private boolean isRepresentable(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return true;
+        }
+        if (type.getKind() == TypeKind.ARRAY) {
+            return isRepresentable(((ArrayType) type).getComponentType());
+        }
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        DeclaredType declaredType = (DeclaredType) type;
+        if (!isAccessible((TypeElement) declaredType.asElement())) {
+            return false;
+        }
+        TypeMirror enclosingType = declaredType.getEnclosingType();
+        if (enclosingType.getKind() == TypeKind.DECLARED && !((DeclaredType) enclosingType).getTypeArguments().isEmpty()) {
+            return false;
+        }
+        for (TypeMirror typeArgument : declaredType.getTypeArguments()) {
+            if (!isRepresentable(typeArgument)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if reflection would represent the given type as a plain Class
+     */
+    private boolean isClassLike(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return true;
+        }
+        if (type.getKind() == TypeKind.ARRAY) {
+            return isClassLike(((ArrayType) type).getComponentType());
+        }
+        return ((DeclaredType) type).getTypeArguments().isEmpty();
+    }
+
+    private String castTo(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return types.boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        }
+        return types.erasure(type).toString();
+    }
+
+    private String propertyKind(TypeMirror type) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            return "Array";
+        }
+        if (isSubtype(type, collectionType)) {
+            return "Collection";
+        }
+        if (isSubtype(type, mapType)) {
+            return "Map";
+        }
+        return "Simple";
+    }
+
+    private boolean isSubtype(TypeMirror type, TypeMirror erasedSupertype) {
+        return type.getKind() == TypeKind.DECLARED && types.isSubtype(types.erasure(type), erasedSupertype);
+    }
+
+    private boolean isBuiltIn(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return true;
+        }
+        if (type.getKind() != TypeKind.DECLARED || !((DeclaredType) type).getTypeArguments().isEmpty()) {
+            return false;
+        }
+        return BUILT_IN_CODECS.contains(((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString());
+    }
+
+    private boolean isClass(TypeMirror type, String className) {
+        return type.getKind() == TypeKind.DECLARED
+                && ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().contentEquals(className);
+    }
+
+    private boolean isBoolean(TypeMirror type) {
+        return type.getKind() == TypeKind.BOOLEAN || isClass(type, "java.lang.Boolean");
+    }
+
+    /**
+     * @return true if the given type can be referenced by name from the generated class (which sits in the bean's package)
+     */
+    private boolean isAccessible(TypeElement type) {
+        Element e = type;
+        while (e != null && (e.getKind().isClass() || e.getKind().isInterface())) {
+            Set<Modifier> modifiers = e.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (!modifiers.contains(Modifier.PUBLIC) && !elements.getPackageOf(e).equals(packageElement)) {
+                return false;
+            }
+            if (((TypeElement) e).getNestingKind() == NestingKind.LOCAL || ((TypeElement) e).getNestingKind() == NestingKind.ANONYMOUS) {
+                return false;
+            }
+            e = e.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private static boolean isStatic(Element element) {
+        return element.getModifiers().contains(Modifier.STATIC);
+    }
+
+    //the following mirror ReflectionUtil's getter/setter rules
+
+    private boolean isGetter(ExecutableElement method) {
+        if (method.getReturnType().getKind() == TypeKind.VOID || !method.getParameters().isEmpty()) {
+            return false;
+        }
+        String name = method.getSimpleName().toString();
+        if (name.startsWith("get")) {
+            return name.length() >= 4 && isUpperCase(name.substring(3, 4));
+        } else if (name.startsWith("is")) {
+            return name.length() >= 3 && isUpperCase(name.substring(2, 3)) && isBoolean(method.getReturnType());
+        }
+        return false;
+    }
+
+    private boolean isSetter(ExecutableElement method) {
+        if (method.getReturnType().getKind() != TypeKind.VOID || method.getParameters().size() != 1) {
+            return false;
+        }
+        String name = method.getSimpleName().toString();
+        return name.startsWith("set") && name.length() >= 4 && isUpperCase(name.substring(3, 4));
+    }
+
+    private static boolean isUpperCase(String s) {
+        return s.toUpperCase(Locale.ROOT).equals(s);
+    }
+
+    private static String propNameFrom(String methodName) {
+        int prefix = methodName.startsWith("is") ? 2 : 3;
+        return methodName.substring(prefix, prefix + 1).toLowerCase(Locale.ROOT) + methodName.substring(prefix + 1);
+    }
+
+    private static String capitalize(String propName) {
+        return propName.substring(0, 1).toUpperCase(Locale.ROOT) + propName.substring(1);
+    }
+
+    /**
+     * ReflectionUtil.findGetter() returns the 1st matching method, and Class.getMethods() is unordered.
+     * so if there's more than one candidate (say, getX() and isX(), or a covariant override and its bridge
+     * method) the result at runtime is unpredictable and we cant reproduce it
+     */
+    private ExecutableElement findGetter(String propName) {
+        String capitalized = capitalize(propName);
+        List<ExecutableElement> candidates = new ArrayList<>();
+        for (ExecutableElement method : methods) {
+            String methodName = method.getSimpleName().toString();
+            if (!methodName.equals("get" + capitalized) && !methodName.equals("is" + capitalized)) {
+                continue;
+            }
+            if (!method.getParameters().isEmpty() || method.getReturnType().getKind() == TypeKind.VOID) {
+                continue;
+            }
+            if (methodName.startsWith("is") && !isBoolean(method.getReturnType())) {
+                continue;
+            }
+            candidates.add(method);
+        }
+        return single(candidates, true);
+    }
+
+    private ExecutableElement findSetter(String propName) {
+        String expectedName = "set" + capitalize(propName);
+        List<ExecutableElement> candidates = new ArrayList<>();
+        for (ExecutableElement method : methods) {
+            if (method.getSimpleName().contentEquals(expectedName)
+                    && method.getReturnType().getKind() == TypeKind.VOID
+                    && method.getParameters().size() == 1) {
+                candidates.add(method);
+            }
+        }
+        return single(candidates, false);
+    }
+
+    /**
+     * @param candidates candidate methods, most derived 1st
+     * @param getters true for getters (compared by name and return type), false for setters (compared by parameter type)
+     * @return the single distinct candidate (overrides of the same method are not distinct), or null if there are none
+     */
+    private ExecutableElement single(List<ExecutableElement> candidates, boolean getters) {
+        ExecutableElement result = null;
+        for (ExecutableElement candidate : candidates) {
+            if (result == null) {
+                result = candidate;
+                continue;
+            }
+            TypeMirror resultType = getters ? result.getReturnType() : result.getParameters().get(0).asType();
+            TypeMirror candidateType = getters ? candidate.getReturnType() : candidate.getParameters().get(0).asType();
+            if (!result.getSimpleName().contentEquals(candidate.getSimpleName()) || !types.isSameType(resultType, candidateType)) {
+                throw new UnsupportedPropertyException();
+            }
+        }
+        return result;
+    }
+
+    private VariableElement findField(String propName) {
+        for (VariableElement field : fields) {
+            if (field.getSimpleName().contentEquals(propName)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    private static String literal(String s) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : s.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20 || c > 0x7e) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append("\"").toString();
+    }
+
+    private static class UnsupportedPropertyException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        UnsupportedPropertyException() {
+            super(null, null, false, false);
+        }
+    }
+}
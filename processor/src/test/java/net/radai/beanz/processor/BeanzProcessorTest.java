@@ -0,0 +1,158 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.processor;
+
+import net.radai.beanz.Beanz;
+import net.radai.beanz.api.BeanDescriptor;
+import net.radai.beanz.api.Codec;
+import net.radai.beanz.api.PropertyDescriptor;
+import net.radai.beanz.codecs.CodecRegistry;
+import net.radai.beanz.codecs.FunctionCodec;
+import net.radai.beanz.properties.CompositePropertyDescriptor;
+import net.radai.beanz.properties.FunctionPropertyDescriptor;
+import net.radai.beanz.properties.MethodPropertyDescriptor;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+public class BeanzProcessorTest {
+    private static final String SAMPLE =
+            "package sample;\n" +
+            "\n" +
+            "import net.radai.beanz.Beanz;\n" +
+            "import java.util.*;\n" +
+            "\n" +
+            "@Beanz.Generate\n" +
+            "public class Sample extends SampleBase {\n" +
+            "    public enum Color { RED, GREEN }\n" +
+            "    private int number;\n" +
+            "    private List<String> names;\n" +
+            "    private Map<String, Color> colors;\n" +
+            "    public Color[] palette;\n" +
+            "    private long secret;\n" +
+            "    protected final String constant = \"c\";\n" +
+            "    private boolean flag;\n" +
+            "    private static String global;\n" +
+            "    public int getNumber() { return number; }\n" +
+            "    public void setNumber(int number) { this.number = number; }\n" +
+            "    public List<String> getNames() { return names; }\n" +
+            "    public void setNames(List<String> names) { this.names = names; }\n" +
+            "    public Map<String, Color> getColors() { return colors; }\n" +
+            "    public void setColors(Map<String, Color> colors) { this.colors = colors; }\n" +
+            "    public boolean isFlag() { return flag; }\n" +
+            "    public void setAmbiguous(String s) { }\n" +
+            "    public int getAmbiguous() { return 0; }\n" +
+            "    public static String getGlobal() { return global; }\n" +
+            "    public static void setGlobal(String global) { Sample.global = global; }\n" +
+            "}\n";
+    private static final String SAMPLE_BASE =
+            "package sample;\n" +
+            "\n" +
+            "public class SampleBase {\n" +
+            "    double inherited;\n" +
+            "    private String hidden;\n" +
+            "}\n";
+
+    @Test
+    public void testGeneratedDescriptor() throws Exception {
+        Path dir = Files.createTempDirectory("beanz-processor");
+        File sources = dir.resolve("src").toFile();
+        File classes = dir.resolve("classes").toFile();
+        Assert.assertTrue(new File(sources, "sample").mkdirs() && classes.mkdirs());
+        Files.write(new File(sources, "sample/Sample.java").toPath(), SAMPLE.getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(sources, "sample/SampleBase.java").toPath(), SAMPLE_BASE.getBytes(StandardCharsets.UTF_8));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjects(new File(sources, "sample/Sample.java"), new File(sources, "sample/SampleBase.java"));
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, Arrays.asList(
+                    "-d", classes.getPath(), "-s", sources.getPath(), "-classpath", System.getProperty("java.class.path")
+            ), null, units);
+            task.setProcessors(Collections.singletonList(new BeanzProcessor()));
+            Assert.assertTrue(task.call());
+        }
+        Assert.assertTrue(new File(classes, BeanzProcessor.SERVICE_FILE).exists());
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {classes.toURI().toURL()}, getClass().getClassLoader())) {
+            Class<?> sampleClass = loader.loadClass("sample.Sample");
+
+            //a property that cant be generated means falling back to reflection, unless its ignored
+            BeanDescriptor fallback = Beanz.parse(sampleClass);
+            Assert.assertTrue(fallback.getProperty("number") instanceof MethodPropertyDescriptor);
+            Set<String> ignore = new HashSet<>(Arrays.asList("class", "global"));
+            BeanDescriptor generated = Beanz.parse(sampleClass, ignore);
+            Assert.assertTrue(generated.getProperty("number") instanceof FunctionPropertyDescriptor);
+            Assert.assertTrue(generated.getProperty("flag") instanceof CompositePropertyDescriptor);
+            Assert.assertNull(generated.getProperty("ambiguous"));
+
+            //should be equivalent to what runtime parsing comes up with
+            BeanDescriptor parsed = Beanz.parseUncached(sampleClass, ignore);
+            Assert.assertEquals(parsed.getProperties().keySet(), generated.getProperties().keySet());
+            Object bean = sampleClass.newInstance();
+            String[][] values = {
+                    {"number", "7"}, {"names", "[a, b]"}, {"colors", "{x=RED}"}, {"palette", "[GREEN, RED]"},
+                    {"secret", "42"}, {"flag", "true"}, {"inherited", "1.5"}, {"hidden", "h"}
+            };
+            for (PropertyDescriptor expected : parsed.getProperties().values()) {
+                PropertyDescriptor actual = generated.getProperty(expected.getName());
+                Assert.assertEquals(expected.getName(), expected.getType(), actual.getType());
+                Assert.assertEquals(expected.getName(), expected.getValueType(), actual.getValueType());
+                Assert.assertEquals(expected.getName(), expected.isReadable(), actual.isReadable());
+                Assert.assertEquals(expected.getName(), expected.isWritable(), actual.isWritable());
+                Codec expectedCodec = expected.getCodec();
+                Codec actualCodec = actual.getCodec();
+                Assert.assertEquals(expected.getName(), expectedCodec == null, actualCodec == null);
+            }
+            for (String[] value : values) {
+                generated.getProperty(value[0]).setFromString(bean, value[1]);
+                Assert.assertEquals(value[1], parsed.getProperty(value[0]).getAsString(bean));
+            }
+            Assert.assertEquals("c", generated.getProperty("constant").get(bean));
+
+            //generated descriptors layer their codecs over the given registry too
+            CodecRegistry overlay = CodecRegistry.BUILT_INS.overlay();
+            Codec hex = new FunctionCodec(int.class, o -> Integer.toHexString((Integer) o), s -> Integer.parseInt(s, 16));
+            overlay.put(int.class, hex);
+            BeanDescriptor withOverlay = Beanz.parse(sampleClass, ignore, null, null, overlay);
+            Assert.assertTrue(withOverlay.getProperty("number") instanceof FunctionPropertyDescriptor);
+            Assert.assertSame(hex, withOverlay.getProperty("number").getCodec());
+        }
+    }
+}
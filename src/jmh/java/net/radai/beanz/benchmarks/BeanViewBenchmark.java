@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.benchmarks;
+
+import net.radai.beanz.Beanz;
+import net.radai.beanz.api.Bean;
+import net.radai.beanz.api.Property;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * allocations (see the gc profiler) of wrapping a wide bean per message and touching a single property,
+ * vs materializing all of its Property views up front (which is what wrapping a bean used to do)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BeanViewBenchmark {
+    private final WideBean instance = new WideBean();
+
+    @Setup
+    public void setup() {
+        Beanz.parse(WideBean.class); //so parsing isnt measured
+    }
+
+    @Benchmark
+    public Object lazyGetOne() {
+        return Beanz.wrap(instance).getProperty("p00").get();
+    }
+
+    @Benchmark
+    public int lazyIterate() {
+        int readable = 0;
+        for (Property property : Beanz.wrap(instance).getProperties().values()) {
+            readable += property.isReadable() ? 1 : 0;
+        }
+        return readable;
+    }
+
+    @Benchmark
+    public Object eagerGetOne() {
+        Bean<WideBean> bean = Beanz.wrap(instance);
+        Map<String, Property> properties = new HashMap<>();
+        for (Map.Entry<String, Property> entry : bean.getProperties().entrySet()) {
+            properties.put(entry.getKey(), entry.getValue());
+        }
+        return Collections.unmodifiableMap(properties).get("p00").get();
+    }
+}
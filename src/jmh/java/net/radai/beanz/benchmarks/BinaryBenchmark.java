@@ -0,0 +1,133 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.benchmarks;
+
+import net.radai.beanz.Beanz;
+import net.radai.beanz.binary.BinaryCodecs;
+import net.radai.beanz.binary.BinarySerializer;
+import net.radai.beanz.binary.Schema;
+import net.radai.beanz.binary.SchemaRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * a bean round trip through a binary serializer (into heap and direct buffers) vs java serialization,
+ * and reading a payload written by a (newer) version of the bean with an extra property
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BinaryBenchmark {
+    private final BenchmarkBean bean = new BenchmarkBean();
+    private final ByteBuffer heap = ByteBuffer.allocate(4096);
+    private final ByteBuffer direct = ByteBuffer.allocateDirect(4096);
+    private final ByteBuffer remote = ByteBuffer.allocate(4096);
+    private final SchemaRegistry registry = new SchemaRegistry();
+    private BinarySerializer<BenchmarkBean> serializer;
+
+    @Setup
+    public void setup() {
+        bean.field = 7;
+        bean.setMethod(42L);
+        bean.setList(new ArrayList<>(Arrays.asList(1, 2, 3)));
+        bean.setArray(new int[] {1, 2, 3});
+        Map<String, Integer> map = new HashMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        bean.setMap(map);
+        bean.setDate(new Date(1499990400000L));
+        serializer = new BinarySerializer<>(Beanz.parse(BenchmarkBean.class));
+        Schema local = serializer.getSchema();
+        List<String> names = new ArrayList<>(local.getNames());
+        List<String> encodings = new ArrayList<>(local.getEncodings());
+        names.add("extra");
+        encodings.add("string");
+        remote.putLong(registry.register(new Schema(names, encodings)));
+        serializer.write(bean, remote);
+        remote.put((byte) 1);
+        BinaryCodecs.writeString("extra", remote);
+        remote.flip();
+    }
+
+    @Benchmark
+    public BenchmarkBean heapBuffer() {
+        return roundTrip(heap);
+    }
+
+    @Benchmark
+    public BenchmarkBean directBuffer() {
+        return roundTrip(direct);
+    }
+
+    @Benchmark
+    public BenchmarkBean remoteSchema() {
+        remote.rewind();
+        return serializer.readWithHeader(remote, registry);
+    }
+
+    @Benchmark
+    public Object javaSerialization() throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(bean);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return in.readObject();
+        }
+    }
+
+    private BenchmarkBean roundTrip(ByteBuffer buffer) {
+        buffer.clear();
+        serializer.write(bean, buffer);
+        buffer.flip();
+        return serializer.read(buffer);
+    }
+}
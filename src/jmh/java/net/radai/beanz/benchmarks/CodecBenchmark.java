@@ -0,0 +1,147 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.benchmarks;
+
+import net.radai.beanz.Beanz;
+import net.radai.beanz.api.BeanDescriptor;
+import net.radai.beanz.api.Codec;
+import net.radai.beanz.codecs.Codecs;
+import net.radai.beanz.codecs.SimpleCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * encode/decode round trips for the built-in and composite codecs
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CodecBenchmark {
+    private Codec simpleCodec;
+    private Codec collectionCodec;
+    private Codec arrayCodec;
+    private Codec mapCodec;
+    private Codec dateCodec;
+
+    private Object simpleValue;
+    private Object collectionValue;
+    private Object arrayValue;
+    private Object mapValue;
+    private Object dateValue;
+
+    private String simpleString;
+    private String collectionString;
+    private String arrayString;
+    private String mapString;
+    private String dateString;
+
+    @Setup
+    public void setup() throws Exception {
+        BeanDescriptor descriptor = Beanz.parse(BenchmarkBean.class);
+        //built-in primitives have their own codecs, enums (and toString/valueOf types) are what still use SimpleCodec
+        simpleCodec = new SimpleCodec(TimeUnit.class, TimeUnit.class.getMethod("name"), TimeUnit.class.getMethod("valueOf", String.class));
+        collectionCodec = descriptor.getProperty("list").getCodec();
+        arrayCodec = descriptor.getProperty("array").getCodec();
+        mapCodec = descriptor.getProperty("map").getCodec();
+        dateCodec = Codecs.DATE_CODEC;
+
+        simpleString = "MILLISECONDS";
+        collectionString = "[1, 2, 3, 4, 5, 6, 7, 8, 9, 10]";
+        arrayString = "[1, 2, 3, 4, 5, 6, 7, 8, 9, 10]";
+        mapString = "{a=1, b=2, c=3, d=4, e=5}";
+        dateString = dateCodec.encode(new Date(1500000000000L));
+
+        simpleValue = simpleCodec.decode(simpleString);
+        collectionValue = collectionCodec.decode(collectionString);
+        arrayValue = arrayCodec.decode(arrayString);
+        mapValue = mapCodec.decode(mapString);
+        dateValue = dateCodec.decode(dateString);
+    }
+
+    @Benchmark
+    public String encodeSimple() {
+        return simpleCodec.encode(simpleValue);
+    }
+
+    @Benchmark
+    public Object decodeSimple() {
+        return simpleCodec.decode(simpleString);
+    }
+
+    @Benchmark
+    public String encodeCollection() {
+        return collectionCodec.encode(collectionValue);
+    }
+
+    @Benchmark
+    public Object decodeCollection() {
+        return collectionCodec.decode(collectionString);
+    }
+
+    @Benchmark
+    public String encodeArray() {
+        return arrayCodec.encode(arrayValue);
+    }
+
+    @Benchmark
+    public Object decodeArray() {
+        return arrayCodec.decode(arrayString);
+    }
+
+    @Benchmark
+    public String encodeMap() {
+        return mapCodec.encode(mapValue);
+    }
+
+    @Benchmark
+    public Object decodeMap() {
+        return mapCodec.decode(mapString);
+    }
+
+    @Benchmark
+    public String encodeDate() {
+        return dateCodec.encode(dateValue);
+    }
+
+    @Benchmark
+    public Object decodeDate() {
+        return dateCodec.decode(dateString);
+    }
+}
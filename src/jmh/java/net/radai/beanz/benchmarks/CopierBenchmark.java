@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.benchmarks;
+
+import net.radai.beanz.Beanz;
+import net.radai.beanz.Copier;
+import net.radai.beanz.api.Bean;
+import net.radai.beanz.api.Property;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * copying a bean with a copier vs via a pair of Bean wrappers vs hand-written code
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CopierBenchmark {
+    private final BenchmarkBean source = new BenchmarkBean();
+    private final BenchmarkBean target = new BenchmarkBean();
+    private Copier<BenchmarkBean, BenchmarkBean> copier;
+
+    @Setup
+    public void setup() {
+        source.field = 7;
+        source.setMethod(42L);
+        source.setList(Arrays.asList(1, 2, 3));
+        source.setArray(new int[] {1, 2, 3});
+        source.setMap(new HashMap<>());
+        source.setDate(new Date(1499990400000L));
+        copier = Beanz.copier(BenchmarkBean.class, BenchmarkBean.class);
+    }
+
+    @Benchmark
+    public BenchmarkBean copier() {
+        return copier.copy(source, target);
+    }
+
+    @Benchmark
+    public BenchmarkBean beanWrappers() {
+        Bean<BenchmarkBean> from = Beanz.wrap(source);
+        Bean<BenchmarkBean> to = Beanz.wrap(target);
+        for (Property property : from.getProperties().values()) {
+            Property other = to.getProperty(property.getName());
+            if (property.isReadable() && other != null && other.isWritable()) {
+                other.set(property.get());
+            }
+        }
+        return target;
+    }
+
+    @Benchmark
+    public BenchmarkBean handWritten() {
+        target.field = source.field;
+        target.setMethod(source.getMethod());
+        target.setList(source.getList());
+        target.setArray(source.getArray());
+        target.setMap(source.getMap());
+        target.setDate(source.getDate());
+        return target;
+    }
+}
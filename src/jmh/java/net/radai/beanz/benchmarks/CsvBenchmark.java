@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.benchmarks;
+
+import net.radai.beanz.Beanz;
+import net.radai.beanz.api.BeanDescriptor;
+import net.radai.beanz.csv.CsvReader;
+import net.radai.beanz.csv.CsvWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * streaming 1000 rows of csv into new beans, into a single refilled bean, and back out again
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CsvBenchmark {
+    private static final int ROWS = 1000;
+
+    private BeanDescriptor descriptor;
+    private final BenchmarkBean bean = new BenchmarkBean();
+    private String csv;
+
+    @Setup
+    public void setup() throws IOException {
+        descriptor = Beanz.parse(BenchmarkBean.class);
+        bean.setList(Arrays.asList(1, 2, 3));
+        bean.setArray(new int[] {1, 2, 3});
+        bean.setDate(new Date(1499990400000L));
+        StringWriter out = new StringWriter();
+        try (CsvWriter<BenchmarkBean> writer = new CsvWriter<>(descriptor, out)) {
+            for (int i = 0; i < ROWS; i++) {
+                bean.field = i;
+                bean.setMethod(i * 1000L);
+                writer.write(bean);
+            }
+        }
+        csv = out.toString();
+    }
+
+    @Benchmark
+    public int readNew() throws IOException {
+        int count = 0;
+        try (CsvReader<BenchmarkBean> reader = new CsvReader<>(descriptor, new StringReader(csv))) {
+            while (reader.read() != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int readInto() throws IOException {
+        int count = 0;
+        try (CsvReader<BenchmarkBean> reader = new CsvReader<>(descriptor, new StringReader(csv))) {
+            while (reader.readInto(bean)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int write() throws IOException {
+        CountingWriter out = new CountingWriter();
+        try (CsvWriter<BenchmarkBean> writer = new CsvWriter<>(descriptor, out)) {
+            for (int i = 0; i < ROWS; i++) {
+                writer.write(bean);
+            }
+        }
+        return out.count;
+    }
+
+    /**
+     * a writer that throws everything away, so only encoding is measured
+     */
+    private static class CountingWriter extends Writer {
+        private int count;
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            count += length;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.benchmarks;
+
+import net.radai.beanz.Beanz;
+import net.radai.beanz.api.BeanDescriptor;
+import net.radai.beanz.json.JsonReader;
+import net.radai.beanz.json.JsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * streaming 1000 beans out to json and back in (into new beans and into a single refilled bean)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JsonBenchmark {
+    private static final int BEANS = 1000;
+
+    private BeanDescriptor descriptor;
+    private final BenchmarkBean bean = new BenchmarkBean();
+    private byte[] json;
+
+    @Setup
+    public void setup() throws IOException {
+        descriptor = Beanz.parse(BenchmarkBean.class);
+        bean.setList(Arrays.asList(1, 2, 3));
+        bean.setArray(new int[] {1, 2, 3});
+        Map<String, Integer> map = new HashMap<>();
+        map.put("a", 1);
+        bean.setMap(map);
+        bean.setDate(new Date(1499990400000L));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonWriter<BenchmarkBean> writer = new JsonWriter<>(descriptor, out)) {
+            for (int i = 0; i < BEANS; i++) {
+                bean.field = i;
+                bean.setMethod(i * 1000L);
+                writer.write(bean);
+            }
+        }
+        json = out.toByteArray();
+    }
+
+    @Benchmark
+    public int write() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        try (JsonWriter<BenchmarkBean> writer = new JsonWriter<>(descriptor, out)) {
+            for (int i = 0; i < BEANS; i++) {
+                writer.write(bean);
+            }
+        }
+        return out.count;
+    }
+
+    @Benchmark
+    public int readNew() throws IOException {
+        int count = 0;
+        try (JsonReader<BenchmarkBean> reader = new JsonReader<>(descriptor, new ByteArrayInputStream(json))) {
+            while (reader.read() != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int readInto() throws IOException {
+        int count = 0;
+        try (JsonReader<BenchmarkBean> reader = new JsonReader<>(descriptor, new ByteArrayInputStream(json))) {
+            while (reader.readInto(bean)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * an output stream that throws everything away, so only encoding is measured
+     */
+    private static class CountingOutputStream extends OutputStream {
+        private int count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            count += length;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.benchmarks;
+
+import net.radai.beanz.Beanz;
+import net.radai.beanz.api.BeanDescriptor;
+import net.radai.beanz.api.PropertyDescriptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * get/set through field, method and composite property descriptors,
+ * both boxed and through the primitive accessors.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PropertyBenchmark {
+    private BenchmarkBean bean;
+    private PropertyDescriptor field;
+    private PropertyDescriptor method;
+    private PropertyDescriptor composite;
+    private int counter;
+
+    @Setup
+    public void setup() {
+        BeanDescriptor descriptor = Beanz.parse(BenchmarkBean.class);
+        bean = new BenchmarkBean();
+        field = descriptor.getProperty("field");
+        method = descriptor.getProperty("method");
+        composite = descriptor.getProperty("composite");
+        composite.set(bean, "value");
+    }
+
+    @Benchmark
+    public Object getField() {
+        return field.get(bean);
+    }
+
+    @Benchmark
+    public void setField() {
+        field.set(bean, counter++);
+    }
+
+    @Benchmark
+    public int getFieldInt() {
+        return field.getInt(bean);
+    }
+
+    @Benchmark
+    public void setFieldInt() {
+        field.setInt(bean, counter++);
+    }
+
+    @Benchmark
+    public Object getMethod() {
+        return method.get(bean);
+    }
+
+    @Benchmark
+    public void setMethod() {
+        method.set(bean, (long) counter++);
+    }
+
+    @Benchmark
+    public long getMethodLong() {
+        return method.getLong(bean);
+    }
+
+    @Benchmark
+    public void setMethodLong() {
+        method.setLong(bean, counter++);
+    }
+
+    @Benchmark
+    public Object getComposite() {
+        return composite.get(bean);
+    }
+
+    @Benchmark
+    public void setComposite() {
+        composite.set(bean, "value");
+    }
+}
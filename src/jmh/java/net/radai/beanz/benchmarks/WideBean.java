@@ -0,0 +1,337 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.benchmarks;
+
+/**
+ * a wide bean - 32 getter/setter properties and 16 public fields - where the cost of
+ * looking up accessors dominates parsing.
+ */
+public class WideBean {
+    private int p00;
+    private String p01;
+    private long p02;
+    private double p03;
+    private int p04;
+    private String p05;
+    private long p06;
+    private double p07;
+    private int p08;
+    private String p09;
+    private long p10;
+    private double p11;
+    private int p12;
+    private String p13;
+    private long p14;
+    private double p15;
+    private int p16;
+    private String p17;
+    private long p18;
+    private double p19;
+    private int p20;
+    private String p21;
+    private long p22;
+    private double p23;
+    private int p24;
+    private String p25;
+    private long p26;
+    private double p27;
+    private int p28;
+    private String p29;
+    private long p30;
+    private double p31;
+    public int f00;
+    public String f01;
+    public long f02;
+    public double f03;
+    public int f04;
+    public String f05;
+    public long f06;
+    public double f07;
+    public int f08;
+    public String f09;
+    public long f10;
+    public double f11;
+    public int f12;
+    public String f13;
+    public long f14;
+    public double f15;
+
+    public int getP00() {
+        return p00;
+    }
+
+    public void setP00(int p00) {
+        this.p00 = p00;
+    }
+
+    public String getP01() {
+        return p01;
+    }
+
+    public void setP01(String p01) {
+        this.p01 = p01;
+    }
+
+    public long getP02() {
+        return p02;
+    }
+
+    public void setP02(long p02) {
+        this.p02 = p02;
+    }
+
+    public double getP03() {
+        return p03;
+    }
+
+    public void setP03(double p03) {
+        this.p03 = p03;
+    }
+
+    public int getP04() {
+        return p04;
+    }
+
+    public void setP04(int p04) {
+        this.p04 = p04;
+    }
+
+    public String getP05() {
+        return p05;
+    }
+
+    public void setP05(String p05) {
+        this.p05 = p05;
+    }
+
+    public long getP06() {
+        return p06;
+    }
+
+    public void setP06(long p06) {
+        this.p06 = p06;
+    }
+
+    public double getP07() {
+        return p07;
+    }
+
+    public void setP07(double p07) {
+        this.p07 = p07;
+    }
+
+    public int getP08() {
+        return p08;
+    }
+
+    public void setP08(int p08) {
+        this.p08 = p08;
+    }
+
+    public String getP09() {
+        return p09;
+    }
+
+    public void setP09(String p09) {
+        this.p09 = p09;
+    }
+
+    public long getP10() {
+        return p10;
+    }
+
+    public void setP10(long p10) {
+        this.p10 = p10;
+    }
+
+    public double getP11() {
+        return p11;
+    }
+
+    public void setP11(double p11) {
+        this.p11 = p11;
+    }
+
+    public int getP12() {
+        return p12;
+    }
+
+    public void setP12(int p12) {
+        this.p12 = p12;
+    }
+
+    public String getP13() {
+        return p13;
+    }
+
+    public void setP13(String p13) {
+        this.p13 = p13;
+    }
+
+    public long getP14() {
+        return p14;
+    }
+
+    public void setP14(long p14) {
+        this.p14 = p14;
+    }
+
+    public double getP15() {
+        return p15;
+    }
+
+    public void setP15(double p15) {
+        this.p15 = p15;
+    }
+
+    public int getP16() {
+        return p16;
+    }
+
+    public void setP16(int p16) {
+        this.p16 = p16;
+    }
+
+    public String getP17() {
+        return p17;
+    }
+
+    public void setP17(String p17) {
+        this.p17 = p17;
+    }
+
+    public long getP18() {
+        return p18;
+    }
+
+    public void setP18(long p18) {
+        this.p18 = p18;
+    }
+
+    public double getP19() {
+        return p19;
+    }
+
+    public void setP19(double p19) {
+        this.p19 = p19;
+    }
+
+    public int getP20() {
+        return p20;
+    }
+
+    public void setP20(int p20) {
+        this.p20 = p20;
+    }
+
+    public String getP21() {
+        return p21;
+    }
+
+    public void setP21(String p21) {
+        this.p21 = p21;
+    }
+
+    public long getP22() {
+        return p22;
+    }
+
+    public void setP22(long p22) {
+        this.p22 = p22;
+    }
+
+    public double getP23() {
+        return p23;
+    }
+
+    public void setP23(double p23) {
+        this.p23 = p23;
+    }
+
+    public int getP24() {
+        return p24;
+    }
+
+    public void setP24(int p24) {
+        this.p24 = p24;
+    }
+
+    public String getP25() {
+        return p25;
+    }
+
+    public void setP25(String p25) {
+        this.p25 = p25;
+    }
+
+    public long getP26() {
+        return p26;
+    }
+
+    public void setP26(long p26) {
+        this.p26 = p26;
+    }
+
+    public double getP27() {
+        return p27;
+    }
+
+    public void setP27(double p27) {
+        this.p27 = p27;
+    }
+
+    public int getP28() {
+        return p28;
+    }
+
+    public void setP28(int p28) {
+        this.p28 = p28;
+    }
+
+    public String getP29() {
+        return p29;
+    }
+
+    public void setP29(String p29) {
+        this.p29 = p29;
+    }
+
+    public long getP30() {
+        return p30;
+    }
+
+    public void setP30(long p30) {
+        this.p30 = p30;
+    }
+
+    public double getP31() {
+        return p31;
+    }
+
+    public void setP31(double p31) {
+        this.p31 = p31;
+    }
+}
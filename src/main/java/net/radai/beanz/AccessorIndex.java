@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * all the accessor candidates of a class, collected in a single pass over its public methods and
+ * (non-static) fields, so that every property can be resolved without re-scanning the class.
+ * lookups return exactly what ReflectionUtil.findGetter()/findSetter()/findField() would have.
+ */
+final class AccessorIndex {
+    private final Method[] methods;
+    private final List<Field> fields = new ArrayList<>();
+    private final Map<String, Integer> getters = new HashMap<>(); //method name --> index of the 1st matching method
+    private final Map<String, Method> setters = new HashMap<>();
+    private final Map<String, Field> fieldsByName = new HashMap<>();
+
+    AccessorIndex(Class<?> clazz) {
+        methods = clazz.getMethods();
+        for (int i = 0; i < methods.length; i++) {
+            Method method = methods[i];
+            String name = method.getName();
+            int paramCount = method.getParameterCount();
+            if (paramCount == 0 && (name.startsWith("get") || name.startsWith("is"))) {
+                Type returnType = method.getGenericReturnType();
+                if (returnType.equals(void.class)) {
+                    continue; //getters return something
+                }
+                if (name.startsWith("is") && !(returnType.equals(Boolean.class) || returnType.equals(boolean.class))) {
+                    continue; //isSomething() only valid for booleans
+                }
+                getters.putIfAbsent(name, i);
+            } else if (paramCount == 1 && name.startsWith("set") && method.getReturnType().equals(void.class)) {
+                setters.putIfAbsent(name, method);
+            }
+        }
+        Class<?> c = clazz;
+        while (c != null) {
+            for (Field f : c.getDeclaredFields()) {
+                if (Modifier.isStatic(f.getModifiers())) {
+                    continue;
+                }
+                fields.add(f);
+                fieldsByName.putIfAbsent(f.getName(), f); //most derived wins
+            }
+            c = c.getSuperclass();
+        }
+    }
+
+    /**
+     * @return all public methods of the class (not a copy)
+     */
+    Method[] getMethods() {
+        return methods;
+    }
+
+    /**
+     * @return all non-static fields of the class and its superclasses, most derived 1st
+     */
+    List<Field> getFields() {
+        return Collections.unmodifiableList(fields);
+    }
+
+    Method getter(String propName) {
+        String capitalized = capitalize(propName);
+        Integer get = getters.get("get" + capitalized);
+        Integer is = getters.get("is" + capitalized);
+        if (get == null && is == null) {
+            return null;
+        }
+        //whichever comes 1st, like a linear scan would find
+        if (get == null || (is != null && is < get)) {
+            return methods[is];
+        }
+        return methods[get];
+    }
+
+    Method setter(String propName) {
+        return setters.get("set" + capitalize(propName));
+    }
+
+    Field field(String propName) {
+        return fieldsByName.get(propName);
+    }
+
+    private static String capitalize(String propName) {
+        return propName.substring(0, 1).toUpperCase(Locale.ROOT) + propName.substring(1);
+    }
+}
@@ -30,15 +30,50 @@ import net.radai.beanz.codecs.*;
 import net.radai.beanz.properties.*;
 import net.radai.beanz.util.ReflectionUtil;
 
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 public class Beanz {
+    /**
+     * marks a class for the beanz annotation processor (beanz-processor), which generates a descriptor
+     * for it at compile time. {@link #parse(Class)} then uses that instead of reflection.
+     */
+    @Documented
+    @Retention(RetentionPolicy.SOURCE)
+    @Target(ElementType.TYPE)
+    public @interface Generate {
+    }
+
     public static final Set<String> DEFAULT_IGNORE = Collections.unmodifiableSet(new HashSet<>(Collections.singletonList("class")));
 
+    public static final AccessStrategy DEFAULT_ACCESS = AccessStrategy.REFLECTION;
+    public static final FieldAccessMode DEFAULT_FIELD_ACCESS = FieldAccessMode.PLAIN;
+
+    /**
+     * parsed descriptors, per class and then per parse options. the per-class maps live inside
+     * the Class objects themselves (that's how ClassValue works) so this cache never keeps
+     * a class (or its classloader) alive.
+     */
+    private static final ClassValue<ConcurrentMap<ParseKey, BeanDescriptor>> DESCRIPTORS = new ClassValue<ConcurrentMap<ParseKey, BeanDescriptor>>() {
+        @Override
+        protected ConcurrentMap<ParseKey, BeanDescriptor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>(1);
+        }
+    };
+
     /**
      * wraps around an existing bean instance
      * @param <T> type of bean
@@ -68,33 +103,254 @@ public class Beanz {
         }
     }
 
+    /**
+     * builds a copier from beans of one class to beans of another. building one resolves
+     * everything up front, so keep it around (copiers are thread safe) rather than building one per copy
+     * @param <A> source bean class
+     * @param <B> target bean class
+     * @param fromClass class to copy from
+     * @param toClass class to copy to
+     * @return a copier between the given classes
+     */
+    public static <A, B> Copier<A, B> copier(Class<A> fromClass, Class<B> toClass) {
+        return new Copier<>(fromClass, toClass);
+    }
+
+    /**
+     * builds a binder that populates beans of the given class from string key/value pairs
+     * @param <T> bean class
+     * @param clazz bean class
+     * @return a (thread safe) binder for the given class
+     */
+    public static <T> Binder<T> binder(Class<T> clazz) {
+        return new Binder<>(parse(clazz));
+    }
+
+    /**
+     * builds an exporter that turns beans of the given class into (property name, encoded value) pairs
+     * @param <T> bean class
+     * @param clazz bean class
+     * @param skipNulls true to leave out properties whose value is null
+     * @return a (thread safe) exporter for the given class
+     */
+    public static <T> Exporter<T> exporter(Class<T> clazz, boolean skipNulls) {
+        return new Exporter<>(parse(clazz), skipNulls);
+    }
+
     public static BeanDescriptor parse(Object instance) {
         return parse(instance.getClass());
     }
 
     public static BeanDescriptor parse(Class<?> clazz) {
-        return parse(clazz, DEFAULT_IGNORE);
+        return parse(clazz, DEFAULT_IGNORE, DEFAULT_ACCESS, DEFAULT_FIELD_ACCESS);
     }
 
     public static BeanDescriptor parse(Class<?> clazz, Set<String> ignore) {
+        return parse(clazz, ignore, DEFAULT_ACCESS, DEFAULT_FIELD_ACCESS);
+    }
+
+    public static BeanDescriptor parse(Class<?> clazz, Set<String> ignore, AccessStrategy access) {
+        return parse(clazz, ignore, access, DEFAULT_FIELD_ACCESS);
+    }
+
+    public static BeanDescriptor parse(Class<?> clazz, Set<String> ignore, AccessStrategy access, FieldAccessMode fieldAccess) {
+        return parse(clazz, ignore, access, fieldAccess, CodecRegistry.BUILT_INS);
+    }
+
+    /**
+     * returns a descriptor of the given class whose codecs are layered on top of the given registry,
+     * so codecs registered there take precedence over the built-in ones
+     * @see #parse(Class, Set, AccessStrategy, FieldAccessMode, CodecRegistry)
+     */
+    public static BeanDescriptor parse(Class<?> clazz, CodecRegistry codecs) {
+        return parse(clazz, DEFAULT_IGNORE, DEFAULT_ACCESS, DEFAULT_FIELD_ACCESS, codecs);
+    }
+
+    /**
+     * returns a descriptor for the given class, parsing it on 1st use. descriptors are cached
+     * per (class, ignore set, access strategy, field access mode, codec registry) and shared between callers,
+     * so they are {@link BeanDescriptor#freeze() frozen} (use parseUncached() for a copy that can be modified). concurrent callers racing on a class that has not been
+     * parsed yet will all wait for a single parse. classes with a descriptor generated at
+     * compile time (see {@link Generate}) are not parsed at all.
+     * @param clazz class to describe
+     * @param ignore names of properties to ignore (null for none)
+     * @param access how the resulting property descriptors access bean members
+     * @param fieldAccess memory semantics for properties accessed directly via fields
+     * @param codecs registry the descriptor's codecs are layered on top of (null for the built-in codecs).
+     *               registries are cached by identity, so reuse them (rather than create one per call), and
+     *               register codecs in them before parsing
+     * @return a (shared) descriptor of the given class
+     */
+    public static BeanDescriptor parse(Class<?> clazz, Set<String> ignore, AccessStrategy access, FieldAccessMode fieldAccess, CodecRegistry codecs) {
+        if (clazz == null) {
+            throw new IllegalArgumentException("got null class");
+        }
+        if (ignore == null) {
+            ignore = Collections.emptySet();
+        }
+        if (access == null) {
+            access = DEFAULT_ACCESS;
+        }
+        if (fieldAccess == null) {
+            fieldAccess = DEFAULT_FIELD_ACCESS;
+        }
+        if (codecs == null) {
+            codecs = CodecRegistry.BUILT_INS;
+        }
+        ConcurrentMap<ParseKey, BeanDescriptor> forClass = DESCRIPTORS.get(clazz);
+        BeanDescriptor cached = forClass.get(new ParseKey(ignore, access, fieldAccess, codecs));
+        if (cached != null) {
+            return cached;
+        }
+        //defensive copy, so that callers cant mutate our keys
+        ParseKey key = new ParseKey(Collections.unmodifiableSet(new HashSet<>(ignore)), access, fieldAccess, codecs);
+        return forClass.computeIfAbsent(key, k -> {
+            BeanDescriptor descriptor = describe(clazz, k.ignore, k.access, k.fieldAccess, k.codecs);
+            descriptor.freeze();
+            return descriptor;
+        });
+    }
+
+    /**
+     * parses (and caches) descriptors for all the given classes, in parallel on the common ForkJoinPool.
+     * meant to take parsing off the critical path for classes known ahead of time (like at startup).
+     * classes that fail to parse are left out of the result.
+     * @param classes classes to describe
+     * @return the (shared) descriptors of the given classes, same as {@link #parse(Class)} would return
+     */
+    public static Map<Class<?>, BeanDescriptor> preload(Collection<? extends Class<?>> classes) {
+        return preload(classes, false, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * parses (and caches) descriptors for all the given classes, in parallel on the given pool.
+     * @param classes classes to describe
+     * @param warmUpAccessors true to also generate the {@link BeanDescriptor#getAccessor() accessor} of every class
+     * @param pool pool to parse on
+     * @return the (shared) descriptors of the given classes, same as {@link #parse(Class)} would return.
+     * classes that fail to parse are left out
+     */
+    public static Map<Class<?>, BeanDescriptor> preload(Collection<? extends Class<?>> classes, boolean warmUpAccessors, ForkJoinPool pool) {
+        return preload(classes, warmUpAccessors, pool, (clazz, failure) -> { });
+    }
+
+    /**
+     * parses (and caches) descriptors for all the given classes, in parallel on the given pool.
+     * a class that fails to parse does not stop the others from being parsed.
+     * @param classes classes to describe
+     * @param warmUpAccessors true to also generate the {@link BeanDescriptor#getAccessor() accessor} of every class
+     * @param pool pool to parse on
+     * @param onFailure called (on the calling thread, once parsing is done) with every class that failed to parse
+     * @return the (shared) descriptors of the classes that were parsed
+     */
+    public static Map<Class<?>, BeanDescriptor> preload(
+            Collection<? extends Class<?>> classes,
+            boolean warmUpAccessors,
+            ForkJoinPool pool,
+            BiConsumer<? super Class<?>, ? super Throwable> onFailure
+    ) {
+        return Preloader.preload(classes, warmUpAccessors, pool, onFailure);
+    }
+
+    /**
+     * parses (and caches) descriptors for all the classes in the given package (and its sub-packages)
+     * visible to the given classloader, in parallel on the common ForkJoinPool.
+     * interfaces, enums, anonymous and local classes are skipped, and so are classes that fail to parse.
+     * @param classLoader classloader to look for (and load) classes with
+     * @param packageName package to look in ("" for the default package)
+     * @param warmUpAccessors true to also generate the {@link BeanDescriptor#getAccessor() accessor} of every class
+     * @return the (shared) descriptors of the classes found
+     */
+    public static Map<Class<?>, BeanDescriptor> preload(ClassLoader classLoader, String packageName, boolean warmUpAccessors) {
+        return preload(classLoader, packageName, warmUpAccessors, (clazz, failure) -> { });
+    }
+
+    /**
+     * same as {@link #preload(ClassLoader, String, boolean)}, reporting the classes that failed to parse
+     * @param onFailure called (on the calling thread, once parsing is done) with every class that failed to parse
+     */
+    public static Map<Class<?>, BeanDescriptor> preload(
+            ClassLoader classLoader,
+            String packageName,
+            boolean warmUpAccessors,
+            BiConsumer<? super Class<?>, ? super Throwable> onFailure
+    ) {
+        return Preloader.preload(Preloader.scan(classLoader, packageName), warmUpAccessors, ForkJoinPool.commonPool(), onFailure);
+    }
+
+    /**
+     * uses a generated descriptor for the given class if there is one, otherwise parses it.
+     * generated descriptors only do plain field access.
+     */
+    private static BeanDescriptor describe(Class<?> clazz, Set<String> ignore, AccessStrategy access, FieldAccessMode fieldAccess, CodecRegistry codecs) {
+        if (fieldAccess == FieldAccessMode.PLAIN) {
+            BeanDescriptorProvider provider = DescriptorProviders.forClass(clazz);
+            BeanDescriptor generated = provider != null ? provider.describe(ignore, access, codecs) : null;
+            if (generated != null) {
+                return generated;
+            }
+        }
+        return parseUncached(clazz, ignore, access, fieldAccess, codecs);
+    }
+
+    public static BeanDescriptor parseUncached(Class<?> clazz, Set<String> ignore) {
+        return parseUncached(clazz, ignore, DEFAULT_ACCESS, DEFAULT_FIELD_ACCESS);
+    }
+
+    public static BeanDescriptor parseUncached(Class<?> clazz, Set<String> ignore, AccessStrategy access) {
+        return parseUncached(clazz, ignore, access, DEFAULT_FIELD_ACCESS);
+    }
+
+    /**
+     * parses the given class from scratch, bypassing (and not populating) the descriptor cache.
+     * this always uses reflection, even for classes that have a generated descriptor.
+     * @param clazz class to describe
+     * @param ignore names of properties to ignore (null for none)
+     * @param access how the resulting property descriptors access bean members
+     * @param fieldAccess memory semantics for properties accessed directly via fields
+     * @return a new descriptor of the given class, owned by the caller
+     */
+    public static BeanDescriptor parseUncached(Class<?> clazz, Set<String> ignore, AccessStrategy access, FieldAccessMode fieldAccess) {
+        return parseUncached(clazz, ignore, access, fieldAccess, CodecRegistry.BUILT_INS);
+    }
+
+    /**
+     * parses the given class from scratch, bypassing (and not populating) the descriptor cache.
+     * this always uses reflection, even for classes that have a generated descriptor.
+     * @param clazz class to describe
+     * @param ignore names of properties to ignore (null for none)
+     * @param access how the resulting property descriptors access bean members
+     * @param fieldAccess memory semantics for properties accessed directly via fields
+     * @param parentCodecs registry the descriptor's codecs are layered on top of (null for the built-in codecs)
+     * @return a new descriptor of the given class, owned by the caller
+     */
+    public static BeanDescriptor parseUncached(Class<?> clazz, Set<String> ignore, AccessStrategy access, FieldAccessMode fieldAccess, CodecRegistry parentCodecs) {
         if (clazz == null) {
             throw new IllegalArgumentException("got null class");
         }
         if (ignore == null) {
             ignore = Collections.emptySet();
         }
-        BeanDescriptor bean = new BeanDescriptor(clazz);
+        if (access == null) {
+            access = DEFAULT_ACCESS;
+        }
+        if (fieldAccess == null) {
+            fieldAccess = DEFAULT_FIELD_ACCESS;
+        }
+        BeanDescriptor bean = new BeanDescriptor(clazz, parentCodecs != null ? parentCodecs : CodecRegistry.BUILT_INS);
 
         Map<String, PropertyDescriptor> properties = new HashMap<>();
-        Map<Type, Codec> codecs = new HashMap<>(Codecs.BUILT_INS);
+        CodecRegistry codecs = bean.getCodecs();
+
+        AccessorIndex index = new AccessorIndex(clazz);
 
         //methods 1st
-        for (Method method : clazz.getMethods()) {
+        for (Method method : index.getMethods()) {
             if (ReflectionUtil.isGetter(method) || ReflectionUtil.isSetter(method)) {
                 String propName = ReflectionUtil.propNameFrom(method);
                 if (!properties.containsKey(propName) && !ignore.contains(propName)) {
                     try {
-                        properties.put(propName, resolve(bean, clazz, propName, codecs));
+                        properties.put(propName, resolve(bean, clazz, index, propName, codecs, access, fieldAccess));
                     } catch (AmbiguousPropertyException e) {
                         //not a property
                     }
@@ -103,36 +359,27 @@ public class Beanz {
         }
 
         //fields later
-        Class<?> c = clazz;
-        while (c != null) {
-            for (Field f : c.getDeclaredFields()) {
-                int modifiers = f.getModifiers();
-                if (Modifier.isStatic(modifiers)) {
-                    continue;
-                }
-                String fieldName = f.getName();
-                if (properties.containsKey(fieldName) || ignore.contains(fieldName)) {
-                    continue;
-                }
-                try {
-                    properties.put(fieldName, resolve(bean, clazz, fieldName, codecs));
-                } catch (AmbiguousPropertyException e) {
-                    //not a property
-                }
+        for (Field f : index.getFields()) {
+            String fieldName = f.getName();
+            if (properties.containsKey(fieldName) || ignore.contains(fieldName)) {
+                continue;
+            }
+            try {
+                properties.put(fieldName, resolve(bean, clazz, index, fieldName, codecs, access, fieldAccess));
+            } catch (AmbiguousPropertyException e) {
+                //not a property
             }
-            c = c.getSuperclass();
         }
 
         properties.forEach((s, property) -> bean.addProperty(property));
-        codecs.forEach(bean::addCodec);
         return bean;
     }
 
-    private static PropertyDescriptor resolve(BeanDescriptor bean, Class<?> clazz, String propName, Map<Type, Codec> codecs) {
+    private static PropertyDescriptor resolve(BeanDescriptor bean, Class<?> clazz, AccessorIndex index, String propName, CodecRegistry codecs, AccessStrategy access, FieldAccessMode fieldAccess) {
         //look for a getter/setter pair
-        Method getter = ReflectionUtil.findGetter(clazz, propName);
-        Method setter = ReflectionUtil.findSetter(clazz, propName);
-        Field field = ReflectionUtil.findField(clazz, propName);
+        Method getter = index.getter(propName);
+        Method setter = index.setter(propName);
+        Field field = index.field(propName);
         if (getter == null && setter == null && field == null) {
             return null;
         }
@@ -142,47 +389,47 @@ public class Beanz {
         Codec codec = resolvePropertyCodec(clazz, propName, type, getter, setter, field, codecs);
 
         if (getter != null && setter != null) { //getter + setter
-            return buildMethodProperty(bean, propName, getter, setter, type, propertyType);
+            return buildMethodProperty(bean, propName, getter, setter, type, propertyType, access);
         }
         if (getter == null && setter == null) { //just a field
-            return buildFieldProperty(bean, propName, field, type, propertyType);
+            return buildFieldProperty(bean, propName, field, type, propertyType, access, fieldAccess);
         }
         //we have either a getter or a setter
-        MethodPropertyDescriptor methodProperty = buildMethodProperty(bean, propName, getter, setter, type, propertyType);
+        MethodPropertyDescriptor methodProperty = buildMethodProperty(bean, propName, getter, setter, type, propertyType, access);
         if (field == null) {
             //and no field
             return methodProperty; //one of them is != null;
         }
-        FieldPropertyDescriptor fieldProperty = buildFieldProperty(bean, propName, field, type, propertyType);
+        FieldPropertyDescriptor fieldProperty = buildFieldProperty(bean, propName, field, type, propertyType, access, fieldAccess);
 
         return buildCompositeProperty(bean, propName, type, propertyType, methodProperty, fieldProperty);
     }
 
-    private static MethodPropertyDescriptor buildMethodProperty(BeanDescriptor bean, String propName, Method getter, Method setter, Type type, PropertyType propertyType) {
+    private static MethodPropertyDescriptor buildMethodProperty(BeanDescriptor bean, String propName, Method getter, Method setter, Type type, PropertyType propertyType, AccessStrategy access) {
         switch (propertyType) {
             case SIMPLE:
-                return new SimpleMethodPropertyDescriptor(bean, propName, type, getter, setter);
+                return new SimpleMethodPropertyDescriptor(bean, propName, type, getter, setter, access);
             case ARRAY:
-                return new ArrayMethodPropertyDescriptor(bean, propName, type, getter, setter);
+                return new ArrayMethodPropertyDescriptor(bean, propName, type, getter, setter, access);
             case COLLECTION:
-                return new CollectionMethodPropertyDescriptor(bean, propName, type, getter, setter);
+                return new CollectionMethodPropertyDescriptor(bean, propName, type, getter, setter, access);
             case MAP:
-                return new MapMethodPropertyDescriptor(bean, propName, type, getter, setter);
+                return new MapMethodPropertyDescriptor(bean, propName, type, getter, setter, access);
             default:
                 throw new IllegalStateException("unhandled " + propertyType);
         }
     }
 
-    private static FieldPropertyDescriptor buildFieldProperty(BeanDescriptor bean, String propName, Field field, Type type, PropertyType propertyType) {
+    private static FieldPropertyDescriptor buildFieldProperty(BeanDescriptor bean, String propName, Field field, Type type, PropertyType propertyType, AccessStrategy access, FieldAccessMode fieldAccess) {
         switch (propertyType) {
             case SIMPLE:
-                return new SimpleFieldPropertyDescriptor(bean, propName, type, field);
+                return new SimpleFieldPropertyDescriptor(bean, propName, type, field, access, fieldAccess);
             case ARRAY:
-                return new ArrayFieldPropertyDescriptor(bean, propName, type, field);
+                return new ArrayFieldPropertyDescriptor(bean, propName, type, field, access, fieldAccess);
             case COLLECTION:
-                return new CollectionFieldPropertyDescriptor(bean, propName, type, field);
+                return new CollectionFieldPropertyDescriptor(bean, propName, type, field, access, fieldAccess);
             case MAP:
-                return new MapFieldPropertyDescriptor(bean, propName, type, field);
+                return new MapFieldPropertyDescriptor(bean, propName, type, field, access, fieldAccess);
             default:
                 throw new IllegalStateException("unhandled " + propertyType);
         }
@@ -234,33 +481,88 @@ public class Beanz {
     private static Codec resolvePropertyCodec (
             Class<?> clazz, String propName, Type type,
             Method getter, Method setter, Field field,
-            Map<Type, Codec> codecs) {
+            CodecRegistry codecs) {
         //TODO - check for overrides in annotations on methods > field > class > type
         Codec forType = codecs.get(type);
         if (forType != null) {
             return forType;
         }
-        Codec result = null;
-        if (ReflectionUtil.isArray(type) || ReflectionUtil.isCollection(type)) {
-            Type elementType = ReflectionUtil.getElementType(type);
-            Codec elementCodec = resolvePropertyCodec(null, null, elementType, null, null, null, codecs);
-            if (elementCodec == null) {
-                return null; //cant handle the elements == cant handle the collection/array
-            }
-            if (ReflectionUtil.isArray(type)) {
-                result = new ArrayCodec(type, elementType, elementCodec);
-            } else {
-                result = new CollectionCodec(type, elementType, elementCodec);
+        //register the codecs of elements/keys/values with the bean 1st - they may be overridden by the bean's codecs
+        boolean shared = true;
+        for (Type componentType : componentTypes(type)) {
+            Codec componentCodec = resolvePropertyCodec(null, null, componentType, null, null, null, codecs);
+            if (componentCodec == null) {
+                return null; //cant handle the elements == cant handle the collection/array/map
             }
-        } else if (ReflectionUtil.isMap(type)) {
+            shared &= componentCodec == codecFor(componentType);
+        }
+        //containers of overridden codecs are specific to the bean, and so are not shared
+        Codec result = shared ? ResolvedCodecs.get(type, Beanz::resolveCodec) : containerCodec(type, codecs::get);
+        if (result != null) {
+            codecs.put(type, result);
+        }
+        return result;
+    }
+
+    /**
+     * @return the element type of an array or collection, the key and value types of a map, or nothing for anything else
+     */
+    private static List<Type> componentTypes(Type type) {
+        if (ReflectionUtil.isArray(type) || ReflectionUtil.isCollection(type)) {
+            return Collections.singletonList(ReflectionUtil.getElementType(type));
+        }
+        if (ReflectionUtil.isMap(type)) {
+            return Arrays.asList(ReflectionUtil.getKeyType(type), ReflectionUtil.getElementType(type));
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * @return the built-in or (globally cached) resolved codec for a type, or null if there is none
+     */
+    private static Codec codecFor(Type type) {
+        Codec builtIn = CodecRegistry.BUILT_INS.get(type);
+        if (builtIn != null) {
+            return builtIn;
+        }
+        return ResolvedCodecs.get(type, Beanz::resolveCodec);
+    }
+
+    /**
+     * @param type array, collection or map type
+     * @param componentCodecs codecs of elements/keys/values
+     * @return a codec for the container, or null if there's no codec for any of its components
+     */
+    private static Codec containerCodec(Type type, Function<Type, Codec> componentCodecs) {
+        if (ReflectionUtil.isMap(type)) {
             Type keyType = ReflectionUtil.getKeyType(type);
             Type valueType = ReflectionUtil.getElementType(type);
-            Codec keyCodec = resolvePropertyCodec(null, null, keyType, null, null, null, codecs);
-            Codec valueCodec = resolvePropertyCodec(null, null, valueType, null, null, null, codecs);
+            Codec keyCodec = componentCodecs.apply(keyType);
+            Codec valueCodec = componentCodecs.apply(valueType);
             if (keyCodec == null || valueCodec == null) {
                 return null;
             }
-            result = new MapCodec(type, keyType, valueType, keyCodec, valueCodec);
+            return new MapCodec(type, keyType, valueType, keyCodec, valueCodec);
+        }
+        Type elementType = ReflectionUtil.getElementType(type);
+        Codec elementCodec = componentCodecs.apply(elementType);
+        if (elementCodec == null) {
+            return null; //cant handle the elements == cant handle the collection/array
+        }
+        if (ReflectionUtil.isArray(type)) {
+            return new ArrayCodec(type, elementType, elementCodec);
+        }
+        return new CollectionCodec(type, elementType, elementCodec);
+    }
+
+    /**
+     * builds a codec for a (non built-in) type. this only depends on the type, which is what makes
+     * the results shareable between beans.
+     */
+    private static Codec resolveCodec(Type type) {
+        Codec result = null;
+        if (ReflectionUtil.isArray(type) || ReflectionUtil.isCollection(type) || ReflectionUtil.isMap(type)) {
+            result = containerCodec(type, Beanz::codecFor);
         } else if (ReflectionUtil.isEnum(type)) {
             Class<?> erased = ReflectionUtil.erase(type);
             try {
@@ -308,9 +610,37 @@ public class Beanz {
                 result = new SimpleCodec(type, encodeMethod, decodeMethod);
             }
         }
-        if (result != null) {
-            codecs.put(type, result);
-        }
         return result;
     }
+
+    private static final class ParseKey {
+        private final Set<String> ignore;
+        private final AccessStrategy access;
+        private final FieldAccessMode fieldAccess;
+        private final CodecRegistry codecs; //by identity, registries are mutable
+
+        private ParseKey(Set<String> ignore, AccessStrategy access, FieldAccessMode fieldAccess, CodecRegistry codecs) {
+            this.ignore = ignore;
+            this.access = access;
+            this.fieldAccess = fieldAccess;
+            this.codecs = codecs;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ParseKey other = (ParseKey) o;
+            return access == other.access && fieldAccess == other.fieldAccess && codecs == other.codecs && ignore.equals(other.ignore);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * (31 * ignore.hashCode() + access.hashCode()) + fieldAccess.hashCode()) + System.identityHashCode(codecs);
+        }
+    }
 }
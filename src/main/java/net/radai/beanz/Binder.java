@@ -0,0 +1,235 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz;
+
+import net.radai.beanz.api.BeanAccessor;
+import net.radai.beanz.api.BeanDescriptor;
+import net.radai.beanz.api.Codec;
+import net.radai.beanz.api.PropertyDescriptor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * populates beans from string key/value pairs (config files, form data) - the bulk equivalent of calling
+ * Property.setFromString() per key. the codec of every property is resolved once, when the binder is built,
+ * and values are set through the bean's accessor. keys that are not properties and values that fail to bind
+ * do not stop the rest from being bound - they are all reported together in the {@link Result}.
+ * binders are immutable, and so can be shared between threads.
+ * @param <T> bean class
+ */
+public final class Binder<T> {
+    private final BeanDescriptor descriptor;
+    private final BeanAccessor accessor;
+    private final Codec[] codecs; //by ordinal, null for properties that cannot be bound
+    private final String[] problems; //by ordinal, why a property cannot be bound
+
+    public Binder(BeanDescriptor descriptor) {
+        if (descriptor == null) {
+            throw new IllegalArgumentException();
+        }
+        this.descriptor = descriptor;
+        this.accessor = descriptor.getAccessor();
+        this.codecs = new Codec[accessor.size()];
+        this.problems = new String[accessor.size()];
+        for (int i = 0; i < codecs.length; i++) {
+            PropertyDescriptor property = accessor.getProperty(i);
+            if (!property.isWritable()) {
+                problems[i] = "property " + property.getName() + " is not writable";
+                continue;
+            }
+            codecs[i] = property.getCodec();
+            if (codecs[i] == null) {
+                problems[i] = "property " + property.getName() + " has no codec";
+            }
+        }
+    }
+
+    public BeanDescriptor getDescriptor() {
+        return descriptor;
+    }
+
+    /**
+     * binds into a newly-created instance of the bean class
+     * @param values encoded property values, by property name
+     * @return the outcome
+     */
+    public Result<T> bind(Map<String, String> values) {
+        return bind(values, newInstance());
+    }
+
+    /**
+     * @param values encoded property values, by property name. null values set properties to null
+     * @param target bean to bind into
+     * @return the outcome
+     */
+    public Result<T> bind(Map<String, String> values, T target) {
+        if (values == null || target == null) {
+            throw new IllegalArgumentException();
+        }
+        Result<T> result = new Result<>(target);
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            bind(entry.getKey(), entry.getValue(), result);
+        }
+        return result;
+    }
+
+    public Result<T> bind(Properties values) {
+        return bind(values, newInstance());
+    }
+
+    /**
+     * @param values encoded property values, by property name (including any defaults)
+     * @param target bean to bind into
+     * @return the outcome
+     */
+    public Result<T> bind(Properties values, T target) {
+        if (values == null || target == null) {
+            throw new IllegalArgumentException();
+        }
+        Result<T> result = new Result<>(target);
+        for (String key : values.stringPropertyNames()) {
+            bind(key, values.getProperty(key), result);
+        }
+        return result;
+    }
+
+    private void bind(String key, String value, Result<T> result) {
+        int ordinal = key != null ? accessor.indexOf(key) : -1;
+        if (ordinal < 0) {
+            result.unknown(key);
+            return;
+        }
+        Codec codec = codecs[ordinal];
+        if (codec == null) {
+            result.failed(key, new IllegalStateException(problems[ordinal]));
+            return;
+        }
+        try {
+            accessor.set(result.target, ordinal, value != null ? codec.decode(value) : null);
+        } catch (RuntimeException e) {
+            result.failed(key, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T newInstance() {
+        Class<?> beanClass = descriptor.getBeanClass();
+        try {
+            return (T) beanClass.newInstance();
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new IllegalArgumentException("unable to instantiate class " + beanClass, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "binder of " + descriptor;
+    }
+
+    /**
+     * the outcome of binding - the bean, and whatever could not be bound into it
+     * @param <T> bean class
+     */
+    public static final class Result<T> {
+        private final T target;
+        private List<String> unknownKeys = Collections.emptyList();
+        private Map<String, RuntimeException> failures = Collections.emptyMap();
+
+        private Result(T target) {
+            this.target = target;
+        }
+
+        public T getTarget() {
+            return target;
+        }
+
+        /**
+         * @return keys that are not properties of the bean, in the order they were encountered
+         */
+        public List<String> getUnknownKeys() {
+            return Collections.unmodifiableList(unknownKeys);
+        }
+
+        /**
+         * @return why each key that matched a property could not be bound, by key
+         */
+        public Map<String, RuntimeException> getFailures() {
+            return Collections.unmodifiableMap(failures);
+        }
+
+        /**
+         * @return true if every key was bound
+         */
+        public boolean isSuccess() {
+            return unknownKeys.isEmpty() && failures.isEmpty();
+        }
+
+        /**
+         * @return the bean, if every key was bound
+         * @throws IllegalArgumentException listing all unknown keys and failures otherwise
+         */
+        public T getOrThrow() {
+            if (isSuccess()) {
+                return target;
+            }
+            IllegalArgumentException e = new IllegalArgumentException(toString());
+            failures.values().forEach(e::addSuppressed);
+            throw e;
+        }
+
+        private void unknown(String key) {
+            if (unknownKeys.isEmpty()) {
+                unknownKeys = new ArrayList<>();
+            }
+            unknownKeys.add(key);
+        }
+
+        private void failed(String key, RuntimeException e) {
+            if (failures.isEmpty()) {
+                failures = new LinkedHashMap<>();
+            }
+            failures.put(key, e);
+        }
+
+        @Override
+        public String toString() {
+            if (isSuccess()) {
+                return "bound " + target;
+            }
+            StringBuilder sb = new StringBuilder("unable to bind ").append(target.getClass().getSimpleName()).append(":");
+            if (!unknownKeys.isEmpty()) {
+                sb.append(" unknown keys ").append(unknownKeys);
+            }
+            failures.forEach((key, e) -> sb.append(" ").append(key).append(" (").append(e).append(")"));
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz;
+
+import net.radai.beanz.api.BeanAccessor;
+import net.radai.beanz.api.BeanDescriptor;
+import net.radai.beanz.api.Codec;
+import net.radai.beanz.api.PropertyDescriptor;
+import net.radai.beanz.util.ReflectionUtil;
+import org.apache.commons.lang3.ClassUtils;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * copies properties from beans of one class to beans of another. properties are matched by name
+ * (readable on the source, writable on the target) when the copier is built. properties whose target type
+ * is assignable from the source type (say, an ArrayList&lt;String&gt; into a List&lt;String&gt;, or an int into
+ * an Integer) are copied as-is, properties of other types are converted by encoding with the source codec
+ * and decoding with the target one (so "7" can go into an int), and anything else is left alone.
+ * copiers are immutable, and so can be shared between threads.
+ * @param <A> source bean class
+ * @param <B> target bean class
+ */
+public final class Copier<A, B> {
+    private final Class<A> fromClass;
+    private final Class<B> toClass;
+    private final BeanAccessor from;
+    private final BeanAccessor to;
+    private final int[] fromIndices;
+    private final int[] toIndices;
+    private final Codec[] encoders; //null for properties copied as-is
+    private final Codec[] decoders;
+    private final boolean[] primitiveTargets;
+    private final List<String> propNames;
+
+    Copier(Class<A> fromClass, Class<B> toClass) {
+        if (fromClass == null || toClass == null) {
+            throw new IllegalArgumentException("got null class");
+        }
+        BeanDescriptor fromBean = Beanz.parse(fromClass);
+        BeanDescriptor toBean = Beanz.parse(toClass);
+        this.fromClass = fromClass;
+        this.toClass = toClass;
+        this.from = fromBean.getAccessor();
+        this.to = toBean.getAccessor();
+
+        int max = Math.min(from.size(), to.size());
+        int[] fromIndices = new int[max];
+        int[] toIndices = new int[max];
+        Codec[] encoders = new Codec[max];
+        Codec[] decoders = new Codec[max];
+        boolean[] primitiveTargets = new boolean[max];
+        List<String> propNames = new ArrayList<>(max);
+        int count = 0;
+        for (int i = 0; i < from.size(); i++) {
+            PropertyDescriptor source = from.getProperty(i);
+            int j = to.indexOf(source.getName());
+            if (j < 0 || !source.isReadable()) {
+                continue;
+            }
+            PropertyDescriptor target = to.getProperty(j);
+            if (!target.isWritable()) {
+                continue;
+            }
+            if (!assignable(source.getValueType(), target.getValueType())) {
+                Codec encoder = source.getCodec();
+                Codec decoder = target.getCodec();
+                if (encoder == null || decoder == null) {
+                    continue; //no way to convert
+                }
+                encoders[count] = encoder;
+                decoders[count] = decoder;
+            }
+            fromIndices[count] = i;
+            toIndices[count] = j;
+            primitiveTargets[count] = ReflectionUtil.isPrimitive(target.getValueType());
+            propNames.add(source.getName());
+            count++;
+        }
+        this.fromIndices = Arrays.copyOf(fromIndices, count);
+        this.toIndices = Arrays.copyOf(toIndices, count);
+        this.encoders = Arrays.copyOf(encoders, count);
+        this.decoders = Arrays.copyOf(decoders, count);
+        this.primitiveTargets = Arrays.copyOf(primitiveTargets, count);
+        this.propNames = Collections.unmodifiableList(propNames);
+    }
+
+    public Class<A> getFromClass() {
+        return fromClass;
+    }
+
+    public Class<B> getToClass() {
+        return toClass;
+    }
+
+    /**
+     * @return names of the properties this copier copies
+     */
+    public List<String> getPropertyNames() {
+        return propNames;
+    }
+
+    /**
+     * copies all matched properties. primitive target properties are left as-is when the source value is null
+     * @param source bean to copy from
+     * @param target bean to copy into
+     * @return the target
+     */
+    public B copy(A source, B target) {
+        if (source == null || target == null) {
+            throw new IllegalArgumentException();
+        }
+        for (int i = 0; i < fromIndices.length; i++) {
+            Object value = from.get(source, fromIndices[i]);
+            Codec encoder = encoders[i];
+            if (encoder != null && value != null) {
+                value = decoders[i].decode(encoder.encode(value));
+            }
+            if (value == null && primitiveTargets[i]) {
+                continue; //nothing to put in there
+            }
+            to.set(target, toIndices[i], value);
+        }
+        return target;
+    }
+
+    /**
+     * copies into a newly-created instance of the target class
+     * @param source bean to copy from
+     * @return a new target bean
+     */
+    public B copy(A source) {
+        B target;
+        try {
+            target = toClass.newInstance();
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new IllegalArgumentException("unable to instantiate class " + toClass, e);
+        }
+        return copy(source, target);
+    }
+
+    @Override
+    public String toString() {
+        return fromClass.getSimpleName() + " --> " + toClass.getSimpleName() + " " + propNames;
+    }
+
+    /**
+     * @return true if values of the source type can be copied into the target type as-is
+     */
+    private static boolean assignable(Type source, Type target) {
+        source = ReflectionUtil.canonicalize(source);
+        target = ReflectionUtil.canonicalize(target);
+        if (source.equals(target)) {
+            return true;
+        }
+        if (isPrimitiveOrWrapper(source) || isPrimitiveOrWrapper(target)) {
+            //int and Integer are the same as far as copying goes, but an Integer cant be set into a long
+            return source instanceof Class && target instanceof Class
+                    && ClassUtils.primitiveToWrapper((Class<?>) source) == ClassUtils.primitiveToWrapper((Class<?>) target);
+        }
+        if (!ReflectionUtil.erase(target).isAssignableFrom(ReflectionUtil.erase(source))) {
+            return false;
+        }
+        if (target instanceof Class) {
+            return true; //raw target, anything goes
+        }
+        //containers (like an ArrayList<String> into a List<String>) need the same type arguments
+        return target instanceof ParameterizedType && source instanceof ParameterizedType
+                && ((ReflectionUtil.isCollection(source) && ReflectionUtil.isCollection(target))
+                    || (ReflectionUtil.isMap(source) && ReflectionUtil.isMap(target)))
+                && Arrays.equals(((ParameterizedType) source).getActualTypeArguments(),
+                        ((ParameterizedType) target).getActualTypeArguments());
+    }
+
+    private static boolean isPrimitiveOrWrapper(Type type) {
+        return type instanceof Class && ClassUtils.isPrimitiveOrWrapper((Class<?>) type);
+    }
+}
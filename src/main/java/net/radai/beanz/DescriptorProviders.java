@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz;
+
+import net.radai.beanz.api.BeanDescriptorProvider;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * finds generated {@link BeanDescriptorProvider}s. every classloader is scanned (via ServiceLoader)
+ * once, the 1st time a class it defined is looked up. as with the descriptor cache, providers are
+ * kept in a ClassValue so they never keep a class (or its classloader) alive.
+ */
+class DescriptorProviders {
+    private static final ClassValue<AtomicReference<BeanDescriptorProvider>> PROVIDERS = new ClassValue<AtomicReference<BeanDescriptorProvider>>() {
+        @Override
+        protected AtomicReference<BeanDescriptorProvider> computeValue(Class<?> type) {
+            return new AtomicReference<>();
+        }
+    };
+    private static final Set<ClassLoader> SCANNED = Collections.newSetFromMap(new WeakHashMap<>());
+
+    private DescriptorProviders() {
+        //utility class
+    }
+
+    static BeanDescriptorProvider forClass(Class<?> clazz) {
+        ClassLoader classLoader = clazz.getClassLoader();
+        if (classLoader != null) {
+            scan(classLoader);
+        }
+        return PROVIDERS.get(clazz).get();
+    }
+
+    private static synchronized void scan(ClassLoader classLoader) {
+        if (!SCANNED.add(classLoader)) {
+            return;
+        }
+        Iterator<BeanDescriptorProvider> iterator = ServiceLoader.load(BeanDescriptorProvider.class, classLoader).iterator();
+        while (true) {
+            try {
+                if (!iterator.hasNext()) {
+                    break;
+                }
+                BeanDescriptorProvider provider = iterator.next();
+                //if several loaders see the same provider the 1st one wins
+                PROVIDERS.get(provider.getBeanClass()).compareAndSet(null, provider);
+            } catch (ServiceConfigurationError e) {
+                //a broken provider (say, for a class thats not on the classpath anymore). skip it
+            }
+        }
+    }
+}
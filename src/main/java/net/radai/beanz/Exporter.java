@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz;
+
+import net.radai.beanz.api.BeanAccessor;
+import net.radai.beanz.api.BeanDescriptor;
+import net.radai.beanz.api.Codec;
+import net.radai.beanz.api.PropertyDescriptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * turns beans into flat (property name, encoded value) pairs - the bulk equivalent of calling
+ * Property.getAsString() for every property. the readable properties that have a codec are resolved once,
+ * when the exporter is built, and values are read through the bean's accessor, so exporting a bean does not
+ * allocate any wrappers. exporters are immutable, and so can be shared between threads.
+ * @param <T> bean class
+ */
+public final class Exporter<T> {
+    private final BeanDescriptor descriptor;
+    private final BeanAccessor accessor;
+    private final boolean skipNulls;
+    private final int[] ordinals;
+    private final String[] names;
+    private final Codec[] codecs;
+
+    /**
+     * @param descriptor bean to export
+     * @param skipNulls true to leave out properties whose value is null, false to export them as null
+     */
+    public Exporter(BeanDescriptor descriptor, boolean skipNulls) {
+        if (descriptor == null) {
+            throw new IllegalArgumentException();
+        }
+        this.descriptor = descriptor;
+        this.accessor = descriptor.getAccessor();
+        this.skipNulls = skipNulls;
+        int size = accessor.size();
+        int[] ordinals = new int[size];
+        String[] names = new String[size];
+        Codec[] codecs = new Codec[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            PropertyDescriptor property = accessor.getProperty(i);
+            Codec codec = property.isReadable() ? property.getCodec() : null;
+            if (codec == null) {
+                continue; //cant be exported
+            }
+            ordinals[count] = i;
+            names[count] = property.getName();
+            codecs[count] = codec;
+            count++;
+        }
+        this.ordinals = Arrays.copyOf(ordinals, count);
+        this.names = Arrays.copyOf(names, count);
+        this.codecs = Arrays.copyOf(codecs, count);
+    }
+
+    public BeanDescriptor getDescriptor() {
+        return descriptor;
+    }
+
+    /**
+     * @return names of the exported properties, in ordinal order
+     */
+    public List<String> getPropertyNames() {
+        return Collections.unmodifiableList(new ArrayList<>(Arrays.asList(names)));
+    }
+
+    /**
+     * @param bean bean to export
+     * @param sink receives the name and encoded value of every exported property, in ordinal order
+     */
+    public void forEach(T bean, BiConsumer<? super String, ? super String> sink) {
+        if (bean == null || sink == null) {
+            throw new IllegalArgumentException();
+        }
+        for (int i = 0; i < ordinals.length; i++) {
+            Object value = accessor.get(bean, ordinals[i]);
+            if (value != null) {
+                sink.accept(names[i], codecs[i].encode(value));
+            } else if (!skipNulls) {
+                sink.accept(names[i], null);
+            }
+        }
+    }
+
+    /**
+     * exports into an existing (say, reused) map. entries for the exported properties are overwritten (or removed,
+     * for null values when skipping nulls), anything else in the map is left as-is
+     * @param bean bean to export
+     * @param into map to export into
+     * @param <M> map type
+     * @return the given map
+     */
+    public <M extends Map<String, String>> M export(T bean, M into) {
+        if (into == null) {
+            throw new IllegalArgumentException();
+        }
+        if (bean == null) {
+            throw new IllegalArgumentException();
+        }
+        for (int i = 0; i < ordinals.length; i++) {
+            Object value = accessor.get(bean, ordinals[i]);
+            if (value != null) {
+                into.put(names[i], codecs[i].encode(value));
+            } else if (skipNulls) {
+                into.remove(names[i]); //so nothing is left over from whatever was exported into the map before
+            } else {
+                into.put(names[i], null);
+            }
+        }
+        return into;
+    }
+
+    /**
+     * @param bean bean to export
+     * @return a new map of encoded property values, in ordinal order
+     */
+    public Map<String, String> export(T bean) {
+        return export(bean, new LinkedHashMap<>(ordinals.length * 4 / 3 + 1));
+    }
+
+    @Override
+    public String toString() {
+        return "exporter of " + descriptor;
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz;
+
+import net.radai.beanz.api.BeanDescriptor;
+
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiConsumer;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * parses (and caches) descriptors for many classes at once, in parallel. see {@link Beanz#preload(Collection)}.
+ * a class that fails to parse does not fail the rest - it is left out of the result and reported
+ */
+class Preloader {
+    private static final String CLASS_SUFFIX = ".class";
+
+    private Preloader() {
+        //utility class
+    }
+
+    static Map<Class<?>, BeanDescriptor> preload(
+            Collection<? extends Class<?>> classes,
+            boolean warmUpAccessors,
+            ForkJoinPool pool,
+            BiConsumer<? super Class<?>, ? super Throwable> onFailure
+    ) {
+        if (classes == null || pool == null || onFailure == null) {
+            throw new IllegalArgumentException();
+        }
+        Class<?>[] distinct = new LinkedHashSet<>(classes).toArray(new Class<?>[0]);
+        BeanDescriptor[] descriptors = new BeanDescriptor[distinct.length];
+        Throwable[] failures = new Throwable[distinct.length];
+        pool.invoke(new ParseTask(distinct, descriptors, failures, warmUpAccessors, 0, distinct.length));
+        Map<Class<?>, BeanDescriptor> result = new LinkedHashMap<>();
+        for (int i = 0; i < distinct.length; i++) {
+            if (failures[i] != null) {
+                onFailure.accept(distinct[i], failures[i]); //on the calling thread, in order
+            } else {
+                result.put(distinct[i], descriptors[i]);
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * @return all the (concrete, named) classes in the given package and its sub-packages, as seen by the given classloader
+     */
+    static List<Class<?>> scan(ClassLoader classLoader, String packageName) {
+        if (classLoader == null || packageName == null) {
+            throw new IllegalArgumentException();
+        }
+        String path = packageName.replace('.', '/');
+        Set<String> classNames = new LinkedHashSet<>();
+        try {
+            Enumeration<URL> roots = classLoader.getResources(path);
+            while (roots.hasMoreElements()) {
+                URL root = roots.nextElement();
+                if ("file".equals(root.getProtocol())) {
+                    scanDirectory(Paths.get(root.toURI()), packageName, classNames);
+                } else {
+                    URLConnection connection = root.openConnection();
+                    if (connection instanceof JarURLConnection) {
+                        scanJar(((JarURLConnection) connection).getJarFile(), path, classNames);
+                    }
+                }
+            }
+        } catch (IOException | URISyntaxException e) {
+            throw new IllegalStateException("unable to scan package " + packageName, e);
+        }
+        List<Class<?>> classes = new ArrayList<>();
+        for (String className : classNames) {
+            Class<?> clazz;
+            try {
+                clazz = Class.forName(className, false, classLoader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                continue; //not loadable (say, missing optional dependencies). not our problem
+            }
+            if (clazz.isInterface() || clazz.isEnum() || clazz.isAnonymousClass() || clazz.isLocalClass() || clazz.isSynthetic()) {
+                continue;
+            }
+            classes.add(clazz);
+        }
+        return classes;
+    }
+
+    private static void scanDirectory(Path directory, String packageName, Set<String> classNames) throws IOException {
+        String prefix = packageName.isEmpty() ? "" : packageName + "."; //nothing for the default package
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.forEach(file -> {
+                String relative = directory.relativize(file).toString().replace(file.getFileSystem().getSeparator(), ".");
+                if (relative.endsWith(CLASS_SUFFIX)) {
+                    addClassName(prefix + relative.substring(0, relative.length() - CLASS_SUFFIX.length()), classNames);
+                }
+            });
+        }
+    }
+
+    private static void scanJar(JarFile jar, String path, Set<String> classNames) {
+        String prefix = path.isEmpty() ? "" : path + "/";
+        Enumeration<JarEntry> entries = jar.entries();
+        while (entries.hasMoreElements()) {
+            String name = entries.nextElement().getName();
+            if (name.startsWith(prefix) && name.endsWith(CLASS_SUFFIX)) {
+                addClassName(name.substring(0, name.length() - CLASS_SUFFIX.length()).replace('/', '.'), classNames);
+            }
+        }
+    }
+
+    private static void addClassName(String className, Set<String> classNames) {
+        if (!className.endsWith("package-info") && !className.endsWith("module-info")) {
+            classNames.add(className);
+        }
+    }
+
+    private static class ParseTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Class<?>[] classes;
+        private final BeanDescriptor[] descriptors;
+        private final Throwable[] failures;
+        private final boolean warmUpAccessors;
+        private final int from;
+        private final int to;
+
+        ParseTask(Class<?>[] classes, BeanDescriptor[] descriptors, Throwable[] failures, boolean warmUpAccessors, int from, int to) {
+            this.classes = classes;
+            this.descriptors = descriptors;
+            this.failures = failures;
+            this.warmUpAccessors = warmUpAccessors;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                //parsing a class is heavy enough to be worth a task of its own
+                int middle = (from + to) >>> 1;
+                invokeAll(new ParseTask(classes, descriptors, failures, warmUpAccessors, from, middle),
+                        new ParseTask(classes, descriptors, failures, warmUpAccessors, middle, to));
+                return;
+            }
+            if (from < to) {
+                try {
+                    BeanDescriptor descriptor = Beanz.parse(classes[from]);
+                    if (warmUpAccessors) {
+                        descriptor.getAccessor();
+                    }
+                    descriptors[from] = descriptor;
+                } catch (RuntimeException | LinkageError e) {
+                    //say, an ambiguous property, or a signature referring to a class thats not on the classpath
+                    failures[from] = e;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz;
+
+import net.radai.beanz.api.Codec;
+import net.radai.beanz.util.ReflectionUtil;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * a process-wide cache of the codecs Beanz resolves for (non built-in) types, shared by all parse calls.
+ * every type is kept in a ClassValue of the class (out of all the classes that make up the type)
+ * that comes from the deepest classloader, so that entries go away along with that classloader.
+ * types made up of classes from unrelated classloaders (neither is an ancestor of the other) are not cached,
+ * since wherever they were kept they would pin the other classloader. types that have no codec are remembered too.
+ */
+class ResolvedCodecs {
+    private static final Codec NONE = new Codec() {
+        @Override
+        public Type getType() {
+            return Void.class;
+        }
+
+        @Override
+        public Object decode(String encoded) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String encode(Object object) {
+            throw new UnsupportedOperationException();
+        }
+    };
+    private static final ClassValue<ConcurrentMap<Type, Codec>> CODECS = new ClassValue<ConcurrentMap<Type, Codec>>() {
+        @Override
+        protected ConcurrentMap<Type, Codec> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>(4);
+        }
+    };
+
+    private ResolvedCodecs() {
+        //utility class
+    }
+
+    /**
+     * @return the codec for the given type, resolving (and caching) it on 1st use. null if there is none
+     */
+    static Codec get(Type type, Function<Type, Codec> resolver) {
+        Type key = ReflectionUtil.canonicalize(type);
+        Class<?> anchor = anchor(key);
+        if (anchor == null) {
+            return resolver.apply(type); //type variables, wildcards etc - not worth caching
+        }
+        ConcurrentMap<Type, Codec> codecs = CODECS.get(anchor);
+        Codec codec = codecs.get(key);
+        if (codec == null) {
+            //not computeIfAbsent() - resolving a type may recursively resolve (and cache) others in the same map
+            codec = resolver.apply(type);
+            Codec existing = codecs.putIfAbsent(key, codec != null ? codec : NONE);
+            if (existing != null) {
+                codec = existing;
+            }
+        }
+        return codec != NONE ? codec : null;
+    }
+
+    /**
+     * @return the class from the deepest classloader out of all the classes that make up the given type,
+     * or null if the type is made of anything other than classes, parameterized types and arrays,
+     * or of classes from unrelated classloaders
+     */
+    static Class<?> anchor(Type type) {
+        if (type instanceof Class<?>) {
+            return (Class<?>) type;
+        }
+        if (type instanceof GenericArrayType) {
+            return anchor(((GenericArrayType) type).getGenericComponentType());
+        }
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Class<?> anchor = anchor(parameterizedType.getRawType());
+            if (parameterizedType.getOwnerType() != null) {
+                anchor = deeper(anchor, anchor(parameterizedType.getOwnerType()));
+            }
+            for (Type argument : parameterizedType.getActualTypeArguments()) {
+                anchor = deeper(anchor, anchor(argument));
+            }
+            return anchor;
+        }
+        return null;
+    }
+
+    private static Class<?> deeper(Class<?> a, Class<?> b) {
+        if (a == null || b == null) {
+            return null;
+        }
+        if (isAncestor(a.getClassLoader(), b.getClassLoader())) {
+            return b;
+        }
+        if (isAncestor(b.getClassLoader(), a.getClassLoader())) {
+            return a;
+        }
+        return null; //siblings (or cousins)
+    }
+
+    /**
+     * @return true if the given classloaders are the same, or the 1st is an ancestor of the 2nd
+     */
+    private static boolean isAncestor(ClassLoader ancestor, ClassLoader classLoader) {
+        if (ancestor == null) {
+            return true; //bootstrap
+        }
+        for (ClassLoader current = classLoader; current != null; current = current.getParent()) {
+            if (current == ancestor) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
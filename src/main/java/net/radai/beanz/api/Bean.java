@@ -26,40 +26,20 @@
 package net.radai.beanz.api;
 
 import java.lang.annotation.Annotation;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 
 public class Bean<T> {
     private final BeanDescriptor descriptor;
     private final T bean;
-    private final Map<String, Property> properties;
+    private Map<String, Property> properties; //view, created on 1st use
 
     public Bean(BeanDescriptor descriptor, T bean) {
         this.descriptor = descriptor;
         this.bean = bean;
-        Map<String, Property> temp = new HashMap<>();
-        for (Map.Entry<String, PropertyDescriptor> propEntry : descriptor.getProperties().entrySet()) {
-            String name = propEntry.getKey();
-            PropertyDescriptor desc = propEntry.getValue();
-            switch (desc.getType()) {
-                case SIMPLE:
-                    temp.put(name, new Property(desc, this));
-                    break;
-                case ARRAY:
-                    temp.put(name, new ArrayProperty((ArrayPropertyDescriptor) desc, this));
-                    break;
-                case COLLECTION:
-                    temp.put(name, new CollectionProperty((CollectionPropertyDescriptor) desc, this));
-                    break;
-                case MAP:
-                    temp.put(name, new MapProperty((MapPropertyDescriptor) desc, this));
-                    break;
-                default:
-                    throw new IllegalStateException("unhandled: " + desc.getType());
-            }
-        }
-        this.properties = Collections.unmodifiableMap(temp);
     }
 
     public BeanDescriptor getDescriptor() {
@@ -70,12 +50,41 @@ public class Bean<T> {
         return bean;
     }
 
+    /**
+     * @return a read-only view of all properties of this bean. the Property objects
+     * are created as they are encountered, so iterating over just the names is cheap.
+     */
     public Map<String, Property> getProperties() {
-        return properties;
+        Map<String, Property> result = properties;
+        if (result == null) {
+            result = new PropertiesView();
+            properties = result;
+        }
+        return result;
     }
 
     public Property getProperty(String propName) {
-        return properties.get(propName);
+        PropertyDescriptor desc = descriptor.getProperty(propName);
+        return desc != null ? newProperty(desc) : null;
+    }
+
+    public Property getProperty(int ordinal) {
+        return newProperty(descriptor.getProperty(ordinal));
+    }
+
+    private Property newProperty(PropertyDescriptor desc) {
+        switch (desc.getType()) {
+            case SIMPLE:
+                return new Property(desc, this);
+            case ARRAY:
+                return new ArrayProperty((ArrayPropertyDescriptor) desc, this);
+            case COLLECTION:
+                return new CollectionProperty((CollectionPropertyDescriptor) desc, this);
+            case MAP:
+                return new MapProperty((MapPropertyDescriptor) desc, this);
+            default:
+                throw new IllegalStateException("unhandled: " + desc.getType());
+        }
     }
 
     public <A extends Annotation> A[] getAnnotations(Class<A> annotationClass) {
@@ -97,4 +106,57 @@ public class Bean<T> {
     public String toString() {
         return descriptor + "@" + Integer.toHexString(System.identityHashCode(bean));
     }
+
+    /**
+     * a map of property name to Property, backed by the descriptor
+     */
+    private class PropertiesView extends AbstractMap<String, Property> {
+        @Override
+        public int size() {
+            return descriptor.getProperties().size();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return descriptor.getProperties().containsKey(key);
+        }
+
+        @Override
+        public Property get(Object key) {
+            PropertyDescriptor desc = descriptor.getProperties().get(key);
+            return desc != null ? newProperty(desc) : null;
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return descriptor.getProperties().keySet(); //already read-only
+        }
+
+        @Override
+        public Set<Entry<String, Property>> entrySet() {
+            return new AbstractSet<Entry<String, Property>>() {
+                @Override
+                public int size() {
+                    return descriptor.getProperties().size();
+                }
+
+                @Override
+                public Iterator<Entry<String, Property>> iterator() {
+                    Iterator<PropertyDescriptor> iterator = descriptor.getProperties().values().iterator();
+                    return new Iterator<Entry<String, Property>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return iterator.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, Property> next() {
+                            PropertyDescriptor desc = iterator.next();
+                            return new SimpleImmutableEntry<>(desc.getName(), newProperty(desc));
+                        }
+                    };
+                }
+            };
+        }
+    }
 }
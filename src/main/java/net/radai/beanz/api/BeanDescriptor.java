@@ -25,46 +25,129 @@
 
 package net.radai.beanz.api;
 
-import org.apache.commons.lang3.ClassUtils;
+import net.radai.beanz.bytecode.AccessorGenerator;
+import net.radai.beanz.codecs.CodecRegistry;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
-import static net.radai.beanz.util.ReflectionUtil.erase;
-
 public class BeanDescriptor {
     private final Class<?> beanClass;
     private final Map<String, PropertyDescriptor> properties;
-    private final Map<Type, Codec> codecs;
+    private final CodecRegistry codecs;
+    private volatile Ordinals ordinals;
+    private volatile BeanAccessor accessor;
+    private volatile boolean frozen;
 
     public BeanDescriptor(Class<?> beanClass) {
+        this(beanClass, CodecRegistry.BUILT_INS);
+    }
+
+    /**
+     * @param parentCodecs the codecs this bean's own codecs are layered on top of
+     */
+    public BeanDescriptor(Class<?> beanClass, CodecRegistry parentCodecs) {
+        if (parentCodecs == null) {
+            throw new IllegalArgumentException();
+        }
         this.beanClass = beanClass;
         this.properties = new HashMap<>();
-        this.codecs = new HashMap<>();
+        this.codecs = parentCodecs.overlay();
     }
 
+    /**
+     * @throws IllegalStateException if this descriptor is {@link #freeze() frozen}
+     */
     public void addProperty(PropertyDescriptor prop) {
+        checkNotFrozen();
         String name = prop != null ? prop.getName() : null;
         if (prop == null || name == null || name.isEmpty() || properties.containsKey(name)) {
             throw new IllegalArgumentException();
         }
         properties.put(name, prop);
+        if (ordinals != null) {
+            properties.values().forEach(p -> p.setOrdinal(-1));
+        }
+        ordinals = null;
+        accessor = null;
+    }
+
+    public Class<?> getBeanClass() {
+        return beanClass;
     }
 
     public PropertyDescriptor getProperty(String propName) {
         return properties.get(propName);
     }
 
+    /**
+     * @return all properties, by name, in ordinal order
+     */
     public Map<String, PropertyDescriptor> getProperties() {
-        return properties;
+        return ordinals().byName;
     }
 
-    public void addCodec(Type type, Codec codec) {
-        if (codec == null || type == null || !ClassUtils.isAssignable(erase(codec.getType()), erase(type), true) || codecs.containsKey(type)) {
-            throw new IllegalArgumentException();
+    public int getPropertyCount() {
+        return properties.size();
+    }
+
+    /**
+     * properties are numbered [0, getPropertyCount()) in order of their names. so ordinals
+     * are stable - the same class parsed with the same options always gets the same ordinals.
+     * @param propName property name
+     * @return ordinal of the named property, or -1 if there's no such property
+     */
+    public int indexOf(String propName) {
+        Integer ordinal = ordinals().ordinals.get(propName);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    public PropertyDescriptor getProperty(int ordinal) {
+        return ordinals().byOrdinal[ordinal];
+    }
+
+    public Object get(Object bean, int ordinal) {
+        return ordinals().byOrdinal[ordinal].get(bean);
+    }
+
+    public void set(Object bean, int ordinal, Object value) {
+        ordinals().byOrdinal[ordinal].set(bean, value);
+    }
+
+    private Ordinals ordinals() {
+        Ordinals result = ordinals;
+        if (result == null) {
+            result = new Ordinals(properties);
+            ordinals = result;
         }
+        return result;
+    }
+
+    /**
+     * returns an index-based accessor for all the properties of this bean, generating it on first use.
+     * accessor indices are the same as property ordinals.
+     * @return an accessor for this bean class
+     */
+    public BeanAccessor getAccessor() {
+        BeanAccessor result = accessor;
+        if (result == null) {
+            result = AccessorGenerator.generate(this);
+            accessor = result;
+        }
+        return result;
+    }
+
+    /**
+     * @throws IllegalStateException if this descriptor is {@link #freeze() frozen}
+     */
+    public void addCodec(Type type, Codec codec) {
+        checkNotFrozen();
         codecs.put(type, codec);
     }
 
@@ -72,6 +155,33 @@ public class BeanDescriptor {
         return codecs.get(type);
     }
 
+    /**
+     * @return this bean's codecs, layered on top of the shared ones
+     */
+    public CodecRegistry getCodecs() {
+        return codecs;
+    }
+
+    /**
+     * makes this descriptor (and its own codecs) immutable. descriptors are frozen before they're
+     * shared (say, by the cache behind {@link net.radai.beanz.Beanz#parse(Class)}), so one caller
+     * cant change them under another's feet
+     */
+    public void freeze() {
+        codecs.freeze();
+        frozen = true;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException(beanClass + " descriptor is frozen (shared), parse a private copy to modify it");
+        }
+    }
+
     public <A extends Annotation> A[] getAnnotations(Class<A> annotationClass) {
         return beanClass.getAnnotationsByType(annotationClass);
     }
@@ -80,4 +190,26 @@ public class BeanDescriptor {
     public String toString() {
         return beanClass.getSimpleName();
     }
+
+    /**
+     * an immutable snapshot of the properties in ordinal order
+     */
+    private static final class Ordinals {
+        private final PropertyDescriptor[] byOrdinal;
+        private final Map<String, Integer> ordinals;
+        private final Map<String, PropertyDescriptor> byName;
+
+        private Ordinals(Map<String, PropertyDescriptor> properties) {
+            byOrdinal = properties.values().toArray(new PropertyDescriptor[0]);
+            Arrays.sort(byOrdinal, Comparator.comparing(PropertyDescriptor::getName));
+            ordinals = new HashMap<>();
+            Map<String, PropertyDescriptor> ordered = new LinkedHashMap<>();
+            for (int i = 0; i < byOrdinal.length; i++) {
+                byOrdinal[i].setOrdinal(i);
+                ordinals.put(byOrdinal[i].getName(), i);
+                ordered.put(byOrdinal[i].getName(), byOrdinal[i]);
+            }
+            byName = Collections.unmodifiableMap(ordered);
+        }
+    }
 }
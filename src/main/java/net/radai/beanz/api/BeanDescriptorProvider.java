@@ -0,0 +1,58 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.api;
+
+import net.radai.beanz.codecs.CodecRegistry;
+
+import java.util.Set;
+
+/**
+ * supplies precomputed descriptors for a single bean class, typically generated at compile time
+ * by the beanz annotation processor. providers are discovered via {@link java.util.ServiceLoader}
+ * and take precedence over runtime (reflection-based) parsing.
+ */
+public interface BeanDescriptorProvider {
+    Class<?> getBeanClass();
+
+    /**
+     * @param ignore names of properties to leave out
+     * @param access how property descriptors that still have to fall back to reflection should access bean members
+     * @return a new descriptor, or null if this provider cannot produce one for the given ignore set
+     * (in which case the class is parsed at runtime)
+     */
+    BeanDescriptor describe(Set<String> ignore, AccessStrategy access);
+
+    /**
+     * @param ignore names of properties to leave out
+     * @param access how property descriptors that still have to fall back to reflection should access bean members
+     * @param codecs registry the descriptor's codecs are layered on top of
+     * @return a new descriptor, or null if this provider cannot produce one (in which case the class is parsed at runtime).
+     * the default only handles the built-in codecs
+     */
+    default BeanDescriptor describe(Set<String> ignore, AccessStrategy access, CodecRegistry codecs) {
+        return codecs == CodecRegistry.BUILT_INS ? describe(ignore, access) : null;
+    }
+}
@@ -25,10 +25,30 @@
 
 package net.radai.beanz.api;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
 
 public interface Codec {
     Type getType();
     Object decode(String encoded);
     String encode(Object object);
+
+    /**
+     * decodes the characters between start (inclusive) and end (exclusive) of the given sequence.
+     * codecs that can parse in place should override this to avoid copying the range into a String.
+     */
+    default Object decode(CharSequence encoded, int start, int end) {
+        if (encoded == null) {
+            return decode((String) null);
+        }
+        return decode(encoded.subSequence(start, end).toString());
+    }
+
+    /**
+     * appends the encoded form of the given object. a null encoding is appended as "null" (like Appendable does).
+     * codecs that can write directly into the output should override this to avoid creating an intermediate String.
+     */
+    default void encodeTo(Object object, Appendable out) throws IOException {
+        out.append(encode(object));
+    }
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.api;
+
+import net.radai.beanz.util.ReflectionUtil;
+import org.apache.commons.lang3.ClassUtils;
+
+import java.lang.reflect.Type;
+
+/**
+ * boxes (and unboxes) primitive values for the default (non-native) primitive setters (and getters) of
+ * {@link PropertyDescriptor}, applying java's widening primitive conversions - so an int can be set into a
+ * long (or Long) property, and a long property can be read as a double, but not the other way around
+ */
+final class PrimitiveConversions {
+
+    private PrimitiveConversions() {
+        //utility class
+    }
+
+    static Object fromInt(PropertyDescriptor property, int value) {
+        Class<?> type = targetType(property);
+        if (type == Long.class) {
+            return (long) value;
+        }
+        if (type == Float.class) {
+            return (float) value;
+        }
+        if (type == Double.class) {
+            return (double) value;
+        }
+        return check(property, type, value);
+    }
+
+    static Object fromLong(PropertyDescriptor property, long value) {
+        Class<?> type = targetType(property);
+        if (type == Float.class) {
+            return (float) value;
+        }
+        if (type == Double.class) {
+            return (double) value;
+        }
+        return check(property, type, value);
+    }
+
+    static Object fromDouble(PropertyDescriptor property, double value) {
+        return check(property, targetType(property), value);
+    }
+
+    static Object fromBoolean(PropertyDescriptor property, boolean value) {
+        return check(property, targetType(property), value);
+    }
+
+    static int toInt(PropertyDescriptor property, Object value) {
+        return value instanceof Character ? (Character) value : ((Number) readable(property, int.class, value)).intValue();
+    }
+
+    static long toLong(PropertyDescriptor property, Object value) {
+        return value instanceof Character ? (Character) value : ((Number) readable(property, long.class, value)).longValue();
+    }
+
+    static double toDouble(PropertyDescriptor property, Object value) {
+        return value instanceof Character ? (Character) value : ((Number) readable(property, double.class, value)).doubleValue();
+    }
+
+    static boolean toBoolean(PropertyDescriptor property, Object value) {
+        return (Boolean) readable(property, boolean.class, value);
+    }
+
+    /**
+     * @return the value as-is, if it can be read as the given primitive (exactly, or by widening)
+     * @throws NullPointerException if the value is null
+     * @throws IllegalArgumentException if the value would need a narrowing conversion (or cant be converted at all)
+     */
+    private static Object readable(PropertyDescriptor property, Class<?> primitive, Object value) {
+        if (value == null) {
+            throw new NullPointerException(property.getName() + " is null");
+        }
+        if (!ClassUtils.isAssignable(value.getClass(), primitive, true)) {
+            throw new IllegalArgumentException("cannot get a " + primitive + " out of " + property.getName()
+                    + " of type " + property.getValueType().getTypeName() + " (value is a " + value.getClass().getName() + ")");
+        }
+        return value;
+    }
+
+    private static Class<?> targetType(PropertyDescriptor property) {
+        return ClassUtils.primitiveToWrapper(ReflectionUtil.erase(property.getValueType()));
+    }
+
+    /**
+     * @return the (boxed) value as-is, if the property can take it (say, an Object or a Number property)
+     * @throws IllegalArgumentException if the value would need a narrowing conversion (or cant be converted at all)
+     */
+    private static Object check(PropertyDescriptor property, Class<?> type, Object value) {
+        if (!type.isInstance(value)) {
+            throw new IllegalArgumentException("cannot set a " + ClassUtils.wrapperToPrimitive(value.getClass())
+                    + " into " + property.getName() + " of type " + property.getValueType().getTypeName());
+        }
+        return value;
+    }
+}
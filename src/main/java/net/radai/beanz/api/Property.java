@@ -104,6 +104,27 @@ public class Property {
         return annotations[0];
     }
 
+    /**
+     * properties are views (created on demand), so two are equal if they are of the same property of the same
+     * bean instance
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Property other = (Property) o;
+        return containingBean.getBean() == other.containingBean.getBean() && descriptor.equals(other.descriptor);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * System.identityHashCode(containingBean.getBean()) + descriptor.hashCode();
+    }
+
     @Override
     public String toString() {
         return containingBean + "." + descriptor.getName();
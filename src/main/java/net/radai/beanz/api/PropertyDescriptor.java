@@ -31,6 +31,13 @@ import java.lang.reflect.Type;
 public interface PropertyDescriptor {
     BeanDescriptor getContainingBeanDescriptor();
     String getName();
+    default int getOrdinal() {
+        return getContainingBeanDescriptor().indexOf(getName());
+    }
+    //called by the containing bean descriptor whenever ordinals are (re)assigned (-1 when they're
+    //invalidated), so descriptors that keep it can return their ordinal without a lookup
+    default void setOrdinal(int ordinal) {
+    }
     PropertyType getType();
     Type getValueType();
     boolean isReadable();
@@ -45,6 +52,36 @@ public interface PropertyDescriptor {
         return rawValue != null ? codec.encode(rawValue) : null;
     }
     void set(Object bean, Object value);
+    //primitive access. descriptors of primitive properties read and write these without boxing.
+    //(these live here, rather than in per-primitive subinterfaces, so callers never need to cast - and
+    //descriptor classes dont multiply by primitive type). for anything else these go through get()/set():
+    //both directions widen as java would (an int into a long, float or double property, a long property read
+    //as a float or double) and throw IllegalArgumentException for anything that would need narrowing.
+    //getters throw NullPointerException for null values
+    default int getInt(Object bean) {
+        return PrimitiveConversions.toInt(this, get(bean));
+    }
+    default void setInt(Object bean, int value) {
+        set(bean, PrimitiveConversions.fromInt(this, value));
+    }
+    default long getLong(Object bean) {
+        return PrimitiveConversions.toLong(this, get(bean));
+    }
+    default void setLong(Object bean, long value) {
+        set(bean, PrimitiveConversions.fromLong(this, value));
+    }
+    default double getDouble(Object bean) {
+        return PrimitiveConversions.toDouble(this, get(bean));
+    }
+    default void setDouble(Object bean, double value) {
+        set(bean, PrimitiveConversions.fromDouble(this, value));
+    }
+    default boolean getBoolean(Object bean) {
+        return PrimitiveConversions.toBoolean(this, get(bean));
+    }
+    default void setBoolean(Object bean, boolean value) {
+        set(bean, PrimitiveConversions.fromBoolean(this, value));
+    }
     default void setFromString(Object bean, String strValue) {
         Codec codec = getCodec();
         if (codec == null) {
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.binary;
+
+import net.radai.beanz.api.BinaryCodec;
+import net.radai.beanz.util.ReflectionUtil;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+
+/**
+ * an array is its length followed by its elements. elements of primitive arrays cant be null,
+ * so they are written without null markers
+ */
+public class ArrayBinaryCodec implements BinaryCodec {
+    private final Type type;
+    private final Type elementType;
+    private final BinaryCodec elementCodec;
+    private final boolean primitive;
+
+    public ArrayBinaryCodec(Type type, Type elementType, BinaryCodec elementCodec) {
+        if (type == null || elementType == null || elementCodec == null || !ReflectionUtil.isArray(type)) {
+            throw new IllegalArgumentException();
+        }
+        this.type = type;
+        this.elementType = elementType;
+        this.elementCodec = elementCodec;
+        this.primitive = ReflectionUtil.isPrimitive(elementType);
+    }
+
+    @Override
+    public Type getType() {
+        return type;
+    }
+
+    public Type getElementType() {
+        return elementType;
+    }
+
+    public BinaryCodec getElementCodec() {
+        return elementCodec;
+    }
+
+    @Override
+    public void write(Object value, ByteBuffer out) {
+        int length = Array.getLength(value);
+        BinaryCodecs.writeVarint(length, out);
+        for (int i = 0; i < length; i++) {
+            if (primitive) {
+                elementCodec.write(Array.get(value, i), out);
+            } else {
+                BinaryCodecs.writeNullable(elementCodec, Array.get(value, i), out);
+            }
+        }
+    }
+
+    @Override
+    public Object read(ByteBuffer in) {
+        int length = BinaryCodecs.readSize(in, 1); //every element is at least a byte (or a null marker)
+        Object array = ReflectionUtil.instatiateArray(elementType, length);
+        for (int i = 0; i < length; i++) {
+            Array.set(array, i, primitive ? elementCodec.read(in) : BinaryCodecs.readNullable(elementCodec, in));
+        }
+        return array;
+    }
+
+    @Override
+    public String toString() {
+        return ReflectionUtil.prettyPrint(type) + " binary codec: [" + elementCodec + "]";
+    }
+}
@@ -0,0 +1,384 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.binary;
+
+import net.radai.beanz.api.BinaryCodec;
+import net.radai.beanz.api.Codec;
+import net.radai.beanz.util.ReflectionUtil;
+
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * the built-in binary codecs, and the encoding primitives they are made of:
+ * ints (and shorts, chars) are zigzag varints, longs and floating point values are written raw,
+ * strings are length-prefixed utf-8, enums are their ordinal, and containers are their size followed by
+ * their elements (each preceded by a null marker, unless the elements are primitives).
+ * types with no binary codec of their own fall back to their (text) codec, as length-prefixed utf-8.
+ */
+public final class BinaryCodecs {
+    public static final BinaryCodec BOOLEAN_CODEC = new Simple(Boolean.class) {
+        @Override
+        public void write(Object value, ByteBuffer out) {
+            out.put((byte) ((Boolean) value ? 1 : 0));
+        }
+
+        @Override
+        public Object read(ByteBuffer in) {
+            return in.get() != 0;
+        }
+    };
+    public static final BinaryCodec BYTE_CODEC = new Simple(Byte.class) {
+        @Override
+        public void write(Object value, ByteBuffer out) {
+            out.put((Byte) value);
+        }
+
+        @Override
+        public Object read(ByteBuffer in) {
+            return in.get();
+        }
+    };
+    public static final BinaryCodec SHORT_CODEC = new Simple(Short.class) {
+        @Override
+        public void write(Object value, ByteBuffer out) {
+            writeInt((Short) value, out);
+        }
+
+        @Override
+        public Object read(ByteBuffer in) {
+            return (short) readInt(in);
+        }
+    };
+    public static final BinaryCodec CHAR_CODEC = new Simple(Character.class) {
+        @Override
+        public void write(Object value, ByteBuffer out) {
+            writeVarint((Character) value, out);
+        }
+
+        @Override
+        public Object read(ByteBuffer in) {
+            return (char) readVarint(in);
+        }
+    };
+    public static final BinaryCodec INT_CODEC = new Simple(Integer.class) {
+        @Override
+        public void write(Object value, ByteBuffer out) {
+            writeInt((Integer) value, out);
+        }
+
+        @Override
+        public Object read(ByteBuffer in) {
+            return readInt(in);
+        }
+    };
+    public static final BinaryCodec LONG_CODEC = new Simple(Long.class) {
+        @Override
+        public void write(Object value, ByteBuffer out) {
+            out.putLong((Long) value);
+        }
+
+        @Override
+        public Object read(ByteBuffer in) {
+            return in.getLong();
+        }
+    };
+    public static final BinaryCodec FLOAT_CODEC = new Simple(Float.class) {
+        @Override
+        public void write(Object value, ByteBuffer out) {
+            out.putFloat((Float) value);
+        }
+
+        @Override
+        public Object read(ByteBuffer in) {
+            return in.getFloat();
+        }
+    };
+    public static final BinaryCodec DOUBLE_CODEC = new Simple(Double.class) {
+        @Override
+        public void write(Object value, ByteBuffer out) {
+            out.putDouble((Double) value);
+        }
+
+        @Override
+        public Object read(ByteBuffer in) {
+            return in.getDouble();
+        }
+    };
+    public static final BinaryCodec STRING_CODEC = new Simple(String.class) {
+        @Override
+        public void write(Object value, ByteBuffer out) {
+            writeString((String) value, out);
+        }
+
+        @Override
+        public Object read(ByteBuffer in) {
+            return readString(in);
+        }
+    };
+    public static final BinaryCodec DATE_CODEC = new Simple(Date.class) {
+        @Override
+        public void write(Object value, ByteBuffer out) {
+            out.putLong(((Date) value).getTime());
+        }
+
+        @Override
+        public Object read(ByteBuffer in) {
+            return new Date(in.getLong());
+        }
+    };
+
+    /**
+     * the built-in binary codecs, by type
+     */
+    public static final Map<Type, BinaryCodec> BUILT_INS;
+
+    static {
+        Map<Type, BinaryCodec> builtIns = new HashMap<>();
+        builtIns.put(boolean.class, BOOLEAN_CODEC);
+        builtIns.put(byte.class,    BYTE_CODEC);
+        builtIns.put(char.class,    CHAR_CODEC);
+        builtIns.put(short.class,   SHORT_CODEC);
+        builtIns.put(int.class,     INT_CODEC);
+        builtIns.put(long.class,    LONG_CODEC);
+        builtIns.put(float.class,   FLOAT_CODEC);
+        builtIns.put(double.class,  DOUBLE_CODEC);
+        //nulls are handled by the callers, so the wrappers can share the same codecs
+        builtIns.put(Boolean.class,   BOOLEAN_CODEC);
+        builtIns.put(Byte.class,      BYTE_CODEC);
+        builtIns.put(Character.class, CHAR_CODEC);
+        builtIns.put(Short.class,     SHORT_CODEC);
+        builtIns.put(Integer.class,   INT_CODEC);
+        builtIns.put(Long.class,      LONG_CODEC);
+        builtIns.put(Float.class,     FLOAT_CODEC);
+        builtIns.put(Double.class,    DOUBLE_CODEC);
+        builtIns.put(String.class,    STRING_CODEC);
+        builtIns.put(Date.class,      DATE_CODEC);
+        BUILT_INS = Collections.unmodifiableMap(builtIns);
+    }
+
+    private BinaryCodecs() {
+        //utility class
+    }
+
+    /**
+     * builds a binary codec for a type - a built-in (or given) one, an enum codec, a container codec
+     * (if there are codecs for its elements) or a fallback to the text codec of the type
+     * @param type type to build a codec for
+     * @param codecs binary codecs to use before the built-in ones (may be empty)
+     * @param textCodecs text codecs, by type, for types with no binary codec (say, those of a bean descriptor)
+     * @return a binary codec, or null if there's none for the type
+     */
+    public static BinaryCodec resolve(Type type, Map<Type, BinaryCodec> codecs, Function<Type, Codec> textCodecs) {
+        BinaryCodec codec = codecs.get(type);
+        if (codec == null) {
+            codec = BUILT_INS.get(type);
+        }
+        if (codec != null) {
+            return codec;
+        }
+        if (ReflectionUtil.isArray(type) || ReflectionUtil.isCollection(type)) {
+            Type elementType = ReflectionUtil.getElementType(type);
+            BinaryCodec elementCodec = resolve(elementType, codecs, textCodecs);
+            if (elementCodec == null) {
+                return null;
+            }
+            return ReflectionUtil.isArray(type)
+                    ? new ArrayBinaryCodec(type, elementType, elementCodec)
+                    : new CollectionBinaryCodec(type, elementCodec);
+        }
+        if (ReflectionUtil.isMap(type)) {
+            BinaryCodec keyCodec = resolve(ReflectionUtil.getKeyType(type), codecs, textCodecs);
+            BinaryCodec valueCodec = resolve(ReflectionUtil.getElementType(type), codecs, textCodecs);
+            if (keyCodec == null || valueCodec == null) {
+                return null;
+            }
+            return new MapBinaryCodec(type, keyCodec, valueCodec);
+        }
+        if (ReflectionUtil.isEnum(type)) {
+            return new EnumBinaryCodec(ReflectionUtil.erase(type));
+        }
+        Codec textCodec = textCodecs.apply(type);
+        return textCodec != null ? new TextBinaryCodec(textCodec) : null;
+    }
+
+    /**
+     * writes a value preceded by a marker byte that tells nulls apart
+     */
+    public static void writeNullable(BinaryCodec codec, Object value, ByteBuffer out) {
+        if (value == null) {
+            out.put((byte) 0);
+            return;
+        }
+        out.put((byte) 1);
+        codec.write(value, out);
+    }
+
+    public static Object readNullable(BinaryCodec codec, ByteBuffer in) {
+        return in.get() != 0 ? codec.read(in) : null;
+    }
+
+    /**
+     * writes an unsigned LEB128 varint - 7 bits per byte, least significant 1st
+     */
+    public static void writeVarint(int value, ByteBuffer out) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    public static int readVarint(ByteBuffer in) {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            result |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("malformed varint");
+    }
+
+    /**
+     * reads the size prefix of a container (or string), checking it against what is left of the buffer
+     * so that a corrupt (or hostile) size does not make us allocate huge containers
+     * @param minElementSize the least number of bytes every element takes on the wire
+     * @throws IllegalArgumentException if there arent enough bytes left for that many elements
+     */
+    public static int readSize(ByteBuffer in, int minElementSize) {
+        int size = readVarint(in);
+        if (size < 0 || (long) size * minElementSize > in.remaining()) {
+            throw new IllegalArgumentException("size " + size + " exceeds the " + in.remaining() + " remaining bytes");
+        }
+        return size;
+    }
+
+    /**
+     * writes a zigzag encoded varint, so that small negative values are short too
+     */
+    public static void writeInt(int value, ByteBuffer out) {
+        writeVarint((value << 1) ^ (value >> 31), out);
+    }
+
+    public static int readInt(ByteBuffer in) {
+        int zigzag = readVarint(in);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    /**
+     * writes the utf-8 encoded length of a string, followed by the utf-8 encoded string itself
+     */
+    public static void writeString(String s, ByteBuffer out) {
+        int length = s.length();
+        int encodedLength = 0;
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                encodedLength++;
+            } else if (c < 0x800) {
+                encodedLength += 2;
+            } else if (isSurrogatePair(s, i)) {
+                encodedLength += 4;
+                i++;
+            } else {
+                encodedLength += Character.isSurrogate(c) ? 1 : 3; //lone surrogates become '?', like in the jdk
+            }
+        }
+        writeVarint(encodedLength, out);
+        if (encodedLength == length) {
+            for (int i = 0; i < length; i++) {
+                out.put((byte) s.charAt(i)); //all ascii
+            }
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                out.put((byte) c);
+            } else if (c < 0x800) {
+                out.put((byte) (0xC0 | (c >> 6)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            } else if (isSurrogatePair(s, i)) {
+                int codePoint = Character.toCodePoint(c, s.charAt(++i));
+                out.put((byte) (0xF0 | (codePoint >> 18)));
+                out.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                out.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                out.put((byte) '?');
+            } else {
+                out.put((byte) (0xE0 | (c >> 12)));
+                out.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    public static String readString(ByteBuffer in) {
+        int length = readSize(in, 1);
+        if (in.hasArray()) {
+            String s = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+            return s;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isSurrogatePair(String s, int i) {
+        return Character.isHighSurrogate(s.charAt(i)) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1));
+    }
+
+    /**
+     * base class for codecs of a single, fixed, class
+     */
+    private abstract static class Simple implements BinaryCodec {
+        private final Class<?> type;
+
+        private Simple(Class<?> type) {
+            this.type = type;
+        }
+
+        @Override
+        public Type getType() {
+            return type;
+        }
+
+        @Override
+        public String toString() {
+            return type.getSimpleName() + " binary codec: built-in";
+        }
+    }
+}
@@ -0,0 +1,380 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.binary;
+
+import net.radai.beanz.api.BeanAccessor;
+import net.radai.beanz.api.BeanDescriptor;
+import net.radai.beanz.api.BinaryCodec;
+import net.radai.beanz.api.PropertyDescriptor;
+import net.radai.beanz.util.ReflectionUtil;
+
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * writes beans into (and reads them back out of) ByteBuffers. every property that is both readable and writable
+ * and has a binary codec is written, in ordinal order, with no names or tags - so data is only readable by a
+ * serializer of the same class (with the same properties). int, long, double and boolean properties are written
+ * without boxing or null markers. the layout is described by a {@link Schema} - payloads written with a header
+ * (the fingerprint of the schema) can be read by serializers of different versions of the bean, which map the
+ * properties they have in common by name (and encoding) and skip the rest. enum properties are mapped by constant
+ * name even if the constants differ, with remote constants that dont exist locally read as null. serializers are
+ * thread safe.
+ * @param <T> bean class
+ */
+public final class BinarySerializer<T> {
+    private static final int OBJECT = 0;
+    private static final int INT = 1;
+    private static final int LONG = 2;
+    private static final int DOUBLE = 3;
+    private static final int BOOLEAN = 4;
+
+    private final BeanDescriptor descriptor;
+    private final BeanAccessor accessor;
+    private final PropertyDescriptor[] properties;
+    private final int[] ordinals;
+    private final BinaryCodec[] codecs;
+    private final int[] kinds;
+    private final List<String> propNames;
+    private final Schema schema;
+    private final ConcurrentMap<Long, Plan> plans = new ConcurrentHashMap<>(); //by remote fingerprint
+
+    public BinarySerializer(BeanDescriptor descriptor) {
+        this(descriptor, Collections.emptyMap());
+    }
+
+    /**
+     * @param descriptor bean class
+     * @param codecs binary codecs to use instead of the built-in ones, by type
+     */
+    public BinarySerializer(BeanDescriptor descriptor, Map<Type, BinaryCodec> codecs) {
+        if (descriptor == null || codecs == null) {
+            throw new IllegalArgumentException();
+        }
+        this.descriptor = descriptor;
+        this.accessor = descriptor.getAccessor();
+        List<PropertyDescriptor> properties = new ArrayList<>();
+        List<BinaryCodec> binaryCodecs = new ArrayList<>();
+        for (int i = 0; i < accessor.size(); i++) {
+            PropertyDescriptor property = accessor.getProperty(i);
+            if (!property.isReadable() || !property.isWritable()) {
+                continue;
+            }
+            BinaryCodec codec = BinaryCodecs.resolve(property.getValueType(), codecs, descriptor::getCodec);
+            if (codec != null) {
+                properties.add(property);
+                binaryCodecs.add(codec);
+            }
+        }
+        int size = properties.size();
+        this.properties = properties.toArray(new PropertyDescriptor[size]);
+        this.codecs = binaryCodecs.toArray(new BinaryCodec[size]);
+        this.ordinals = new int[size];
+        this.kinds = new int[size];
+        List<String> propNames = new ArrayList<>(size);
+        List<String> encodings = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ordinals[i] = accessor.indexOf(this.properties[i].getName());
+            kinds[i] = kindOf(this.properties[i].getValueType(), this.codecs[i]);
+            propNames.add(this.properties[i].getName());
+            encodings.add(Schema.describe(this.codecs[i]) + (kinds[i] != OBJECT ? "!" : ""));
+        }
+        this.propNames = Collections.unmodifiableList(propNames);
+        this.schema = new Schema(propNames, encodings);
+    }
+
+    public BeanDescriptor getDescriptor() {
+        return descriptor;
+    }
+
+    /**
+     * @return names of the serialized properties, in the order they are written
+     */
+    public List<String> getPropertyNames() {
+        return propNames;
+    }
+
+    /**
+     * @return the layout of the beans this serializer writes
+     */
+    public Schema getSchema() {
+        return schema;
+    }
+
+    /**
+     * writes a bean at the position of the buffer, advancing it
+     * @throws java.nio.BufferOverflowException if the bean doesnt fit (the buffer is then left mid-bean)
+     */
+    public void write(T bean, ByteBuffer out) {
+        if (bean == null || out == null) {
+            throw new IllegalArgumentException();
+        }
+        for (int i = 0; i < properties.length; i++) {
+            switch (kinds[i]) {
+                case INT:
+                    BinaryCodecs.writeInt(properties[i].getInt(bean), out);
+                    break;
+                case LONG:
+                    out.putLong(properties[i].getLong(bean));
+                    break;
+                case DOUBLE:
+                    out.putDouble(properties[i].getDouble(bean));
+                    break;
+                case BOOLEAN:
+                    out.put((byte) (properties[i].getBoolean(bean) ? 1 : 0));
+                    break;
+                default:
+                    BinaryCodecs.writeNullable(codecs[i], accessor.get(bean, ordinals[i]), out);
+            }
+        }
+    }
+
+    /**
+     * reads a new bean from the position of the buffer, advancing it
+     */
+    public T read(ByteBuffer in) {
+        T bean = newInstance();
+        readInto(in, bean);
+        return bean;
+    }
+
+    /**
+     * reads into an existing bean from the position of the buffer, advancing it
+     */
+    public void readInto(ByteBuffer in, T bean) {
+        if (in == null || bean == null) {
+            throw new IllegalArgumentException();
+        }
+        for (int i = 0; i < properties.length; i++) {
+            readProperty(in, bean, i);
+        }
+    }
+
+    /**
+     * writes the fingerprint of this serializer's schema, followed by the bean
+     */
+    public void writeWithHeader(T bean, ByteBuffer out) {
+        if (bean == null || out == null) {
+            throw new IllegalArgumentException();
+        }
+        out.putLong(schema.getFingerprint());
+        write(bean, out);
+    }
+
+    /**
+     * reads a new bean written (by any version of the bean class) with {@link #writeWithHeader(Object, ByteBuffer)}
+     * @param in buffer to read from
+     * @param registry where to look up schemas other than this serializer's own
+     * @return a new bean
+     * @throws IllegalStateException if the payload was written with a schema the registry doesnt know
+     */
+    public T readWithHeader(ByteBuffer in, SchemaRegistry registry) {
+        T bean = newInstance();
+        readIntoWithHeader(in, bean, registry);
+        return bean;
+    }
+
+    /**
+     * reads into an existing bean written with {@link #writeWithHeader(Object, ByteBuffer)}
+     * @see #readInto(ByteBuffer, Object, Schema)
+     */
+    public void readIntoWithHeader(ByteBuffer in, T bean, SchemaRegistry registry) {
+        if (in == null || bean == null || registry == null) {
+            throw new IllegalArgumentException();
+        }
+        long fingerprint = in.getLong();
+        if (fingerprint == schema.getFingerprint()) {
+            readInto(in, bean);
+            return;
+        }
+        Plan plan = plans.get(fingerprint);
+        if (plan == null) {
+            Schema remote = registry.get(fingerprint);
+            if (remote == null) {
+                throw new IllegalStateException("unknown schema " + String.format("%016x", fingerprint));
+            }
+            plan = plans.computeIfAbsent(fingerprint, f -> new Plan(remote));
+        }
+        plan.readInto(in, bean);
+    }
+
+    /**
+     * reads into an existing bean written according to some (other) schema. properties that are not in both
+     * schemas (with the same encoding) are left as-is, and a null value read into a primitive property is ignored
+     */
+    public void readInto(ByteBuffer in, T bean, Schema remote) {
+        if (in == null || bean == null || remote == null) {
+            throw new IllegalArgumentException();
+        }
+        if (remote.equals(schema)) {
+            readInto(in, bean);
+            return;
+        }
+        plans.computeIfAbsent(remote.getFingerprint(), f -> new Plan(remote)).readInto(in, bean);
+    }
+
+    private void readProperty(ByteBuffer in, T bean, int i) {
+        switch (kinds[i]) {
+            case INT:
+                properties[i].setInt(bean, BinaryCodecs.readInt(in));
+                break;
+            case LONG:
+                properties[i].setLong(bean, in.getLong());
+                break;
+            case DOUBLE:
+                properties[i].setDouble(bean, in.getDouble());
+                break;
+            case BOOLEAN:
+                properties[i].setBoolean(bean, in.get() != 0);
+                break;
+            default:
+                accessor.set(bean, ordinals[i], BinaryCodecs.readNullable(codecs[i], in));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "binary serializer of " + descriptor + " " + propNames;
+    }
+
+    private static int kindOf(Type type, BinaryCodec codec) {
+        if (type == int.class && codec == BinaryCodecs.INT_CODEC) {
+            return INT;
+        }
+        if (type == long.class && codec == BinaryCodecs.LONG_CODEC) {
+            return LONG;
+        }
+        if (type == double.class && codec == BinaryCodecs.DOUBLE_CODEC) {
+            return DOUBLE;
+        }
+        if (type == boolean.class && codec == BinaryCodecs.BOOLEAN_CODEC) {
+            return BOOLEAN;
+        }
+        return OBJECT;
+    }
+
+    /**
+     * how to read payloads of a remote schema - for each remote property, the local property it goes into,
+     * or how to skip over it
+     */
+    private final class Plan {
+        private final int[] targets; //local property index, -1 to skip
+        private final boolean[] markers; //whether the remote property has a null marker
+        private final Schema.Skipper[] skippers;
+        private final Object[][] enums; //remote ordinal to local constant (or null), for enums that differ
+
+        private Plan(Schema remote) {
+            Map<String, Integer> local = new HashMap<>();
+            for (int i = 0; i < properties.length; i++) {
+                local.put(propNames.get(i), i);
+            }
+            int size = remote.size();
+            targets = new int[size];
+            markers = new boolean[size];
+            skippers = new Schema.Skipper[size];
+            enums = new Object[size][];
+            for (int r = 0; r < size; r++) {
+                String remoteEncoding = remote.getEncodings().get(r);
+                Integer i = local.get(remote.getNames().get(r));
+                markers[r] = !remoteEncoding.endsWith("!");
+                targets[r] = -1;
+                if (i != null && stripMarker(schema.getEncodings().get(i)).equals(stripMarker(remoteEncoding))) {
+                    targets[r] = i;
+                } else if (i != null && codecs[i] instanceof EnumBinaryCodec && remoteEncoding.startsWith("enum{")) {
+                    targets[r] = i;
+                    enums[r] = mapConstants(codecs[i], stripMarker(remoteEncoding));
+                } else {
+                    skippers[r] = Schema.skipper(remoteEncoding);
+                }
+            }
+        }
+
+        private void readInto(ByteBuffer in, T bean) {
+            for (int r = 0; r < targets.length; r++) {
+                int i = targets[r];
+                if (i < 0) {
+                    skippers[r].skip(in);
+                    continue;
+                }
+                if (enums[r] != null) {
+                    accessor.set(bean, ordinals[i], !markers[r] || in.get() != 0 ? readConstant(in, enums[r]) : null);
+                } else if (kinds[i] == OBJECT && markers[r]) {
+                    accessor.set(bean, ordinals[i], BinaryCodecs.readNullable(codecs[i], in));
+                } else if (kinds[i] == OBJECT) {
+                    accessor.set(bean, ordinals[i], codecs[i].read(in));
+                } else if (!markers[r] || in.get() != 0) {
+                    readProperty(in, bean, i);
+                }
+            }
+        }
+
+        /**
+         * matches remote enum constants to local ones by name. remote constants that dont exist locally read as null
+         */
+        private Object[] mapConstants(BinaryCodec codec, String remoteEncoding) {
+            Map<String, Object> byName = new HashMap<>();
+            for (Object constant : ReflectionUtil.erase(codec.getType()).getEnumConstants()) {
+                byName.put(((Enum<?>) constant).name(), constant);
+            }
+            String names = remoteEncoding.substring("enum{".length(), remoteEncoding.length() - 1);
+            String[] remoteNames = names.isEmpty() ? new String[0] : names.split(",");
+            Object[] constants = new Object[remoteNames.length];
+            for (int j = 0; j < remoteNames.length; j++) {
+                constants[j] = byName.get(remoteNames[j]);
+            }
+            return constants;
+        }
+
+        private Object readConstant(ByteBuffer in, Object[] constants) {
+            int ordinal = BinaryCodecs.readVarint(in);
+            if (ordinal < 0 || ordinal >= constants.length) {
+                throw new IllegalArgumentException("no remote enum constant with ordinal " + ordinal);
+            }
+            return constants[ordinal];
+        }
+
+        private String stripMarker(String encoding) {
+            return encoding.endsWith("!") ? encoding.substring(0, encoding.length() - 1) : encoding;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T newInstance() {
+        Class<?> beanClass = descriptor.getBeanClass();
+        try {
+            return (T) beanClass.newInstance();
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new IllegalArgumentException("unable to instantiate class " + beanClass, e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.binary;
+
+import net.radai.beanz.api.BinaryCodec;
+import net.radai.beanz.util.ReflectionUtil;
+
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+
+/**
+ * a collection is its size followed by its elements (in iteration order)
+ */
+public class CollectionBinaryCodec implements BinaryCodec {
+    private final Type type;
+    private final Class<?> collectionClass;
+    private final BinaryCodec elementCodec;
+
+    public CollectionBinaryCodec(Type type, BinaryCodec elementCodec) {
+        if (type == null || elementCodec == null || !ReflectionUtil.isCollection(type)) {
+            throw new IllegalArgumentException();
+        }
+        this.type = type;
+        this.collectionClass = ReflectionUtil.erase(type);
+        this.elementCodec = elementCodec;
+    }
+
+    @Override
+    public Type getType() {
+        return type;
+    }
+
+    public BinaryCodec getElementCodec() {
+        return elementCodec;
+    }
+
+    @Override
+    public void write(Object value, ByteBuffer out) {
+        Collection<?> collection = (Collection<?>) value;
+        BinaryCodecs.writeVarint(collection.size(), out);
+        for (Object element : collection) {
+            BinaryCodecs.writeNullable(elementCodec, element, out);
+        }
+    }
+
+    @Override
+    public Object read(ByteBuffer in) {
+        int size = BinaryCodecs.readSize(in, 1); //a null marker per element
+        @SuppressWarnings("unchecked")
+        Collection<Object> collection = (Collection<Object>) ReflectionUtil.instantiateCollection(collectionClass, size);
+        for (int i = 0; i < size; i++) {
+            collection.add(BinaryCodecs.readNullable(elementCodec, in));
+        }
+        return collection;
+    }
+
+    @Override
+    public String toString() {
+        return ReflectionUtil.prettyPrint(type) + " binary codec: [" + elementCodec + "]";
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.binary;
+
+import net.radai.beanz.api.BinaryCodec;
+
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+
+/**
+ * an enum value is its ordinal (so reordering the constants of an enum breaks previously written data)
+ */
+public class EnumBinaryCodec implements BinaryCodec {
+    private final Class<?> enumClass;
+    private final Object[] values;
+
+    public EnumBinaryCodec(Class<?> enumClass) {
+        if (enumClass == null || !enumClass.isEnum()) {
+            throw new IllegalArgumentException();
+        }
+        this.enumClass = enumClass;
+        this.values = enumClass.getEnumConstants();
+    }
+
+    @Override
+    public Type getType() {
+        return enumClass;
+    }
+
+    @Override
+    public void write(Object value, ByteBuffer out) {
+        BinaryCodecs.writeVarint(((Enum<?>) value).ordinal(), out);
+    }
+
+    @Override
+    public Object read(ByteBuffer in) {
+        int ordinal = BinaryCodecs.readVarint(in);
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new IllegalArgumentException("no " + enumClass.getSimpleName() + " with ordinal " + ordinal);
+        }
+        return values[ordinal];
+    }
+
+    @Override
+    public String toString() {
+        return enumClass.getSimpleName() + " binary codec: ordinal";
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.binary;
+
+import net.radai.beanz.api.BinaryCodec;
+import net.radai.beanz.util.ReflectionUtil;
+
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * a map is its size followed by its entries (in iteration order), each a key followed by a value
+ */
+public class MapBinaryCodec implements BinaryCodec {
+    private final Type type;
+    private final Class<?> mapClass;
+    private final BinaryCodec keyCodec;
+    private final BinaryCodec valueCodec;
+
+    public MapBinaryCodec(Type type, BinaryCodec keyCodec, BinaryCodec valueCodec) {
+        if (type == null || keyCodec == null || valueCodec == null || !ReflectionUtil.isMap(type)) {
+            throw new IllegalArgumentException();
+        }
+        this.type = type;
+        this.mapClass = ReflectionUtil.erase(type);
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+    }
+
+    @Override
+    public Type getType() {
+        return type;
+    }
+
+    public BinaryCodec getKeyCodec() {
+        return keyCodec;
+    }
+
+    public BinaryCodec getValueCodec() {
+        return valueCodec;
+    }
+
+    @Override
+    public void write(Object value, ByteBuffer out) {
+        Map<?, ?> map = (Map<?, ?>) value;
+        BinaryCodecs.writeVarint(map.size(), out);
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            BinaryCodecs.writeNullable(keyCodec, entry.getKey(), out);
+            BinaryCodecs.writeNullable(valueCodec, entry.getValue(), out);
+        }
+    }
+
+    @Override
+    public Object read(ByteBuffer in) {
+        int size = BinaryCodecs.readSize(in, 2); //null markers for the key and value
+        @SuppressWarnings("unchecked")
+        Map<Object, Object> map = (Map<Object, Object>) ReflectionUtil.instantiateMap(mapClass, size);
+        for (int i = 0; i < size; i++) {
+            Object key = BinaryCodecs.readNullable(keyCodec, in);
+            map.put(key, BinaryCodecs.readNullable(valueCodec, in));
+        }
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return ReflectionUtil.prettyPrint(type) + " binary codec: {" + keyCodec + "=" + valueCodec + "}";
+    }
+}
@@ -0,0 +1,318 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.binary;
+
+import net.radai.beanz.api.BeanDescriptor;
+import net.radai.beanz.api.BinaryCodec;
+import net.radai.beanz.api.Codec;
+import net.radai.beanz.util.ReflectionUtil;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * the layout of binary serialized beans - the name and encoding of every property, in the order they are written.
+ * encodings are self-describing strings ("int", "string", "collection&lt;long&gt;", "enum{RED,GREEN}" etc, with a
+ * trailing '!' for values written without a null marker, and text encoded values naming their codec), so a schema received from another node is enough to
+ * skip over properties the local bean doesnt have. the fingerprint is a 64 bit FNV-1a hash of the names and
+ * encodings, and so is the same in every jvm (and build) that serializes the same layout.
+ */
+public final class Schema {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final Map<BinaryCodec, String> BUILT_IN_ENCODINGS = new IdentityHashMap<>();
+    private static final Map<String, Integer> FIXED_SIZES = new HashMap<>();
+
+    static {
+        BUILT_IN_ENCODINGS.put(BinaryCodecs.BOOLEAN_CODEC, "boolean");
+        BUILT_IN_ENCODINGS.put(BinaryCodecs.BYTE_CODEC, "byte");
+        BUILT_IN_ENCODINGS.put(BinaryCodecs.SHORT_CODEC, "short");
+        BUILT_IN_ENCODINGS.put(BinaryCodecs.CHAR_CODEC, "char");
+        BUILT_IN_ENCODINGS.put(BinaryCodecs.INT_CODEC, "int");
+        BUILT_IN_ENCODINGS.put(BinaryCodecs.LONG_CODEC, "long");
+        BUILT_IN_ENCODINGS.put(BinaryCodecs.FLOAT_CODEC, "float");
+        BUILT_IN_ENCODINGS.put(BinaryCodecs.DOUBLE_CODEC, "double");
+        BUILT_IN_ENCODINGS.put(BinaryCodecs.STRING_CODEC, "string");
+        BUILT_IN_ENCODINGS.put(BinaryCodecs.DATE_CODEC, "date");
+        FIXED_SIZES.put("boolean", 1);
+        FIXED_SIZES.put("byte", 1);
+        FIXED_SIZES.put("long", 8);
+        FIXED_SIZES.put("float", 4);
+        FIXED_SIZES.put("double", 8);
+        FIXED_SIZES.put("date", 8);
+    }
+
+    private final List<String> names;
+    private final List<String> encodings;
+    private final long fingerprint;
+
+    public Schema(List<String> names, List<String> encodings) {
+        if (names == null || encodings == null || names.size() != encodings.size()) {
+            throw new IllegalArgumentException();
+        }
+        this.names = Collections.unmodifiableList(new ArrayList<>(names));
+        this.encodings = Collections.unmodifiableList(new ArrayList<>(encodings));
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < names.size(); i++) {
+            hash = hash(hash, names.get(i));
+            hash = hash(hash, encodings.get(i));
+        }
+        this.fingerprint = hash;
+    }
+
+    /**
+     * @return the schema of beans serialized (with the built-in codecs) according to the given descriptor
+     */
+    public static Schema of(BeanDescriptor descriptor) {
+        return new BinarySerializer<>(descriptor).getSchema();
+    }
+
+    public List<String> getNames() {
+        return names;
+    }
+
+    public List<String> getEncodings() {
+        return encodings;
+    }
+
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    /**
+     * writes this schema (so that it can be sent to whoever needs to read beans written according to it)
+     */
+    public void write(ByteBuffer out) {
+        BinaryCodecs.writeVarint(names.size(), out);
+        for (int i = 0; i < names.size(); i++) {
+            BinaryCodecs.writeString(names.get(i), out);
+            BinaryCodecs.writeString(encodings.get(i), out);
+        }
+    }
+
+    public static Schema read(ByteBuffer in) {
+        int size = BinaryCodecs.readSize(in, 2); //a name and an encoding, at least a byte each
+        List<String> names = new ArrayList<>(size);
+        List<String> encodings = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            names.add(BinaryCodecs.readString(in));
+            encodings.add(BinaryCodecs.readString(in));
+        }
+        return new Schema(names, encodings);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Schema schema = (Schema) o;
+        return fingerprint == schema.fingerprint && names.equals(schema.names) && encodings.equals(schema.encodings);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(String.format("%016x", fingerprint)).append(" {");
+        for (int i = 0; i < names.size(); i++) {
+            sb.append(i > 0 ? ", " : "").append(names.get(i)).append(": ").append(encodings.get(i));
+        }
+        return sb.append("}").toString();
+    }
+
+    /**
+     * @return the encoding of values written by the given codec
+     */
+    static String describe(BinaryCodec codec) {
+        String builtIn = BUILT_IN_ENCODINGS.get(codec);
+        if (builtIn != null) {
+            return builtIn;
+        }
+        if (codec instanceof ArrayBinaryCodec) {
+            ArrayBinaryCodec arrayCodec = (ArrayBinaryCodec) codec;
+            boolean primitive = ReflectionUtil.isPrimitive(arrayCodec.getElementType());
+            return "array<" + describe(arrayCodec.getElementCodec()) + (primitive ? "!" : "") + ">";
+        }
+        if (codec instanceof CollectionBinaryCodec) {
+            return "collection<" + describe(((CollectionBinaryCodec) codec).getElementCodec()) + ">";
+        }
+        if (codec instanceof MapBinaryCodec) {
+            MapBinaryCodec mapCodec = (MapBinaryCodec) codec;
+            return "map<" + describe(mapCodec.getKeyCodec()) + "," + describe(mapCodec.getValueCodec()) + ">";
+        }
+        if (codec instanceof EnumBinaryCodec) {
+            StringBuilder sb = new StringBuilder("enum{");
+            Object[] constants = ReflectionUtil.erase(codec.getType()).getEnumConstants();
+            for (int i = 0; i < constants.length; i++) {
+                sb.append(i > 0 ? "," : "").append(((Enum<?>) constants[i]).name());
+            }
+            return sb.append("}").toString();
+        }
+        if (codec instanceof TextBinaryCodec) {
+            return "text(" + codec.getType().getTypeName() + ";" + describeText(((TextBinaryCodec) codec).getCodec()) + ")";
+        }
+        return "custom(" + codec.getClass().getName() + ")";
+    }
+
+    /**
+     * @return what a text codec writes - its description if it has one (codecs describe their format in
+     * toString()), otherwise its class. parentheses are swapped for brackets so encodings stay parseable
+     */
+    private static String describeText(Codec codec) {
+        String description;
+        try {
+            boolean described = codec.getClass().getMethod("toString").getDeclaringClass() != Object.class;
+            description = described ? codec.toString() : codec.getClass().getName();
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e); //cant happen
+        }
+        return description.replace('(', '[').replace(')', ']');
+    }
+
+    /**
+     * something that can skip over values of some encoding
+     */
+    interface Skipper {
+        void skip(ByteBuffer in);
+    }
+
+    /**
+     * @param encoding encoding of a top level value (or element)
+     * @return a skipper for values of that encoding (including their null markers, if they have any)
+     * @throws IllegalArgumentException if the encoding cant be skipped over (say, that of a custom codec)
+     */
+    static Skipper skipper(String encoding) {
+        int[] position = {0};
+        Skipper skipper = parse(encoding, position);
+        if (position[0] != encoding.length()) {
+            throw new IllegalArgumentException("malformed encoding " + encoding);
+        }
+        return skipper;
+    }
+
+    private static Skipper parse(String encoding, int[] position) {
+        int start = position[0];
+        int i = start;
+        while (i < encoding.length() && Character.isLetter(encoding.charAt(i))) {
+            i++;
+        }
+        String name = encoding.substring(start, i);
+        Skipper value;
+        if (name.equals("array") || name.equals("collection") || name.equals("map")) {
+            position[0] = expect(encoding, i, '<');
+            Skipper element = parse(encoding, position);
+            Skipper mapValue = null;
+            if (name.equals("map")) {
+                position[0] = expect(encoding, position[0], ',');
+                mapValue = parse(encoding, position);
+            }
+            i = expect(encoding, position[0], '>');
+            Skipper entryValue = mapValue;
+            value = in -> {
+                int size = BinaryCodecs.readVarint(in);
+                for (int j = 0; j < size; j++) {
+                    element.skip(in);
+                    if (entryValue != null) {
+                        entryValue.skip(in);
+                    }
+                }
+            };
+        } else if (name.equals("enum") || name.equals("text") || name.equals("custom")) {
+            char open = name.equals("enum") ? '{' : '(';
+            char close = name.equals("enum") ? '}' : ')';
+            i = expect(encoding, i, open);
+            int depth = 1;
+            while (i < encoding.length() && depth > 0) {
+                char c = encoding.charAt(i++);
+                depth += c == open ? 1 : c == close ? -1 : 0;
+            }
+            if (depth > 0) {
+                throw new IllegalArgumentException("malformed encoding " + encoding);
+            }
+            if (name.equals("custom")) {
+                throw new IllegalArgumentException("values encoded by " + encoding.substring(start, i) + " cant be skipped");
+            }
+            value = name.equals("enum") ? BinaryCodecs::readVarint : in -> {
+                int length = BinaryCodecs.readVarint(in);
+                in.position(in.position() + length);
+            };
+        } else if (FIXED_SIZES.containsKey(name)) {
+            int size = FIXED_SIZES.get(name);
+            value = in -> in.position(in.position() + size);
+        } else if (name.equals("short") || name.equals("char") || name.equals("int")) {
+            value = BinaryCodecs::readVarint;
+        } else if (name.equals("string")) {
+            value = in -> {
+                int length = BinaryCodecs.readVarint(in);
+                in.position(in.position() + length);
+            };
+        } else {
+            throw new IllegalArgumentException("unknown encoding " + encoding.substring(start));
+        }
+        if (i < encoding.length() && encoding.charAt(i) == '!') {
+            position[0] = i + 1;
+            return value; //no null marker
+        }
+        position[0] = i;
+        return in -> {
+            if (in.get() != 0) {
+                value.skip(in);
+            }
+        };
+    }
+
+    private static int expect(String encoding, int i, char c) {
+        if (i >= encoding.length() || encoding.charAt(i) != c) {
+            throw new IllegalArgumentException("malformed encoding " + encoding);
+        }
+        return i + 1;
+    }
+
+    private static long hash(long hash, String s) {
+        for (byte b : s.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= FNV_PRIME;
+        }
+        return hash * FNV_PRIME; //hash a 0 separator, so that ("ab", "c") and ("a", "bc") differ
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.binary;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * schemas by fingerprint, so that payloads only need to carry the fingerprint of the schema they were written with.
+ * how schemas get here (shipped along with the 1st payload, fetched from a central service...) is up to the caller.
+ * thread safe.
+ */
+public class SchemaRegistry {
+    private final ConcurrentMap<Long, Schema> schemas = new ConcurrentHashMap<>();
+
+    /**
+     * @param schema schema to register
+     * @return the fingerprint of the schema
+     * @throws IllegalStateException if a different schema with the same fingerprint has already been registered
+     */
+    public long register(Schema schema) {
+        if (schema == null) {
+            throw new IllegalArgumentException();
+        }
+        Schema existing = schemas.putIfAbsent(schema.getFingerprint(), schema);
+        if (existing != null && !existing.equals(schema)) {
+            throw new IllegalStateException("fingerprint collision between " + existing + " and " + schema);
+        }
+        return schema.getFingerprint();
+    }
+
+    /**
+     * @return the schema with the given fingerprint, or null if there's no such schema
+     */
+    public Schema get(long fingerprint) {
+        return schemas.get(fingerprint);
+    }
+
+    public int size() {
+        return schemas.size();
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.binary;
+
+import net.radai.beanz.api.BinaryCodec;
+import net.radai.beanz.api.Codec;
+
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+
+/**
+ * adapts a (text) codec - values are written as their length-prefixed, utf-8 encoded, text form
+ */
+public class TextBinaryCodec implements BinaryCodec {
+    private final Codec codec;
+
+    public TextBinaryCodec(Codec codec) {
+        if (codec == null) {
+            throw new IllegalArgumentException();
+        }
+        this.codec = codec;
+    }
+
+    @Override
+    public Type getType() {
+        return codec.getType();
+    }
+
+    public Codec getCodec() {
+        return codec;
+    }
+
+    @Override
+    public void write(Object value, ByteBuffer out) {
+        BinaryCodecs.writeString(codec.encode(value), out);
+    }
+
+    @Override
+    public Object read(ByteBuffer in) {
+        return codec.decode(BinaryCodecs.readString(in));
+    }
+
+    @Override
+    public String toString() {
+        return "binary codec over " + codec;
+    }
+}
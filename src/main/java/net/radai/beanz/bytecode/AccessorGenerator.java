@@ -0,0 +1,404 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.bytecode;
+
+import net.radai.beanz.api.BeanAccessor;
+import net.radai.beanz.api.BeanDescriptor;
+import net.radai.beanz.api.FieldAccessMode;
+import net.radai.beanz.api.PropertyDescriptor;
+import net.radai.beanz.properties.Accessors;
+import net.radai.beanz.properties.CompositePropertyDescriptor;
+import net.radai.beanz.properties.DescriptorBeanAccessor;
+import net.radai.beanz.properties.FieldPropertyDescriptor;
+import net.radai.beanz.properties.MethodPropertyDescriptor;
+import net.radai.beanz.util.ReflectionUtil;
+import org.apache.commons.lang3.ClassUtils;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * generates a single accessor class per bean class, whose get/set methods are a tableswitch
+ * (on property index) over direct getter/setter/field bytecode. this keeps generic code
+ * that iterates over properties of many bean classes down to a single call site.
+ * <br>
+ * generated classes live in their own classloaders and so can only reach public members of
+ * public classes. anything else is handled by delegating to the property descriptors - and so are beans
+ * and values of the wrong type, so that generated accessors fail exactly like the descriptors do.
+ */
+public class AccessorGenerator {
+    private static final String PACKAGE = "net.radai.beanz.bytecode.generated.";
+    private static final String BASE_CLASS = Type.getInternalName(DescriptorBeanAccessor.class);
+    private static final String CONSTRUCTOR_DESC = Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(BeanDescriptor.class), Type.getType(PropertyDescriptor[].class));
+    private static final String GET_DESC = Type.getMethodDescriptor(Type.getType(Object.class), Type.getType(Object.class), Type.INT_TYPE);
+    private static final String SET_DESC = Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(Object.class), Type.INT_TYPE, Type.getType(Object.class));
+    private static final String ACCESSORS = Type.getInternalName(Accessors.class);
+    private static final String FAILURE_DESC = Type.getMethodDescriptor(Type.getType(RuntimeException.class), Type.getType(Throwable.class));
+    private static final AtomicLong COUNTER = new AtomicLong();
+
+    public static BeanAccessor generate(BeanDescriptor beanDescriptor) {
+        PropertyDescriptor[] properties = beanDescriptor.getProperties().values().toArray(new PropertyDescriptor[0]);
+        Member[] readers = new Member[properties.length];
+        Member[] writers = new Member[properties.length];
+        boolean anyDirect = false;
+        for (int i = 0; i < properties.length; i++) {
+            readers[i] = directReader(properties[i]);
+            writers[i] = directWriter(properties[i]);
+            anyDirect |= readers[i] != null || writers[i] != null;
+        }
+        if (!anyDirect) {
+            //nothing to gain
+            return new DescriptorBeanAccessor(beanDescriptor, properties);
+        }
+        Class<?> beanClass = beanDescriptor.getBeanClass();
+        String className = PACKAGE + beanClass.getSimpleName() + "$$Accessor" + COUNTER.incrementAndGet();
+        try {
+            byte[] bytes = generateClass(className.replace('.', '/'), readers, writers);
+            Class<?> accessorClass = new GeneratedClassLoader(beanClass.getClassLoader()).define(className, bytes);
+            return (BeanAccessor) accessorClass
+                    .getConstructor(BeanDescriptor.class, PropertyDescriptor[].class)
+                    .newInstance(beanDescriptor, properties);
+        } catch (ReflectiveOperationException | LinkageError | SecurityException e) {
+            //TODO - log a warning
+            return new DescriptorBeanAccessor(beanDescriptor, properties);
+        }
+    }
+
+    private static Member directReader(PropertyDescriptor property) {
+        if (property instanceof MethodPropertyDescriptor) {
+            Method getter = ((MethodPropertyDescriptor) property).getGetter();
+            return getter != null && isReachable(getter) ? getter : null;
+        }
+        if (property instanceof FieldPropertyDescriptor) {
+            FieldPropertyDescriptor fieldProperty = (FieldPropertyDescriptor) property;
+            Field field = fieldProperty.getField();
+            return fieldProperty.getAccessMode() == FieldAccessMode.PLAIN && isReachable(field) ? field : null;
+        }
+        if (property instanceof CompositePropertyDescriptor) {
+            for (PropertyDescriptor delegate : ((CompositePropertyDescriptor) property).getDelegates()) {
+                if (delegate.isReadable()) {
+                    return directReader(delegate);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Member directWriter(PropertyDescriptor property) {
+        if (property instanceof MethodPropertyDescriptor) {
+            Method setter = ((MethodPropertyDescriptor) property).getSetter();
+            return setter != null && isReachable(setter) ? setter : null;
+        }
+        if (property instanceof FieldPropertyDescriptor) {
+            FieldPropertyDescriptor fieldProperty = (FieldPropertyDescriptor) property;
+            Field field = fieldProperty.getField();
+            return fieldProperty.getAccessMode() == FieldAccessMode.PLAIN && fieldProperty.isWritable() && isReachable(field) ? field : null;
+        }
+        if (property instanceof CompositePropertyDescriptor) {
+            for (PropertyDescriptor delegate : ((CompositePropertyDescriptor) property).getDelegates()) {
+                if (delegate.isWritable()) {
+                    return directWriter(delegate);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isReachable(Method method) {
+        if (!Modifier.isPublic(method.getModifiers()) || ReflectionUtil.isStatic(method) || !isPublic(method.getDeclaringClass())) {
+            return false;
+        }
+        if (!isPublic(method.getReturnType())) {
+            return false;
+        }
+        for (Class<?> paramType : method.getParameterTypes()) {
+            if (!isPublic(paramType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isReachable(Field field) {
+        return Modifier.isPublic(field.getModifiers()) && !ReflectionUtil.isStatic(field)
+                && isPublic(field.getDeclaringClass()) && isPublic(field.getType());
+    }
+
+    private static boolean isPublic(Class<?> clazz) {
+        while (clazz.isArray()) {
+            clazz = clazz.getComponentType();
+        }
+        return clazz.isPrimitive() || Modifier.isPublic(clazz.getModifiers());
+    }
+
+    private static byte[] generateClass(String internalName, Member[] readers, Member[] writers) {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS) {
+            @Override
+            protected String getCommonSuperClass(String type1, String type2) {
+                //all branches of our switches return, so there's nothing to merge. this avoids loading classes
+                return "java/lang/Object";
+            }
+        };
+        cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, internalName, null, BASE_CLASS, null);
+
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", CONSTRUCTOR_DESC, null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitVarInsn(Opcodes.ALOAD, 1);
+        mv.visitVarInsn(Opcodes.ALOAD, 2);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, BASE_CLASS, "<init>", CONSTRUCTOR_DESC, false);
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        generateGet(cw, readers);
+        generateSet(cw, writers);
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    /**
+     * Object get(Object bean, int propIndex) {
+     *     switch (propIndex) {
+     *         case 0: if (bean instanceof Bean) return ((Bean) bean).getA(); //throws wrapped
+     *         case 1: if (bean instanceof Bean) return ((Bean) bean).b;
+     *         default: return super.get(bean, propIndex);
+     *     }
+     * }
+     */
+    private static void generateGet(ClassWriter cw, Member[] readers) {
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "get", GET_DESC, null, null);
+        mv.visitCode();
+        Label handler = new Label();
+        Label[] tryStarts = new Label[readers.length];
+        Label[] tryEnds = new Label[readers.length];
+        boolean anyCalls = tryBlocks(mv, readers, tryStarts, tryEnds, handler);
+        Label fallback = new Label();
+        Label[] cases = new Label[readers.length];
+        for (int i = 0; i < readers.length; i++) {
+            cases[i] = readers[i] != null ? new Label() : fallback;
+        }
+        mv.visitVarInsn(Opcodes.ILOAD, 2);
+        mv.visitTableSwitchInsn(0, readers.length - 1, fallback, cases);
+        for (int i = 0; i < readers.length; i++) {
+            Member reader = readers[i];
+            if (reader == null) {
+                continue;
+            }
+            mv.visitLabel(cases[i]);
+            Class<?> owner = reader.getDeclaringClass();
+            checkInstance(mv, 1, owner, fallback);
+            mv.visitVarInsn(Opcodes.ALOAD, 1);
+            mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(owner));
+            Class<?> valueType;
+            if (reader instanceof Method) {
+                Method getter = (Method) reader;
+                invoke(mv, getter, tryStarts[i], tryEnds[i]);
+                valueType = getter.getReturnType();
+            } else {
+                Field field = (Field) reader;
+                mv.visitFieldInsn(Opcodes.GETFIELD, Type.getInternalName(owner), field.getName(), Type.getDescriptor(field.getType()));
+                valueType = field.getType();
+            }
+            box(mv, valueType);
+            mv.visitInsn(Opcodes.ARETURN);
+        }
+        mv.visitLabel(fallback);
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitVarInsn(Opcodes.ALOAD, 1);
+        mv.visitVarInsn(Opcodes.ILOAD, 2);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, BASE_CLASS, "get", GET_DESC, false);
+        mv.visitInsn(Opcodes.ARETURN);
+        if (anyCalls) {
+            wrapFailures(mv, handler);
+        }
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    /**
+     * void set(Object bean, int propIndex, Object value) {
+     *     switch (propIndex) {
+     *         case 0: if (bean instanceof Bean &amp;&amp; (value == null || value instanceof A)) { ((Bean) bean).setA((A) value); return; }
+     *         case 1: if (bean instanceof Bean &amp;&amp; value instanceof Integer) { ((Bean) bean).b = ((Integer) value).intValue(); return; }
+     *         default: super.set(bean, propIndex, value);
+     *     }
+     * }
+     */
+    private static void generateSet(ClassWriter cw, Member[] writers) {
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "set", SET_DESC, null, null);
+        mv.visitCode();
+        Label handler = new Label();
+        Label[] tryStarts = new Label[writers.length];
+        Label[] tryEnds = new Label[writers.length];
+        boolean anyCalls = tryBlocks(mv, writers, tryStarts, tryEnds, handler);
+        Label fallback = new Label();
+        Label[] cases = new Label[writers.length];
+        for (int i = 0; i < writers.length; i++) {
+            cases[i] = writers[i] != null ? new Label() : fallback;
+        }
+        mv.visitVarInsn(Opcodes.ILOAD, 2);
+        mv.visitTableSwitchInsn(0, writers.length - 1, fallback, cases);
+        for (int i = 0; i < writers.length; i++) {
+            Member writer = writers[i];
+            if (writer == null) {
+                continue;
+            }
+            mv.visitLabel(cases[i]);
+            Class<?> owner = writer.getDeclaringClass();
+            Class<?> valueType = writer instanceof Method ? ((Method) writer).getParameterTypes()[0] : ((Field) writer).getType();
+            checkInstance(mv, 1, owner, fallback);
+            checkValue(mv, valueType, fallback);
+            mv.visitVarInsn(Opcodes.ALOAD, 1);
+            mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(owner));
+            mv.visitVarInsn(Opcodes.ALOAD, 3);
+            if (writer instanceof Method) {
+                Method setter = (Method) writer;
+                unbox(mv, setter.getParameterTypes()[0]);
+                invoke(mv, setter, tryStarts[i], tryEnds[i]);
+            } else {
+                Field field = (Field) writer;
+                unbox(mv, field.getType());
+                mv.visitFieldInsn(Opcodes.PUTFIELD, Type.getInternalName(owner), field.getName(), Type.getDescriptor(field.getType()));
+            }
+            mv.visitInsn(Opcodes.RETURN);
+        }
+        mv.visitLabel(fallback);
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitVarInsn(Opcodes.ALOAD, 1);
+        mv.visitVarInsn(Opcodes.ILOAD, 2);
+        mv.visitVarInsn(Opcodes.ALOAD, 3);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, BASE_CLASS, "set", SET_DESC, false);
+        mv.visitInsn(Opcodes.RETURN);
+        if (anyCalls) {
+            wrapFailures(mv, handler);
+        }
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    /**
+     * declares a try block (ending in the given handler) around every method call, so that anything
+     * thrown by getters and setters is wrapped the same way {@link Accessors} wraps it
+     * @param starts filled with try block start labels, by property index (left null for fields)
+     * @param ends filled with try block end labels, by property index (left null for fields)
+     * @return true if there are any method calls (and so any try blocks)
+     */
+    private static boolean tryBlocks(MethodVisitor mv, Member[] members, Label[] starts, Label[] ends, Label handler) {
+        boolean any = false;
+        for (int i = 0; i < members.length; i++) {
+            if (members[i] instanceof Method) {
+                starts[i] = new Label();
+                ends[i] = new Label();
+                mv.visitTryCatchBlock(starts[i], ends[i], handler, "java/lang/Throwable");
+                any = true;
+            }
+        }
+        return any;
+    }
+
+    /**
+     * handler: throw Accessors.invocationFailure(t);
+     */
+    private static void wrapFailures(MethodVisitor mv, Label handler) {
+        mv.visitLabel(handler);
+        mv.visitMethodInsn(Opcodes.INVOKESTATIC, ACCESSORS, "invocationFailure", FAILURE_DESC, false);
+        mv.visitInsn(Opcodes.ATHROW);
+    }
+
+    /**
+     * jumps to the fallback unless the given local is an instance of the given class
+     */
+    private static void checkInstance(MethodVisitor mv, int local, Class<?> type, Label fallback) {
+        mv.visitVarInsn(Opcodes.ALOAD, local);
+        mv.visitTypeInsn(Opcodes.INSTANCEOF, Type.getInternalName(ClassUtils.primitiveToWrapper(type)));
+        mv.visitJumpInsn(Opcodes.IFEQ, fallback);
+    }
+
+    /**
+     * jumps to the fallback unless the value (local 3) can be set as-is into a member of the given type
+     */
+    private static void checkValue(MethodVisitor mv, Class<?> type, Label fallback) {
+        if (type == Object.class) {
+            return;
+        }
+        if (type.isPrimitive()) {
+            checkInstance(mv, 3, type, fallback); //no nulls, and no widening
+            return;
+        }
+        Label ok = new Label();
+        mv.visitVarInsn(Opcodes.ALOAD, 3);
+        mv.visitJumpInsn(Opcodes.IFNULL, ok);
+        checkInstance(mv, 3, type, fallback);
+        mv.visitLabel(ok);
+    }
+
+    private static void invoke(MethodVisitor mv, Method method, Label tryStart, Label tryEnd) {
+        Class<?> owner = method.getDeclaringClass();
+        boolean isInterface = owner.isInterface();
+        mv.visitLabel(tryStart);
+        mv.visitMethodInsn(isInterface ? Opcodes.INVOKEINTERFACE : Opcodes.INVOKEVIRTUAL,
+                Type.getInternalName(owner), method.getName(), Type.getMethodDescriptor(method), isInterface);
+        mv.visitLabel(tryEnd);
+    }
+
+    /**
+     * boxes the primitive on top of the stack (if it is one)
+     */
+    private static void box(MethodVisitor mv, Class<?> type) {
+        if (!type.isPrimitive()) {
+            return;
+        }
+        Class<?> wrapper = ClassUtils.primitiveToWrapper(type);
+        mv.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(wrapper), "valueOf",
+                Type.getMethodDescriptor(Type.getType(wrapper), Type.getType(type)), false);
+    }
+
+    /**
+     * casts the Object on top of the stack to the given type, unboxing it if the type is primitive
+     */
+    private static void unbox(MethodVisitor mv, Class<?> type) {
+        if (!type.isPrimitive()) {
+            if (type != Object.class) {
+                mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(type));
+            }
+            return;
+        }
+        Class<?> wrapper = ClassUtils.primitiveToWrapper(type);
+        mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(wrapper));
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, Type.getInternalName(wrapper), type.getName() + "Value",
+                Type.getMethodDescriptor(Type.getType(type)), false);
+    }
+}
@@ -29,6 +29,7 @@ import net.radai.beanz.api.Codec;
 import net.radai.beanz.util.ReflectionUtil;
 import org.apache.commons.lang3.ClassUtils;
 
+import java.io.IOException;
 import java.lang.reflect.Array;
 import java.lang.reflect.Type;
 import java.util.Collection;
@@ -59,17 +60,30 @@ public class ArrayCodec implements Codec {
 
     @Override
     public Object decode(String encoded) {
-        if (encoded == null || (encoded = encoded.trim()).isEmpty()) {
+        if (encoded == null) {
             return null;
         }
-        if (!(encoded.startsWith("[") && encoded.endsWith("]"))) {
-            throw new IllegalArgumentException();
+        return decode(encoded, 0, encoded.length());
+    }
+
+    @Override
+    public Object decode(CharSequence encoded, int start, int end) {
+        if (encoded == null) {
+            return null;
         }
-        String[] elements = encoded.substring(1, encoded.length()-1).split("\\s*,\\s*");
-        Class<?> erased = erase(getElementType());
-        Object array = Array.newInstance(erased, elements.length);
-        for (int i=0; i<elements.length; i++) {
-            Array.set(array, i, elementCodec.decode(elements[i]));
+        Ranges.checkRange(encoded, start, end);
+        start = Ranges.trimStart(encoded, start, end);
+        end = Ranges.trimEnd(encoded, start, end);
+        if (start == end) {
+            return null;
+        }
+        if (end - start < 2 || encoded.charAt(start) != '[' || encoded.charAt(end - 1) != ']') {
+            throw new IllegalArgumentException("unable to parse an array out of " + encoded.subSequence(start, end));
+        }
+        Tokenizer elements = Tokenizer.split(encoded, start + 1, end - 1, ',');
+        Object array = Array.newInstance(erase(getElementType()), elements.size());
+        for (int i = 0; i < elements.size(); i++) {
+            Array.set(array, i, Tokenizer.decodeElement(elementCodec, encoded, elements.start(i), elements.end(i)));
         }
         return array;
     }
@@ -79,23 +93,33 @@ public class ArrayCodec implements Codec {
         if (object == null) {
             return null;
         }
+        StringBuilder sb = new StringBuilder();
+        try {
+            encodeTo(object, sb);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); //StringBuilder doesnt throw
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void encodeTo(Object object, Appendable out) throws IOException {
+        if (object == null) {
+            out.append((CharSequence) null);
+            return;
+        }
         if (!ReflectionUtil.isArray(object.getClass())) {
             throw new IllegalArgumentException();
         }
         int size = Array.getLength(object);
-        if (size == 0) {
-            return "[]";
-        }
-        StringBuilder sb = new StringBuilder();
-        sb.append("[");
+        out.append('[');
         for (int i=0; i<size; i++) {
-            Object element = Array.get(object, i);
-            String encoded = elementCodec.encode(element);
-            sb.append(encoded).append(", ");
+            if (i > 0) {
+                out.append(", ");
+            }
+            Tokenizer.encodeElement(elementCodec, Array.get(object, i), out);
         }
-        sb.delete(sb.length()-2, sb.length()); //last ", "
-        sb.append("]");
-        return sb.toString();
+        out.append(']');
     }
 
     public Object decodeArray(Collection<String> strCollection) {
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.codecs;
+
+import net.radai.beanz.api.Codec;
+import org.apache.commons.lang3.ClassUtils;
+
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import static net.radai.beanz.util.ReflectionUtil.erase;
+
+/**
+ * a layered lookup of codecs by type. every registry has its own layer on top of an (optional)
+ * parent registry, so per-bean (or per-call) codecs are added without copying - or touching -
+ * the shared layers underneath. codecs in a layer shadow those of the same type in its parents.
+ */
+public class CodecRegistry {
+    /**
+     * the (immutable) built-in codecs, at the bottom of every registry
+     */
+    public static final CodecRegistry BUILT_INS = new CodecRegistry(null, Codecs.BUILT_INS);
+
+    private final CodecRegistry parent;
+    private final Map<Type, Codec> codecs;
+    private volatile boolean frozen;
+
+    public CodecRegistry(CodecRegistry parent) {
+        this(parent, new HashMap<>());
+    }
+
+    private CodecRegistry(CodecRegistry parent, Map<Type, Codec> codecs) {
+        this.parent = parent;
+        this.codecs = codecs;
+    }
+
+    public CodecRegistry getParent() {
+        return parent;
+    }
+
+    /**
+     * @return a new (empty) layer on top of this registry
+     */
+    public CodecRegistry overlay() {
+        return new CodecRegistry(this);
+    }
+
+    public Codec get(Type type) {
+        for (CodecRegistry registry = this; registry != null; registry = registry.parent) {
+            Codec codec = registry.codecs.get(type);
+            if (codec != null) {
+                return codec;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * registers a codec in this layer
+     * @throws IllegalArgumentException if the codec does not fit the type or this layer already has a codec for it
+     * @throws UnsupportedOperationException if this layer is immutable
+     */
+    public void put(Type type, Codec codec) {
+        if (frozen) {
+            throw new UnsupportedOperationException("registry is frozen");
+        }
+        if (codec == null || type == null || !ClassUtils.isAssignable(erase(codec.getType()), erase(type), true) || codecs.containsKey(type)) {
+            throw new IllegalArgumentException();
+        }
+        codecs.put(type, codec);
+    }
+
+    /**
+     * makes this layer immutable (its parents are not affected), so it can be safely shared
+     */
+    public void freeze() {
+        frozen = true;
+    }
+
+    /**
+     * @return the codec for the given type from any layer, or a newly created one registered in this layer.
+     * the function may return null (no codec), in which case nothing is registered.
+     */
+    public Codec computeIfAbsent(Type type, Function<Type, Codec> factory) {
+        Codec codec = get(type);
+        if (codec == null) {
+            codec = factory.apply(type);
+            if (codec != null) {
+                put(type, codec);
+            }
+        }
+        return codec;
+    }
+
+    /**
+     * @return the codecs in this layer only (not including parents)
+     */
+    public Map<Type, Codec> getLocalCodecs() {
+        return Collections.unmodifiableMap(codecs);
+    }
+
+    @Override
+    public String toString() {
+        return "CodecRegistry with " + codecs.size() + " codecs" + (parent != null ? " over " + parent : "");
+    }
+}
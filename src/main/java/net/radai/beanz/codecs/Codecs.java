@@ -29,8 +29,6 @@ import net.radai.beanz.api.Codec;
 import net.radai.beanz.util.ReflectionUtil;
 
 import java.lang.reflect.Type;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.*;
 
 public class Codecs {
@@ -56,60 +54,130 @@ public class Codecs {
         }
     };
 
-    public static final Codec CHAR_CODEC = new Codec() {
+    public static final PrimitiveCodec BOOLEAN_CODEC = new PrimitiveCodec(Boolean.class) {
         @Override
-        public Type getType() {
-            return Character.class;
+        public Object decode(CharSequence encoded, int start, int end) {
+            return parseBoolean(encoded, start, end);
         }
 
         @Override
-        public Object decode(String encoded) {
-            if (encoded == null || encoded.length() != 1) {
-                throw new IllegalArgumentException();
+        public String encode(Object object) {
+            if (object == null) {
+                return null;
             }
-            return encoded.charAt(0);
+            return Boolean.toString((Boolean) object);
+        }
+
+        @Override
+        protected void append(Object object, StringBuilder out) {
+            out.append((boolean) (Boolean) object);
+        }
+    };
+
+    public static final PrimitiveCodec BYTE_CODEC = new PrimitiveCodec(Byte.class) {
+        @Override
+        public Object decode(CharSequence encoded, int start, int end) {
+            return parseByte(encoded, start, end);
         }
 
         @Override
         public String encode(Object object) {
-            char c = (Character) object;
-            return String.valueOf(c);
+            if (object == null) {
+                return null;
+            }
+            return Byte.toString((Byte) object);
         }
 
         @Override
-        public String toString() {
-            return "Character codec : special sauce";
+        protected void append(Object object, StringBuilder out) {
+            out.append((byte) (Byte) object);
         }
     };
 
-    public static final Codec DATE_CODEC = new Codec() {
-        private final SimpleDateFormat timestamp = new SimpleDateFormat("dd/MM/yyyy HH:mm:ss.SSS Z");
-        private final SimpleDateFormat date = new SimpleDateFormat("dd/MM/yyyy");
+    public static final PrimitiveCodec CHAR_CODEC = new PrimitiveCodec(Character.class) {
+        @Override
+        public Object decode(CharSequence encoded, int start, int end) {
+            return parseChar(encoded, start, end);
+        }
 
-        {
-            timestamp.setTimeZone(TimeZone.getTimeZone("GMT"));
-            date.setTimeZone(TimeZone.getTimeZone("GMT"));
+        @Override
+        public String encode(Object object) {
+            if (object == null) {
+                return null;
+            }
+            return String.valueOf((char) (Character) object);
         }
 
         @Override
-        public Type getType() {
-            return Date.class;
+        protected void append(Object object, StringBuilder out) {
+            out.append((char) (Character) object);
         }
+    };
 
+    public static final PrimitiveCodec SHORT_CODEC = new PrimitiveCodec(Short.class) {
         @Override
-        public Object decode(String encoded) {
-            if (encoded == null || encoded.isEmpty()) {
+        public Object decode(CharSequence encoded, int start, int end) {
+            return parseShort(encoded, start, end);
+        }
+
+        @Override
+        public String encode(Object object) {
+            if (object == null) {
+                return null;
+            }
+            return Short.toString((Short) object);
+        }
+
+        @Override
+        protected void append(Object object, StringBuilder out) {
+            out.append((short) (Short) object);
+        }
+    };
+
+    public static final PrimitiveCodec INT_CODEC = new PrimitiveCodec(Integer.class) {
+        @Override
+        public Object decode(CharSequence encoded, int start, int end) {
+            return parseInt(encoded, start, end);
+        }
+
+        @Override
+        public String encode(Object object) {
+            if (object == null) {
                 return null;
             }
-            try {
-                return timestamp.parse(encoded);
-            } catch (ParseException e) {
-                try {
-                    return date.parse(encoded);
-                } catch (ParseException e2) {
-                    throw new IllegalArgumentException(e2);
-                }
+            return Integer.toString((Integer) object);
+        }
+
+        @Override
+        protected void append(Object object, StringBuilder out) {
+            out.append((int) (Integer) object);
+        }
+    };
+
+    public static final PrimitiveCodec LONG_CODEC = new PrimitiveCodec(Long.class) {
+        @Override
+        public Object decode(CharSequence encoded, int start, int end) {
+            return parseLong(encoded, start, end);
+        }
+
+        @Override
+        public String encode(Object object) {
+            if (object == null) {
+                return null;
             }
+            return Long.toString((Long) object);
+        }
+
+        @Override
+        protected void append(Object object, StringBuilder out) {
+            out.append((long) (Long) object);
+        }
+    };
+
+    public static final PrimitiveCodec FLOAT_CODEC = new PrimitiveCodec(Float.class) {
+        @Override
+        public Object decode(CharSequence encoded, int start, int end) {
+            return parseFloat(encoded, start, end);
         }
 
         @Override
@@ -117,18 +185,37 @@ public class Codecs {
             if (object == null) {
                 return null;
             }
-            Date date = (Date) object;
-            Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("GMT"));
-            calendar.setTime(date);
-            if (calendar.get(Calendar.HOUR_OF_DAY) == 0 && calendar.get(Calendar.MINUTE) == 0
-                && calendar.get(Calendar.SECOND) == 0 && calendar.get(Calendar.MILLISECOND) == 0) {
-                return this.date.format(date);
-            } else {
-                return timestamp.format(date);
+            return Float.toString((Float) object);
+        }
+
+        @Override
+        protected void append(Object object, StringBuilder out) {
+            out.append((float) (Float) object);
+        }
+    };
+
+    public static final PrimitiveCodec DOUBLE_CODEC = new PrimitiveCodec(Double.class) {
+        @Override
+        public Object decode(CharSequence encoded, int start, int end) {
+            return parseDouble(encoded, start, end);
+        }
+
+        @Override
+        public String encode(Object object) {
+            if (object == null) {
+                return null;
             }
+            return Double.toString((Double) object);
+        }
+
+        @Override
+        protected void append(Object object, StringBuilder out) {
+            out.append((double) (Double) object);
         }
     };
 
+    public static final Codec DATE_CODEC = new DateCodec();
+
     public static Codec safe(Codec underlying) {
         if (underlying == null) {
             throw new IllegalArgumentException("passed null argument");
@@ -165,39 +252,37 @@ public class Codecs {
         }
     }
 
-    public static final Map<Type, Codec> BUILT_INS = new HashMap<>();
+    /**
+     * the built-in codecs, by type. immutable - code that used to put() custom codecs in here should
+     * register them in a {@link CodecRegistry} overlay instead, and parse beans with it
+     * (see {@link net.radai.beanz.Beanz#parse(Class, CodecRegistry)})
+     */
+    public static final Map<Type, Codec> BUILT_INS;
 
     static {
+        Map<Type, Codec> builtIns = new HashMap<>();
         //start with the primitive. since reflection (un)boxes anyway, use the wrapper codecs.
-        BUILT_INS.put(boolean.class, codecFor(Boolean.class));
-        BUILT_INS.put(byte.class,    codecFor(Byte.class));
-        BUILT_INS.put(char.class,    CHAR_CODEC); //has to be special
-        BUILT_INS.put(short.class,   codecFor(Short.class));
-        BUILT_INS.put(int.class,     codecFor(Integer.class));
-        BUILT_INS.put(long.class,    codecFor(Long.class));
-        BUILT_INS.put(float.class,   codecFor(Float.class));
-        BUILT_INS.put(double.class,  codecFor(Double.class));
+        builtIns.put(boolean.class, BOOLEAN_CODEC);
+        builtIns.put(byte.class,    BYTE_CODEC);
+        builtIns.put(char.class,    CHAR_CODEC);
+        builtIns.put(short.class,   SHORT_CODEC);
+        builtIns.put(int.class,     INT_CODEC);
+        builtIns.put(long.class,    LONG_CODEC);
+        builtIns.put(float.class,   FLOAT_CODEC);
+        builtIns.put(double.class,  DOUBLE_CODEC);
 
         //for the wrappers, use safe versions of the above
         //(most of thd jdk built-in conversion methods dont like nulls/empties)
-        BUILT_INS.put(Boolean.class,   safe(BUILT_INS.get(boolean.class)));
-        BUILT_INS.put(Byte.class,      safe(BUILT_INS.get(byte.class)));
-        BUILT_INS.put(Character.class, safe(BUILT_INS.get(char.class)));
-        BUILT_INS.put(Short.class,     safe(BUILT_INS.get(short.class)));
-        BUILT_INS.put(Integer.class,   safe(BUILT_INS.get(int.class)));
-        BUILT_INS.put(Long.class,      safe(BUILT_INS.get(long.class)));
-        BUILT_INS.put(Float.class,     safe(BUILT_INS.get(float.class)));
-        BUILT_INS.put(Double.class,    safe(BUILT_INS.get(double.class)));
-        BUILT_INS.put(String.class,    NOP_CODEC);
-        BUILT_INS.put(Date.class,      DATE_CODEC);
-    }
-
-    private static SimpleCodec codecFor(Class<?> clazz) {
-        try {
-            //noinspection unchecked
-            return new SimpleCodec(clazz, clazz.getMethod("toString"), clazz.getMethod("valueOf", String.class));
-        } catch (NoSuchMethodException e) {
-            throw new IllegalStateException(e);
-        }
+        builtIns.put(Boolean.class,   safe(builtIns.get(boolean.class)));
+        builtIns.put(Byte.class,      safe(builtIns.get(byte.class)));
+        builtIns.put(Character.class, safe(builtIns.get(char.class)));
+        builtIns.put(Short.class,     safe(builtIns.get(short.class)));
+        builtIns.put(Integer.class,   safe(builtIns.get(int.class)));
+        builtIns.put(Long.class,      safe(builtIns.get(long.class)));
+        builtIns.put(Float.class,     safe(builtIns.get(float.class)));
+        builtIns.put(Double.class,    safe(builtIns.get(double.class)));
+        builtIns.put(String.class,    NOP_CODEC);
+        builtIns.put(Date.class,      DATE_CODEC);
+        BUILT_INS = Collections.unmodifiableMap(builtIns);
     }
 }
@@ -29,6 +29,7 @@ import net.radai.beanz.api.Codec;
 import net.radai.beanz.util.ReflectionUtil;
 import org.apache.commons.lang3.ClassUtils;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.Collection;
 
@@ -57,18 +58,31 @@ public class CollectionCodec implements Codec {
 
     @Override
     public Object decode(String encoded) {
-        if (encoded == null || (encoded = encoded.trim()).isEmpty()) {
+        if (encoded == null) {
             return null;
         }
-        if (!(encoded.startsWith("[") && encoded.endsWith("]"))) {
-            throw new IllegalArgumentException("unable to parse a collection out of " + encoded);
+        return decode(encoded, 0, encoded.length());
+    }
+
+    @Override
+    public Object decode(CharSequence encoded, int start, int end) {
+        if (encoded == null) {
+            return null;
         }
-        String[] elements = encoded.substring(1, encoded.length()-1).split("\\s*,\\s*");
+        Ranges.checkRange(encoded, start, end);
+        start = Ranges.trimStart(encoded, start, end);
+        end = Ranges.trimEnd(encoded, start, end);
+        if (start == end) {
+            return null;
+        }
+        if (end - start < 2 || encoded.charAt(start) != '[' || encoded.charAt(end - 1) != ']') {
+            throw new IllegalArgumentException("unable to parse a collection out of " + encoded.subSequence(start, end));
+        }
+        Tokenizer elements = Tokenizer.split(encoded, start + 1, end - 1, ',');
         @SuppressWarnings("unchecked")
-        Collection<Object> collection = (Collection<Object>) ReflectionUtil.instantiateCollection(ReflectionUtil.erase(type));
-        for (String element : elements) {
-            //noinspection unchecked
-            collection.add(elementCodec.decode(element));
+        Collection<Object> collection = (Collection<Object>) ReflectionUtil.instantiateCollection(erase(type), elements.size());
+        for (int i = 0; i < elements.size(); i++) {
+            collection.add(Tokenizer.decodeElement(elementCodec, encoded, elements.start(i), elements.end(i)));
         }
         return collection;
     }
@@ -78,21 +92,35 @@ public class CollectionCodec implements Codec {
         if (object == null) {
             return null;
         }
+        StringBuilder sb = new StringBuilder();
+        try {
+            encodeTo(object, sb);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); //StringBuilder doesnt throw
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void encodeTo(Object object, Appendable out) throws IOException {
+        if (object == null) {
+            out.append((CharSequence) null);
+            return;
+        }
         if (!ReflectionUtil.isCollection(object.getClass())) {
             throw new IllegalArgumentException();
         }
         Collection<?> collection = (Collection<?>) object;
-        if (collection.isEmpty()) {
-            return "[]";
-        }
-        StringBuilder sb = new StringBuilder();
-        sb.append("[");
+        out.append('[');
+        boolean first = true;
         for (Object element : collection) {
-            sb.append(elementCodec.encode(element)).append(", ");
+            if (!first) {
+                out.append(", ");
+            }
+            Tokenizer.encodeElement(elementCodec, element, out);
+            first = false;
         }
-        sb.delete(sb.length()-2, sb.length()); //last ", "
-        sb.append("]");
-        return sb.toString();
+        out.append(']');
     }
 
     public Collection<?> decodeCollection(Collection<String> strCollection) {
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.codecs;
+
+import net.radai.beanz.api.Codec;
+
+import java.lang.reflect.Type;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * codec for {@link Date}s. dates that fall on midnight (GMT) are encoded as "dd/MM/yyyy",
+ * anything else as a full "dd/MM/yyyy HH:mm:ss.SSS Z" timestamp.
+ * formatting and parsing is done by (lenient, julian/gregorian) SimpleDateFormats, same as it always was,
+ * but every thread gets its own copies so a single instance is safe to use concurrently.
+ * decoding looks at the shape of the input, and plain (in range, gregorian) values in the two fixed-width
+ * layouts are parsed by hand, without any formatter - anything else (out of range fields, dates before
+ * the gregorian cutover, other shapes) goes to the formatters, so the result is always what they'd return.
+ */
+public class DateCodec implements Codec {
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+    private static final int DATE_LENGTH = "dd/MM/yyyy".length();
+    private static final int TIMESTAMP_LENGTH = "dd/MM/yyyy HH:mm:ss.SSS +HHMM".length();
+    private static final long INVALID = Long.MIN_VALUE;
+    private static final int GREGORIAN_CUTOVER_YEAR = 1582;
+    private static final ThreadLocal<SimpleDateFormat> TIMESTAMP = ThreadLocal.withInitial(() -> format("dd/MM/yyyy HH:mm:ss.SSS Z"));
+    private static final ThreadLocal<SimpleDateFormat> DATE = ThreadLocal.withInitial(() -> format("dd/MM/yyyy"));
+
+    @Override
+    public Type getType() {
+        return Date.class;
+    }
+
+    @Override
+    public Object decode(String encoded) {
+        if (encoded == null) {
+            return null;
+        }
+        return decode(encoded, 0, encoded.length());
+    }
+
+    @Override
+    public Object decode(CharSequence encoded, int start, int end) {
+        if (encoded == null || start == end) {
+            return null;
+        }
+        long millis = INVALID;
+        int length = end - start;
+        if (length == DATE_LENGTH) {
+            millis = parseDate(encoded, start);
+        } else if (length == TIMESTAMP_LENGTH) {
+            millis = parseTimestamp(encoded, start);
+        }
+        if (millis != INVALID) {
+            return new Date(millis);
+        }
+        //not one of the fixed layouts (or out of range values) - let the formatters deal with it (and report errors)
+        String str = encoded.subSequence(start, end).toString();
+        try {
+            return TIMESTAMP.get().parse(str);
+        } catch (ParseException e) {
+            try {
+                return DATE.get().parse(str);
+            } catch (ParseException e2) {
+                throw new IllegalArgumentException(e2);
+            }
+        }
+    }
+
+    @Override
+    public String encode(Object object) {
+        if (object == null) {
+            return null;
+        }
+        Date date = (Date) object;
+        //midnight GMT, whatever the calendar
+        return (Math.floorMod(date.getTime(), MILLIS_PER_DAY) == 0 ? DATE : TIMESTAMP).get().format(date);
+    }
+
+    private static SimpleDateFormat format(String pattern) {
+        SimpleDateFormat format = new SimpleDateFormat(pattern);
+        format.setTimeZone(TimeZone.getTimeZone("GMT"));
+        return format;
+    }
+
+    /**
+     * parses "dd/MM/yyyy" at the given offset
+     * @return epoch millis, or INVALID if the input is not exactly in this layout (or not a plain gregorian date)
+     */
+    private static long parseDate(CharSequence s, int i) {
+        if (s.charAt(i + 2) != '/' || s.charAt(i + 5) != '/') {
+            return INVALID;
+        }
+        int day = digits(s, i, 2);
+        int month = digits(s, i + 3, 2);
+        int year = digits(s, i + 6, 4);
+        //out of range fields roll over and older dates are julian, leave all that to the formatters
+        if (month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month) || year <= GREGORIAN_CUTOVER_YEAR) {
+            return INVALID;
+        }
+        return epochDay(year, month, day) * MILLIS_PER_DAY;
+    }
+
+    /**
+     * parses "dd/MM/yyyy HH:mm:ss.SSS +HHMM" at the given offset
+     * @return epoch millis, or INVALID if the input is not exactly in this layout
+     */
+    private static long parseTimestamp(CharSequence s, int i) {
+        long date = parseDate(s, i);
+        if (date == INVALID || s.charAt(i + 10) != ' ' || s.charAt(i + 13) != ':' || s.charAt(i + 16) != ':'
+                || s.charAt(i + 19) != '.' || s.charAt(i + 23) != ' ') {
+            return INVALID;
+        }
+        char sign = s.charAt(i + 24);
+        if (sign != '+' && sign != '-') {
+            return INVALID;
+        }
+        int hours = digits(s, i + 11, 2);
+        int minutes = digits(s, i + 14, 2);
+        int seconds = digits(s, i + 17, 2);
+        int millis = digits(s, i + 20, 3);
+        int offsetHours = digits(s, i + 25, 2);
+        int offsetMinutes = digits(s, i + 27, 2);
+        if (hours < 0 || hours > 23 || minutes < 0 || minutes > 59 || seconds < 0 || seconds > 59 || millis < 0
+                || offsetHours < 0 || offsetHours > 18 || offsetMinutes < 0 || offsetMinutes > 59
+                || (offsetHours == 18 && offsetMinutes > 0)) {
+            return INVALID;
+        }
+        long offset = (offsetHours * 60L + offsetMinutes) * 60_000L;
+        return date + ((hours * 60L + minutes) * 60L + seconds) * 1000L + millis - (sign == '+' ? offset : -offset);
+    }
+
+    /**
+     * @return the value of count ascii digits at the given offset, or -1 if there's a non-digit there
+     */
+    private static int digits(CharSequence s, int i, int count) {
+        int value = 0;
+        for (int j = i; j < i + count; j++) {
+            int digit = s.charAt(j) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = (year % 4 == 0) && (year % 100 != 0 || year % 400 == 0);
+                return leap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * days since 1970-01-01 of a gregorian date, same as LocalDate.toEpochDay()
+     */
+    private static long epochDay(int year, int month, int day) {
+        //shift the year to start in march, so the leap day is the last day of the year
+        int y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    @Override
+    public String toString() {
+        return "Date codec: dd/MM/yyyy[ HH:mm:ss.SSS Z]";
+    }
+}
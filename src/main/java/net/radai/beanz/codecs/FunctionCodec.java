@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.codecs;
+
+import net.radai.beanz.api.Codec;
+import net.radai.beanz.util.ReflectionUtil;
+
+import java.lang.reflect.Type;
+import java.util.function.Function;
+
+/**
+ * a codec made out of a pair of functions. this is what generated descriptors use
+ * in place of {@link SimpleCodec}, which requires reflection.
+ */
+public class FunctionCodec implements Codec {
+    private final Type type;
+    private final Function<Object, String> encoder;
+    private final Function<String, Object> decoder;
+
+    public FunctionCodec(Type type, Function<Object, String> encoder, Function<String, Object> decoder) {
+        if (type == null || encoder == null || decoder == null) {
+            throw new IllegalArgumentException();
+        }
+        this.type = type;
+        this.encoder = encoder;
+        this.decoder = decoder;
+    }
+
+    @Override
+    public Type getType() {
+        return type;
+    }
+
+    @Override
+    public Object decode(String encoded) {
+        if (encoded == null) {
+            return null;
+        }
+        return decoder.apply(encoded);
+    }
+
+    @Override
+    public String encode(Object object) {
+        if (object == null) {
+            return null;
+        }
+        return encoder.apply(object);
+    }
+
+    @Override
+    public String toString() {
+        return ReflectionUtil.prettyPrint(getType()) + " codec: functions";
+    }
+}
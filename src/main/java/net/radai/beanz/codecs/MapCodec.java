@@ -29,6 +29,7 @@ import net.radai.beanz.api.Codec;
 import net.radai.beanz.util.ReflectionUtil;
 import org.apache.commons.lang3.ClassUtils;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.Map;
 
@@ -64,20 +65,40 @@ public class MapCodec implements Codec {
 
     @Override
     public Object decode(String encoded) {
-        if (encoded == null || (encoded = encoded.trim()).isEmpty()) {
+        if (encoded == null) {
             return null;
         }
-        if (!(encoded.startsWith("{") && encoded.endsWith("}"))) {
-            throw new IllegalArgumentException();
+        return decode(encoded, 0, encoded.length());
+    }
+
+    @Override
+    public Object decode(CharSequence encoded, int start, int end) {
+        if (encoded == null) {
+            return null;
         }
-        String[] elements = encoded.substring(1, encoded.length()-1).split("\\s*,\\s*");
+        Ranges.checkRange(encoded, start, end);
+        start = Ranges.trimStart(encoded, start, end);
+        end = Ranges.trimEnd(encoded, start, end);
+        if (start == end) {
+            return null;
+        }
+        if (end - start < 2 || encoded.charAt(start) != '{' || encoded.charAt(end - 1) != '}') {
+            throw new IllegalArgumentException("unable to parse a map out of " + encoded.subSequence(start, end));
+        }
+        Tokenizer entries = Tokenizer.split(encoded, start + 1, end - 1, ',');
         @SuppressWarnings("unchecked")
-        Map<Object, Object> map = (Map<Object, Object>) ReflectionUtil.instantiateMap(erase(type));
-        for (String element : elements) {
-            String[] kvPair = element.split("\\s*=\\s*");
-            Object key = keyCodec.decode(kvPair[0]);
-            Object value = valueCodec.decode(kvPair[1]);
-            //noinspection unchecked
+        Map<Object, Object> map = (Map<Object, Object>) ReflectionUtil.instantiateMap(erase(type), entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            int entryStart = entries.start(i);
+            int entryEnd = entries.end(i);
+            int separator = Tokenizer.indexOf(encoded, '=', entryStart, entryEnd);
+            if (separator == entryEnd) {
+                throw new IllegalArgumentException("no '=' in map entry " + encoded.subSequence(entryStart, entryEnd));
+            }
+            int keyEnd = Ranges.trimEnd(encoded, entryStart, separator);
+            int valueStart = Ranges.trimStart(encoded, separator + 1, entryEnd);
+            Object key = Tokenizer.decodeElement(keyCodec, encoded, entryStart, keyEnd);
+            Object value = Tokenizer.decodeElement(valueCodec, encoded, valueStart, entryEnd);
             map.put(key, value);
         }
         return map;
@@ -88,21 +109,37 @@ public class MapCodec implements Codec {
         if (object == null) {
             return null;
         }
+        StringBuilder sb = new StringBuilder();
+        try {
+            encodeTo(object, sb);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); //StringBuilder doesnt throw
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void encodeTo(Object object, Appendable out) throws IOException {
+        if (object == null) {
+            out.append((CharSequence) null);
+            return;
+        }
         if (!ReflectionUtil.isMap(object.getClass())) {
             throw new IllegalArgumentException();
         }
-        Map<?, ?> map = (Map) object;
-        if (map.isEmpty()) {
-            return "{}";
-        }
-        StringBuilder sb = new StringBuilder();
-        sb.append("{");
-        for (Map.Entry<?, ?> entry  : map.entrySet()) {
-            sb.append(keyCodec.encode(entry.getKey())).append("=").append(valueCodec.encode(entry.getValue())).append(", ");
+        Map<?, ?> map = (Map<?, ?>) object;
+        out.append('{');
+        boolean first = true;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!first) {
+                out.append(", ");
+            }
+            Tokenizer.encodeElement(keyCodec, entry.getKey(), out);
+            out.append('=');
+            Tokenizer.encodeElement(valueCodec, entry.getValue(), out);
+            first = false;
         }
-        sb.delete(sb.length()-2, sb.length()); //last ", "
-        sb.append("}");
-        return sb.toString();
+        out.append('}');
     }
 
     public Map<?, ?> decodeMap(Map<String, String> strMap) {
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.codecs;
+
+import net.radai.beanz.api.Codec;
+import net.radai.beanz.util.ReflectionUtil;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * base class for the hand-written built-in codecs of primitives (and their wrappers).
+ * these parse straight out of a range of a CharSequence and can encode into a
+ * caller-supplied buffer, without going through reflection or intermediate Strings.
+ * the static parse methods follow the rules of their JDK counterparts (Integer.parseInt() etc.)
+ */
+public abstract class PrimitiveCodec implements Codec {
+    private final Class<?> type;
+
+    protected PrimitiveCodec(Class<?> type) {
+        if (type == null) {
+            throw new IllegalArgumentException();
+        }
+        this.type = type;
+    }
+
+    @Override
+    public Type getType() {
+        return type;
+    }
+
+    @Override
+    public Object decode(String encoded) {
+        if (encoded == null) {
+            return null;
+        }
+        return decode(encoded, 0, encoded.length());
+    }
+
+    @Override
+    public abstract Object decode(CharSequence encoded, int start, int end);
+
+    /**
+     * appends the encoded form of the given value. null is appended as "null", like StringBuilder does.
+     */
+    public void encodeTo(Object object, StringBuilder out) {
+        if (object == null) {
+            out.append((String) null);
+            return;
+        }
+        append(object, out);
+    }
+
+    @Override
+    public void encodeTo(Object object, Appendable out) throws IOException {
+        if (out instanceof StringBuilder) {
+            encodeTo(object, (StringBuilder) out);
+            return;
+        }
+        out.append(encode(object));
+    }
+
+    /**
+     * appends a (non-null) value
+     */
+    protected abstract void append(Object object, StringBuilder out);
+
+    @Override
+    public String toString() {
+        return ReflectionUtil.prettyPrint(type) + " codec: built-in";
+    }
+
+    public static boolean parseBoolean(CharSequence s, int start, int end) {
+        checkRange(s, start, end);
+        //same as Boolean.parseBoolean() - anything other than "true" (in any case) is false
+        if (end - start != 4) {
+            return false;
+        }
+        for (int i = 0; i < 4; i++) {
+            if (Character.toLowerCase(s.charAt(start + i)) != "true".charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static byte parseByte(CharSequence s, int start, int end) {
+        int value = parseInt(s, start, end);
+        if (value < Byte.MIN_VALUE || value > Byte.MAX_VALUE) {
+            throw new NumberFormatException("Value out of range. Value:\"" + s.subSequence(start, end) + "\" Radix:10");
+        }
+        return (byte) value;
+    }
+
+    public static short parseShort(CharSequence s, int start, int end) {
+        int value = parseInt(s, start, end);
+        if (value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
+            throw new NumberFormatException("Value out of range. Value:\"" + s.subSequence(start, end) + "\" Radix:10");
+        }
+        return (short) value;
+    }
+
+    public static int parseInt(CharSequence s, int start, int end) {
+        long value = parse(s, start, end, Integer.MIN_VALUE, -Integer.MAX_VALUE);
+        return (int) value;
+    }
+
+    public static long parseLong(CharSequence s, int start, int end) {
+        return parse(s, start, end, Long.MIN_VALUE, -Long.MAX_VALUE);
+    }
+
+    public static float parseFloat(CharSequence s, int start, int end) {
+        //floating point parsing is subtle enough to leave to the jdk
+        return Float.parseFloat(toString(s, start, end));
+    }
+
+    public static double parseDouble(CharSequence s, int start, int end) {
+        return Double.parseDouble(toString(s, start, end));
+    }
+
+    public static char parseChar(CharSequence s, int start, int end) {
+        checkRange(s, start, end);
+        if (end - start != 1) {
+            throw new IllegalArgumentException("expected a single character, got \"" + s.subSequence(start, end) + "\"");
+        }
+        return s.charAt(start);
+    }
+
+    /**
+     * radix-10 parsing, accumulating negatively (like the jdk does) so that the min value can be parsed
+     */
+    private static long parse(CharSequence s, int start, int end, long negativeLimit, long positiveLimit) {
+        checkRange(s, start, end);
+        if (start == end) {
+            throw forInput(s, start, end);
+        }
+        int i = start;
+        boolean negative = false;
+        long limit = positiveLimit;
+        char first = s.charAt(i);
+        if (first < '0') {
+            if (first == '-') {
+                negative = true;
+                limit = negativeLimit;
+            } else if (first != '+') {
+                throw forInput(s, start, end);
+            }
+            if (++i == end) {
+                throw forInput(s, start, end); //a lone sign
+            }
+        }
+        long multiplicationLimit = limit / 10;
+        long result = 0;
+        while (i < end) {
+            int digit = Character.digit(s.charAt(i++), 10);
+            if (digit < 0 || result < multiplicationLimit) {
+                throw forInput(s, start, end);
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw forInput(s, start, end);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    private static String toString(CharSequence s, int start, int end) {
+        checkRange(s, start, end);
+        if (s instanceof String) {
+            return ((String) s).substring(start, end); //no copy if its the whole thing
+        }
+        return s.subSequence(start, end).toString();
+    }
+
+    private static void checkRange(CharSequence s, int start, int end) {
+        if (s == null) {
+            throw new NumberFormatException("null");
+        }
+        if (start < 0 || end > s.length() || start > end) {
+            throw new IndexOutOfBoundsException("range [" + start + ", " + end + ") out of bounds for length " + s.length());
+        }
+    }
+
+    private static NumberFormatException forInput(CharSequence s, int start, int end) {
+        return new NumberFormatException("For input string: \"" + s.subSequence(start, end) + "\"");
+    }
+}
@@ -27,6 +27,7 @@ package net.radai.beanz.codecs;
 
 import net.radai.beanz.api.Codec;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
 
 public class SafeCodec implements Codec {
@@ -61,6 +62,17 @@ public class SafeCodec implements Codec {
         return delegate.decode(encoded);
     }
 
+    @Override
+    public Object decode(CharSequence encoded, int start, int end) {
+        if (encoded == null) {
+            return decode((String) null);
+        }
+        if (handleEmptyStrings && start == end) {
+            return null;
+        }
+        return delegate.decode(encoded, start, end);
+    }
+
     @Override
     public String encode(Object object) {
         if (object == null && handleNullObjects) {
@@ -69,6 +81,19 @@ public class SafeCodec implements Codec {
         return delegate.encode(object);
     }
 
+    @Override
+    public void encodeTo(Object object, Appendable out) throws IOException {
+        if (object == null && handleNullObjects) {
+            out.append((CharSequence) null);
+            return;
+        }
+        delegate.encodeTo(object, out);
+    }
+
+    public Codec getDelegate() {
+        return delegate;
+    }
+
     @Override
     public String toString() {
         return "SafeCodec around " + delegate;
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.codecs;
+
+import net.radai.beanz.api.Codec;
+
+import java.io.IOException;
+
+/**
+ * a single-pass scanner for the bodies of the "[a, b]" and "{k=v}" formats.
+ * delimiters only count at the top level - anything inside nested brackets/braces belongs
+ * to the enclosing element, and a backslash escapes the structural character (or backslash) that follows it.
+ * a backslash followed by anything else is just a backslash, so data encoded before escaping was introduced
+ * (where a backslash was always literal) still decodes the same, unless it has a backslash right before a
+ * structural character.
+ * the (trimmed) element boundaries are recorded as the input is scanned, so callers know
+ * the element count (to pre-size their result) before decoding anything.
+ */
+final class Tokenizer {
+    private static final char ESCAPE = '\\';
+
+    private int[] bounds = new int[16]; //start and end of every element
+    private int size = 0;
+
+    private Tokenizer() {
+    }
+
+    /**
+     * splits the range on top-level occurrences of the delimiter. a range that is empty
+     * (or all whitespace) has no elements.
+     */
+    static Tokenizer split(CharSequence s, int start, int end, char delimiter) {
+        Tokenizer tokenizer = new Tokenizer();
+        if (Ranges.trimStart(s, start, end) == end) {
+            return tokenizer;
+        }
+        int from = start;
+        while (true) {
+            int at = indexOf(s, delimiter, from, end);
+            tokenizer.add(s, from, at);
+            if (at == end) {
+                return tokenizer;
+            }
+            from = at + 1;
+        }
+    }
+
+    /**
+     * @return the index of the first top-level occurrence of c in the range, or end if there is none
+     */
+    static int indexOf(CharSequence s, char c, int start, int end) {
+        int depth = 0;
+        for (int i = start; i < end; i++) {
+            char ch = s.charAt(i);
+            if (ch == ESCAPE && i + 1 < end && isEscapable(s.charAt(i + 1))) {
+                i++; //skip whatever is escaped
+            } else if (ch == c && depth == 0) {
+                return i;
+            } else if (ch == '[' || ch == '{') {
+                depth++;
+            } else if (ch == ']' || ch == '}') {
+                if (--depth < 0) {
+                    throw new IllegalArgumentException("unbalanced '" + ch + "' at " + i + " in " + s.subSequence(start, end));
+                }
+            }
+        }
+        if (depth != 0) {
+            throw new IllegalArgumentException("unbalanced brackets in " + s.subSequence(start, end));
+        }
+        return end;
+    }
+
+    /**
+     * decodes a single element. escaped characters are unescaped before handing the element to a leaf codec,
+     * while nested composite codecs get the raw range (and deal with escaping themselves)
+     */
+    static Object decodeElement(Codec codec, CharSequence s, int start, int end) {
+        if (!isStructured(codec) && !isPlain(codec)) {
+            int escape = Ranges.indexOf(s, ESCAPE, start, end);
+            if (escape < end) {
+                StringBuilder sb = new StringBuilder(end - start);
+                sb.append(s, start, escape);
+                for (int i = escape; i < end; i++) {
+                    char ch = s.charAt(i);
+                    if (ch == ESCAPE && i + 1 < end && isEscapable(s.charAt(i + 1))) {
+                        ch = s.charAt(++i);
+                    }
+                    sb.append(ch);
+                }
+                return codec.decode(sb.toString());
+            }
+        }
+        return codec.decode(s, start, end);
+    }
+
+    /**
+     * encodes a single element, escaping any character a leaf codec produces that would otherwise
+     * be mistaken for structure
+     */
+    static void encodeElement(Codec codec, Object element, Appendable out) throws IOException {
+        if (isStructured(codec) || isPlain(codec)) {
+            codec.encodeTo(element, out);
+            return;
+        }
+        String encoded = codec.encode(element);
+        if (encoded == null) {
+            out.append((CharSequence) null);
+            return;
+        }
+        for (int i = 0; i < encoded.length(); i++) {
+            char ch = encoded.charAt(i);
+            if (isEscapable(ch)) {
+                out.append(ESCAPE);
+            }
+            out.append(ch);
+        }
+    }
+
+    /**
+     * @return true for the characters that are escaped in (leaf) elements
+     */
+    private static boolean isEscapable(char ch) {
+        switch (ch) {
+            case ESCAPE:
+            case ',':
+            case '=':
+            case '[':
+            case ']':
+            case '{':
+            case '}':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @return true for codecs that produce (and parse) their own brackets/braces
+     */
+    static boolean isStructured(Codec codec) {
+        if (codec instanceof SafeCodec) {
+            codec = ((SafeCodec) codec).getDelegate();
+        }
+        return codec instanceof CollectionCodec || codec instanceof ArrayCodec || codec instanceof MapCodec;
+    }
+
+    /**
+     * @return true for codecs whose output never needs escaping (numbers and booleans)
+     */
+    private static boolean isPlain(Codec codec) {
+        if (codec instanceof SafeCodec) {
+            codec = ((SafeCodec) codec).getDelegate();
+        }
+        return codec instanceof PrimitiveCodec && codec != Codecs.CHAR_CODEC;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int start(int index) {
+        return bounds[2 * index];
+    }
+
+    int end(int index) {
+        return bounds[2 * index + 1];
+    }
+
+    private void add(CharSequence s, int start, int end) {
+        if (2 * size == bounds.length) {
+            int[] expanded = new int[2 * bounds.length];
+            System.arraycopy(bounds, 0, expanded, 0, bounds.length);
+            bounds = expanded;
+        }
+        start = Ranges.trimStart(s, start, end);
+        bounds[2 * size] = start;
+        bounds[2 * size + 1] = Ranges.trimEnd(s, start, end);
+        size++;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.csv;
+
+import net.radai.beanz.api.BeanAccessor;
+import net.radai.beanz.api.BeanDescriptor;
+import net.radai.beanz.api.Codec;
+import net.radai.beanz.api.PropertyDescriptor;
+import net.radai.beanz.codecs.Codecs;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * the plan for a sequence of csv columns - which property (and codec) every column maps to,
+ * resolved once per file. int, long, double and boolean properties that use the built-in codecs
+ * are read and written without boxing.
+ */
+final class Columns {
+    static final int OBJECT = 0;
+    static final int INT = 1;
+    static final int LONG = 2;
+    static final int DOUBLE = 3;
+    static final int BOOLEAN = 4;
+
+    final BeanAccessor accessor;
+    final List<String> names;
+    final int[] ordinals; //-1 for columns that are not mapped to a property
+    final PropertyDescriptor[] properties;
+    final Codec[] codecs;
+    final int[] kinds;
+
+    /**
+     * @param descriptor bean class
+     * @param names column names
+     * @param reading true to map columns to writable properties, false to map them to readable ones
+     * @param strict true to reject columns that cant be mapped, false to ignore them
+     */
+    Columns(BeanDescriptor descriptor, List<String> names, boolean reading, boolean strict) {
+        this.accessor = descriptor.getAccessor();
+        this.names = Collections.unmodifiableList(names);
+        int size = names.size();
+        ordinals = new int[size];
+        properties = new PropertyDescriptor[size];
+        codecs = new Codec[size];
+        kinds = new int[size];
+        for (int i = 0; i < size; i++) {
+            String name = names.get(i);
+            int ordinal = accessor.indexOf(name);
+            PropertyDescriptor property = ordinal >= 0 ? accessor.getProperty(ordinal) : null;
+            Codec codec = property != null && (reading ? property.isWritable() : property.isReadable()) ? property.getCodec() : null;
+            if (codec == null) {
+                if (strict) {
+                    throw new IllegalArgumentException("column " + name + " is not a " + (reading ? "writable" : "readable")
+                            + " property of " + descriptor + " with a codec");
+                }
+                ordinals[i] = -1;
+                continue;
+            }
+            ordinals[i] = ordinal;
+            properties[i] = property;
+            codecs[i] = codec;
+            kinds[i] = kindOf(property, codec);
+        }
+    }
+
+    int size() {
+        return ordinals.length;
+    }
+
+    private static int kindOf(PropertyDescriptor property, Codec codec) {
+        Object type = property.getValueType();
+        if (type == int.class && codec == Codecs.INT_CODEC) {
+            return INT;
+        }
+        if (type == long.class && codec == Codecs.LONG_CODEC) {
+            return LONG;
+        }
+        if (type == double.class && codec == Codecs.DOUBLE_CODEC) {
+            return DOUBLE;
+        }
+        if (type == boolean.class && codec == Codecs.BOOLEAN_CODEC) {
+            return BOOLEAN;
+        }
+        return OBJECT;
+    }
+}
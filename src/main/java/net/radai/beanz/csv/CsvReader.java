@@ -0,0 +1,281 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.csv;
+
+import net.radai.beanz.api.BeanDescriptor;
+import net.radai.beanz.codecs.PrimitiveCodec;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * streams beans out of csv (RFC 4180 - quoted fields may contain commas, line breaks and doubled quotes).
+ * the 1st record is the header, and is mapped to properties once. columns that are not writable properties
+ * (with a codec) are ignored. records are parsed one at a time into a single reused buffer, and decoded straight
+ * out of it, so the whole input is never held in memory. {@link #readInto(Object)} refills the same bean for
+ * every record, which for primitive properties does not create any garbage at all.
+ * an empty unquoted field is null, while "" is an empty string. empty lines are skipped, except in single column
+ * files - where they are records with a null value. not thread safe.
+ * @param <T> bean class
+ */
+public final class CsvReader<T> implements Closeable {
+    private final BeanDescriptor descriptor;
+    private final Reader in;
+    private final char[] buffer = new char[8192];
+    private int position = 0;
+    private int limit = 0;
+    private final StringBuilder line = new StringBuilder(256); //the unquoted fields of the current record, back to back
+    private int[] bounds = new int[32]; //start and end of every field in line
+    private boolean[] quoted = new boolean[16];
+    private int fields = 0;
+    private long recordNumber = 0;
+    private final Columns columns;
+
+    public CsvReader(BeanDescriptor descriptor, Reader in) throws IOException {
+        if (descriptor == null || in == null) {
+            throw new IllegalArgumentException();
+        }
+        this.descriptor = descriptor;
+        this.in = in;
+        List<String> header = new ArrayList<>();
+        if (readRecord()) {
+            for (int i = 0; i < fields; i++) {
+                header.add(line.substring(bounds[2 * i], bounds[2 * i + 1]));
+            }
+        }
+        this.columns = new Columns(descriptor, header, true, false);
+    }
+
+    /**
+     * reads utf-8 encoded csv
+     */
+    public CsvReader(BeanDescriptor descriptor, InputStream in) throws IOException {
+        this(descriptor, new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    public BeanDescriptor getDescriptor() {
+        return descriptor;
+    }
+
+    /**
+     * @return the column names, as they appear in the header
+     */
+    public List<String> getHeader() {
+        return columns.names;
+    }
+
+    /**
+     * @return the number of the last record read (the header is record 1)
+     */
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    /**
+     * @return a new bean populated from the next record, or null if there are no more records
+     * @throws IllegalArgumentException if the record is malformed or a value cant be decoded
+     */
+    public T read() throws IOException {
+        if (!readRecord()) {
+            return null;
+        }
+        T bean = newInstance();
+        bind(bean);
+        return bean;
+    }
+
+    /**
+     * populates an existing bean from the next record. properties not in the file are left as-is
+     * @param bean bean to populate
+     * @return true if a record was read, false if there are no more records
+     * @throws IllegalArgumentException if the record is malformed or a value cant be decoded
+     */
+    public boolean readInto(T bean) throws IOException {
+        if (bean == null) {
+            throw new IllegalArgumentException();
+        }
+        if (!readRecord()) {
+            return false;
+        }
+        bind(bean);
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private void bind(T bean) {
+        if (fields > columns.size()) {
+            throw new IllegalArgumentException("record " + recordNumber + " has " + fields + " fields, while the header has " + columns.size());
+        }
+        for (int i = 0; i < fields; i++) {
+            int ordinal = columns.ordinals[i];
+            if (ordinal < 0) {
+                continue;
+            }
+            int start = bounds[2 * i];
+            int end = bounds[2 * i + 1];
+            boolean isNull = start == end && !quoted[i];
+            try {
+                switch (isNull ? Columns.OBJECT : columns.kinds[i]) {
+                    case Columns.INT:
+                        columns.properties[i].setInt(bean, PrimitiveCodec.parseInt(line, start, end));
+                        break;
+                    case Columns.LONG:
+                        columns.properties[i].setLong(bean, PrimitiveCodec.parseLong(line, start, end));
+                        break;
+                    case Columns.DOUBLE:
+                        columns.properties[i].setDouble(bean, PrimitiveCodec.parseDouble(line, start, end));
+                        break;
+                    case Columns.BOOLEAN:
+                        columns.properties[i].setBoolean(bean, PrimitiveCodec.parseBoolean(line, start, end));
+                        break;
+                    default:
+                        Object value = isNull ? null : columns.codecs[i].decode(line, start, end);
+                        columns.accessor.set(bean, ordinal, value);
+                }
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("record " + recordNumber + ": unable to set " + columns.names.get(i)
+                        + " to \"" + line.substring(start, end) + "\"", e);
+            }
+        }
+    }
+
+    /**
+     * reads the next record into line and bounds. empty lines are skipped, unless they are a (null) value
+     * in a single column file
+     * @return false if there are no more records
+     */
+    private boolean readRecord() throws IOException {
+        line.setLength(0);
+        fields = 0;
+        int c = next();
+        boolean skipEmptyLines = columns == null || columns.size() != 1; //columns is null while reading the header
+        while (skipEmptyLines && (c == '\r' || c == '\n')) {
+            c = next();
+        }
+        if (c < 0) {
+            return false;
+        }
+        recordNumber++;
+        while (true) {
+            int start = line.length();
+            boolean isQuoted = c == '"';
+            if (isQuoted) {
+                while (true) {
+                    c = next();
+                    if (c < 0) {
+                        throw new IllegalArgumentException("record " + recordNumber + ": unterminated quoted field");
+                    }
+                    if (c == '"') {
+                        c = next();
+                        if (c != '"') {
+                            break; //closing quote
+                        }
+                    }
+                    line.append((char) c);
+                }
+                if (c >= 0 && c != ',' && c != '\r' && c != '\n') {
+                    throw new IllegalArgumentException("record " + recordNumber + ": unexpected '" + (char) c + "' after a quoted field");
+                }
+            } else {
+                while (c >= 0 && c != ',' && c != '\r' && c != '\n') {
+                    line.append((char) c);
+                    c = next();
+                }
+            }
+            addField(start, line.length(), isQuoted);
+            if (c != ',') {
+                break;
+            }
+            c = next();
+        }
+        if (c == '\r' && peek() == '\n') {
+            position++;
+        }
+        return true;
+    }
+
+    private void addField(int start, int end, boolean isQuoted) {
+        if (fields == quoted.length) {
+            int[] expandedBounds = new int[2 * bounds.length];
+            System.arraycopy(bounds, 0, expandedBounds, 0, bounds.length);
+            bounds = expandedBounds;
+            boolean[] expandedQuoted = new boolean[2 * quoted.length];
+            System.arraycopy(quoted, 0, expandedQuoted, 0, quoted.length);
+            quoted = expandedQuoted;
+        }
+        bounds[2 * fields] = start;
+        bounds[2 * fields + 1] = end;
+        quoted[fields] = isQuoted;
+        fields++;
+    }
+
+    private int next() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = in.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        if (read < 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T newInstance() {
+        Class<?> beanClass = descriptor.getBeanClass();
+        try {
+            return (T) beanClass.newInstance();
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new IllegalArgumentException("unable to instantiate class " + beanClass, e);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.csv;
+
+import net.radai.beanz.api.BeanDescriptor;
+import net.radai.beanz.api.PropertyDescriptor;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * streams beans into csv (RFC 4180, with CRLF line breaks), starting with a header of the column names.
+ * every record is encoded into a single reused buffer before being written out, and primitive properties
+ * are written without boxing. fields are quoted only when they need to be - when they contain a comma,
+ * a quote or a line break, and for empty strings (an empty unquoted field is null). the header is written before
+ * the 1st record, or on flush/close if there are no records, so the output is always readable. not thread safe.
+ * @param <T> bean class
+ */
+public final class CsvWriter<T> implements Closeable, Flushable {
+    private final BeanDescriptor descriptor;
+    private final Writer out;
+    private final Columns columns;
+    private final StringBuilder line = new StringBuilder(256);
+    private char[] chars = new char[256];
+    private boolean headerWritten = false;
+
+    /**
+     * writes all the readable properties (that have a codec) of the bean, in ordinal order
+     */
+    public CsvWriter(BeanDescriptor descriptor, Writer out) {
+        this(descriptor, readableProperties(descriptor), out);
+    }
+
+    /**
+     * @param descriptor bean class
+     * @param columns names of the properties to write, in order
+     * @param out where to write to
+     * @throws IllegalArgumentException if any of the columns is not a readable property with a codec
+     */
+    public CsvWriter(BeanDescriptor descriptor, List<String> columns, Writer out) {
+        if (descriptor == null || columns == null || columns.isEmpty() || out == null) {
+            throw new IllegalArgumentException();
+        }
+        this.descriptor = descriptor;
+        this.out = out;
+        this.columns = new Columns(descriptor, new ArrayList<>(columns), false, true);
+    }
+
+    /**
+     * writes all the readable properties of the bean as utf-8 encoded csv
+     */
+    public CsvWriter(BeanDescriptor descriptor, OutputStream out) {
+        this(descriptor, new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+    }
+
+    public BeanDescriptor getDescriptor() {
+        return descriptor;
+    }
+
+    public List<String> getHeader() {
+        return columns.names;
+    }
+
+    /**
+     * writes a record (preceded by the header, if this is the 1st)
+     * @param bean bean to write
+     */
+    public void write(T bean) throws IOException {
+        if (bean == null) {
+            throw new IllegalArgumentException();
+        }
+        writeHeader();
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            PropertyDescriptor property = columns.properties[i];
+            switch (columns.kinds[i]) {
+                case Columns.INT:
+                    line.append(property.getInt(bean));
+                    break;
+                case Columns.LONG:
+                    line.append(property.getLong(bean));
+                    break;
+                case Columns.DOUBLE:
+                    line.append(property.getDouble(bean));
+                    break;
+                case Columns.BOOLEAN:
+                    line.append(property.getBoolean(bean));
+                    break;
+                default:
+                    Object value = columns.accessor.get(bean, columns.ordinals[i]);
+                    if (value == null) {
+                        break; //null is an empty field
+                    }
+                    int start = line.length();
+                    columns.codecs[i].encodeTo(value, line);
+                    quoteIfNeeded(start);
+            }
+        }
+        writeLine();
+    }
+
+    public void writeAll(Iterable<? extends T> beans) throws IOException {
+        writeHeader();
+        for (T bean : beans) {
+            write(bean);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writeHeader();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            writeHeader();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        if (headerWritten) {
+            return;
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            int start = line.length();
+            line.append(columns.names.get(i));
+            quoteIfNeeded(start);
+        }
+        writeLine();
+        headerWritten = true;
+    }
+
+    private void quoteIfNeeded(int start) {
+        int end = line.length();
+        boolean needed = start == end; //an empty string, as opposed to null
+        for (int i = start; i < end && !needed; i++) {
+            char c = line.charAt(i);
+            needed = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!needed) {
+            return;
+        }
+        String field = line.substring(start, end);
+        line.setLength(start);
+        line.append('"');
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    private void writeLine() throws IOException {
+        line.append('\r').append('\n');
+        int length = line.length();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, 2 * chars.length)];
+        }
+        line.getChars(0, length, chars, 0);
+        out.write(chars, 0, length);
+        line.setLength(0);
+    }
+
+    private static List<String> readableProperties(BeanDescriptor descriptor) {
+        if (descriptor == null) {
+            throw new IllegalArgumentException();
+        }
+        List<String> names = new ArrayList<>();
+        for (PropertyDescriptor property : descriptor.getProperties().values()) {
+            if (property.isReadable() && property.getCodec() != null) {
+                names.add(property.getName());
+            }
+        }
+        return names;
+    }
+}
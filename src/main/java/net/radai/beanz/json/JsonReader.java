@@ -0,0 +1,522 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.json;
+
+import net.radai.beanz.api.BeanAccessor;
+import net.radai.beanz.api.BeanDescriptor;
+import net.radai.beanz.api.PropertyDescriptor;
+import net.radai.beanz.codecs.PrimitiveCodec;
+import net.radai.beanz.util.ReflectionUtil;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * streams beans in from utf-8 json - a sequence of json objects (say, one per line), each populating a bean.
+ * property names are matched by comparing their bytes against those of the (writable, with a codec) properties
+ * of the bean, so no strings are created for them, and members that are not such properties are skipped.
+ * scalars are decoded with their codec straight out of a reused buffer, whether they are json strings or
+ * literals, and primitive properties are set without boxing. not thread safe.
+ * @param <T> bean class
+ */
+public final class JsonReader<T> implements Closeable {
+    private final BeanDescriptor descriptor;
+    private final InputStream in;
+    private final BeanAccessor accessor;
+    private final PropertyDescriptor[] properties;
+    private final int[] ordinals;
+    private final Shape[] shapes;
+    private final int[] kinds;
+    private final byte[][] names; //utf-8 encoded property names
+    private final int[] table; //open addressing hash table of indices into the above, -1 for empty slots
+    private final byte[] buffer = new byte[8192];
+    private int position = 0;
+    private int limit = 0;
+    private long offset = 0; //of the start of the buffer in the input
+    private byte[] name = new byte[64]; //scratch for member names
+    private final StringBuilder text = new StringBuilder(64); //scratch for scalars
+
+    public JsonReader(BeanDescriptor descriptor, InputStream in) {
+        if (descriptor == null || in == null) {
+            throw new IllegalArgumentException();
+        }
+        this.descriptor = descriptor;
+        this.in = in;
+        this.accessor = descriptor.getAccessor();
+        List<PropertyDescriptor> properties = new ArrayList<>();
+        List<Shape> shapes = new ArrayList<>();
+        for (int i = 0; i < accessor.size(); i++) {
+            PropertyDescriptor property = accessor.getProperty(i);
+            Shape shape = property.isWritable() ? Shape.of(property) : null;
+            if (shape != null) {
+                properties.add(property);
+                shapes.add(shape);
+            }
+        }
+        int size = properties.size();
+        this.properties = properties.toArray(new PropertyDescriptor[size]);
+        this.shapes = shapes.toArray(new Shape[size]);
+        this.ordinals = new int[size];
+        this.kinds = new int[size];
+        this.names = new byte[size][];
+        this.table = new int[Integer.highestOneBit(Math.max(size, 1) * 2) * 2];
+        Arrays.fill(table, -1);
+        int mask = table.length - 1;
+        for (int i = 0; i < size; i++) {
+            PropertyDescriptor property = this.properties[i];
+            ordinals[i] = accessor.indexOf(property.getName());
+            kinds[i] = Primitives.kindOf(property, this.shapes[i].codec);
+            names[i] = property.getName().getBytes(StandardCharsets.UTF_8);
+            int slot = hash(names[i], names[i].length) & mask;
+            while (table[slot] >= 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = i;
+        }
+    }
+
+    public BeanDescriptor getDescriptor() {
+        return descriptor;
+    }
+
+    /**
+     * @return a new bean populated from the next json object, or null if there are no more
+     * @throws IllegalArgumentException if the json is malformed or a value cant be decoded
+     */
+    public T read() throws IOException {
+        if (skipWhitespace() < 0) {
+            return null;
+        }
+        T bean = newInstance();
+        readObject(bean);
+        return bean;
+    }
+
+    /**
+     * populates an existing bean from the next json object. properties not in the object are left as-is
+     * @param bean bean to populate
+     * @return true if an object was read, false if there are no more
+     * @throws IllegalArgumentException if the json is malformed or a value cant be decoded
+     */
+    public boolean readInto(T bean) throws IOException {
+        if (bean == null) {
+            throw new IllegalArgumentException();
+        }
+        if (skipWhitespace() < 0) {
+            return false;
+        }
+        readObject(bean);
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private void readObject(T bean) throws IOException {
+        expect('{');
+        if (skipWhitespace() == '}') {
+            position++;
+            return;
+        }
+        while (true) {
+            skipWhitespace();
+            expect('"');
+            int index = readName();
+            skipWhitespace();
+            expect(':');
+            int c = skipWhitespace();
+            if (index < 0) {
+                skipValue();
+            } else {
+                readProperty(bean, index, c);
+            }
+            c = skipWhitespace();
+            position++;
+            if (c == '}') {
+                return;
+            }
+            if (c != ',') {
+                throw unexpected(c);
+            }
+        }
+    }
+
+    private void readProperty(T bean, int index, int c) throws IOException {
+        long at = offset + position;
+        try {
+            if (kinds[index] != Primitives.OBJECT && c != 'n' && c != '"') {
+                readLiteral();
+                PropertyDescriptor property = properties[index];
+                switch (kinds[index]) {
+                    case Primitives.INT:
+                        property.setInt(bean, PrimitiveCodec.parseInt(text, 0, text.length()));
+                        break;
+                    case Primitives.LONG:
+                        property.setLong(bean, PrimitiveCodec.parseLong(text, 0, text.length()));
+                        break;
+                    case Primitives.DOUBLE:
+                        property.setDouble(bean, PrimitiveCodec.parseDouble(text, 0, text.length()));
+                        break;
+                    default:
+                        property.setBoolean(bean, PrimitiveCodec.parseBoolean(text, 0, text.length()));
+                }
+                return;
+            }
+            accessor.set(bean, ordinals[index], readValue(shapes[index]));
+        } catch (IllegalArgumentException | IllegalStateException | NullPointerException | ClassCastException e) {
+            throw new IllegalArgumentException("unable to set " + properties[index].getName() + " from the value at " + at, e);
+        }
+    }
+
+    private Object readValue(Shape shape) throws IOException {
+        int c = skipWhitespace();
+        if (c == 'n') {
+            readLiteral();
+            if (!"null".contentEquals(text)) {
+                throw new IllegalArgumentException("unexpected " + text + " at " + (offset + position));
+            }
+            return null;
+        }
+        switch (shape.kind) {
+            case Shape.ARRAY:
+            case Shape.COLLECTION:
+                @SuppressWarnings("unchecked")
+                Collection<Object> elements = shape.kind == Shape.COLLECTION
+                        ? (Collection<Object>) ReflectionUtil.instantiateCollection(ReflectionUtil.erase(shape.type))
+                        : new ArrayList<>(); //arrays are sized once all the elements are in
+                expect('[');
+                if (skipWhitespace() == ']') {
+                    position++;
+                } else {
+                    while (true) {
+                        elements.add(readValue(shape.element));
+                        c = skipWhitespace();
+                        position++;
+                        if (c == ']') {
+                            break;
+                        }
+                        if (c != ',') {
+                            throw unexpected(c);
+                        }
+                    }
+                }
+                if (shape.kind == Shape.COLLECTION) {
+                    return elements;
+                }
+                Object array = ReflectionUtil.instatiateArray(shape.element.type, elements.size());
+                int i = 0;
+                for (Object element : elements) {
+                    Array.set(array, i++, element);
+                }
+                return array;
+            case Shape.MAP:
+                @SuppressWarnings("unchecked")
+                Map<Object, Object> map = (Map<Object, Object>) ReflectionUtil.instantiateMap(ReflectionUtil.erase(shape.type));
+                expect('{');
+                if (skipWhitespace() == '}') {
+                    position++;
+                    return map;
+                }
+                while (true) {
+                    skipWhitespace();
+                    expect('"');
+                    readString();
+                    Object key = shape.codec.decode(text, 0, text.length());
+                    skipWhitespace();
+                    expect(':');
+                    map.put(key, readValue(shape.element));
+                    c = skipWhitespace();
+                    position++;
+                    if (c == '}') {
+                        return map;
+                    }
+                    if (c != ',') {
+                        throw unexpected(c);
+                    }
+                }
+            default:
+                if (c == '"') {
+                    position++;
+                    readString();
+                } else {
+                    readLiteral();
+                }
+                return shape.codec.decode(text, 0, text.length());
+        }
+    }
+
+    /**
+     * reads a member name (the opening quote has been consumed) into name, unescaped but still utf-8 encoded
+     * @return the index of the matching property, or -1 if there is none
+     */
+    private int readName() throws IOException {
+        int length = 0;
+        while (true) {
+            int c = next();
+            if (c == '"') {
+                break;
+            }
+            if (c == '\\') {
+                int escaped = readEscape();
+                if (escaped >= 0x80) {
+                    //rare enough to go through a String
+                    byte[] encoded = String.valueOf((char) escaped).getBytes(StandardCharsets.UTF_8);
+                    for (byte b : encoded) {
+                        length = appendName(length, b);
+                    }
+                    continue;
+                }
+                c = escaped;
+            } else if (c < 0) {
+                throw new IllegalArgumentException("unterminated string at " + (offset + position));
+            }
+            length = appendName(length, c);
+        }
+        int mask = table.length - 1;
+        int slot = hash(name, length) & mask;
+        while (table[slot] >= 0) {
+            byte[] candidate = names[table[slot]];
+            if (candidate.length == length && equals(candidate, name, length)) {
+                return table[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int appendName(int length, int b) {
+        if (length == name.length) {
+            name = Arrays.copyOf(name, 2 * length);
+        }
+        name[length] = (byte) b;
+        return length + 1;
+    }
+
+    /**
+     * reads a string (the opening quote has been consumed) into text, decoding utf-8 and escapes
+     */
+    private void readString() throws IOException {
+        text.setLength(0);
+        while (true) {
+            int c = next();
+            if (c == '"') {
+                return;
+            }
+            if (c < 0) {
+                throw new IllegalArgumentException("unterminated string at " + (offset + position));
+            }
+            if (c == '\\') {
+                text.append((char) readEscape());
+            } else if (c < 0x80) {
+                text.append((char) c);
+            } else if (c < 0xE0) {
+                text.append((char) (((c & 0x1F) << 6) | continuation()));
+            } else if (c < 0xF0) {
+                text.append((char) (((c & 0x0F) << 12) | (continuation() << 6) | continuation()));
+            } else {
+                text.appendCodePoint(((c & 0x07) << 18) | (continuation() << 12) | (continuation() << 6) | continuation());
+            }
+        }
+    }
+
+    private int continuation() throws IOException {
+        int c = next();
+        if ((c & 0xC0) != 0x80) {
+            throw new IllegalArgumentException("malformed utf-8 at " + (offset + position));
+        }
+        return c & 0x3F;
+    }
+
+    /**
+     * @return the character escaped by a backslash (that has been consumed)
+     */
+    private int readEscape() throws IOException {
+        int c = next();
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                return c;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(next(), 16);
+                    if (digit < 0) {
+                        throw new IllegalArgumentException("malformed unicode escape at " + (offset + position));
+                    }
+                    value = (value << 4) | digit;
+                }
+                return value;
+            default:
+                throw unexpected(c);
+        }
+    }
+
+    /**
+     * reads a bare literal (number, true, false, null) into text
+     */
+    private void readLiteral() throws IOException {
+        text.setLength(0);
+        while (true) {
+            int c = peek();
+            if (c < 0 || c == ',' || c == '}' || c == ']' || c == ' ' || c == '\t' || c == '\r' || c == '\n') {
+                break;
+            }
+            text.append((char) c);
+            position++;
+        }
+        if (text.length() == 0) {
+            throw unexpected(peek());
+        }
+    }
+
+    private void skipValue() throws IOException {
+        int c = skipWhitespace();
+        if (c == '"') {
+            position++;
+            readString();
+        } else if (c == '{' || c == '[') {
+            position++;
+            int depth = 1;
+            while (depth > 0) {
+                c = next();
+                if (c < 0) {
+                    throw unexpected(c);
+                } else if (c == '"') {
+                    readString();
+                } else if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                }
+            }
+        } else {
+            readLiteral();
+        }
+    }
+
+    private void expect(char expected) throws IOException {
+        int c = next();
+        if (c != expected) {
+            throw unexpected(c);
+        }
+    }
+
+    private IllegalArgumentException unexpected(int c) {
+        if (c < 0) {
+            return new IllegalArgumentException("unexpected end of input");
+        }
+        return new IllegalArgumentException("unexpected '" + (char) c + "' at " + (offset + position));
+    }
+
+    /**
+     * @return the next non-whitespace byte (not consumed), or -1 at the end of the input
+     */
+    private int skipWhitespace() throws IOException {
+        while (true) {
+            int c = peek();
+            if (c != ' ' && c != '\t' && c != '\r' && c != '\n') {
+                return c;
+            }
+            position++;
+        }
+    }
+
+    private int next() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position] & 0xFF;
+    }
+
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = in.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        if (read < 0) {
+            return false;
+        }
+        offset += limit;
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    private static int hash(byte[] bytes, int length) {
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean equals(byte[] a, byte[] b, int length) {
+        for (int i = 0; i < length; i++) {
+            if (a[i] != b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T newInstance() {
+        Class<?> beanClass = descriptor.getBeanClass();
+        try {
+            return (T) beanClass.newInstance();
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new IllegalArgumentException("unable to instantiate class " + beanClass, e);
+        }
+    }
+}
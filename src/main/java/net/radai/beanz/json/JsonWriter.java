@@ -0,0 +1,335 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.json;
+
+import net.radai.beanz.api.BeanAccessor;
+import net.radai.beanz.api.BeanDescriptor;
+import net.radai.beanz.api.PropertyDescriptor;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * streams beans out as utf-8 json, one object per line. every readable property that has a codec is written,
+ * in ordinal order, with null values written as null. property names are escaped and encoded once, and values
+ * are encoded into a reused buffer (primitive properties without boxing), so the only garbage is whatever
+ * the codecs of non-primitive values produce. not thread safe.
+ * @param <T> bean class
+ */
+public final class JsonWriter<T> implements Closeable, Flushable {
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final BeanDescriptor descriptor;
+    private final OutputStream out;
+    private final BeanAccessor accessor;
+    private final PropertyDescriptor[] properties;
+    private final int[] ordinals;
+    private final Shape[] shapes;
+    private final int[] kinds;
+    private final byte[][] prefixes; //,"name": (the 1st without the comma)
+    private final byte[] buffer = new byte[8192];
+    private int position = 0;
+    private final StringBuilder text = new StringBuilder(64); //scratch for encoded scalars
+
+    public JsonWriter(BeanDescriptor descriptor, OutputStream out) {
+        if (descriptor == null || out == null) {
+            throw new IllegalArgumentException();
+        }
+        this.descriptor = descriptor;
+        this.out = out;
+        this.accessor = descriptor.getAccessor();
+        List<PropertyDescriptor> properties = new ArrayList<>();
+        List<Shape> shapes = new ArrayList<>();
+        for (int i = 0; i < accessor.size(); i++) {
+            PropertyDescriptor property = accessor.getProperty(i);
+            Shape shape = property.isReadable() ? Shape.of(property) : null;
+            if (shape != null) {
+                properties.add(property);
+                shapes.add(shape);
+            }
+        }
+        int size = properties.size();
+        this.properties = properties.toArray(new PropertyDescriptor[size]);
+        this.shapes = shapes.toArray(new Shape[size]);
+        this.ordinals = new int[size];
+        this.kinds = new int[size];
+        this.prefixes = new byte[size][];
+        for (int i = 0; i < size; i++) {
+            PropertyDescriptor property = this.properties[i];
+            ordinals[i] = accessor.indexOf(property.getName());
+            kinds[i] = Primitives.kindOf(property, this.shapes[i].codec);
+            StringBuilder prefix = new StringBuilder(i == 0 ? "" : ",");
+            appendQuoted(property.getName(), prefix);
+            prefixes[i] = prefix.append(':').toString().getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    public BeanDescriptor getDescriptor() {
+        return descriptor;
+    }
+
+    /**
+     * writes a bean as a json object, followed by a line break
+     * @param bean bean to write
+     */
+    public void write(T bean) throws IOException {
+        if (bean == null) {
+            throw new IllegalArgumentException();
+        }
+        writeByte('{');
+        for (int i = 0; i < properties.length; i++) {
+            writeBytes(prefixes[i]);
+            switch (kinds[i]) {
+                case Primitives.INT:
+                    writeLiteral(text.append(properties[i].getInt(bean)));
+                    break;
+                case Primitives.LONG:
+                    writeLiteral(text.append(properties[i].getLong(bean)));
+                    break;
+                case Primitives.DOUBLE:
+                    writeNumber(text.append(properties[i].getDouble(bean)));
+                    break;
+                case Primitives.BOOLEAN:
+                    writeLiteral(text.append(properties[i].getBoolean(bean)));
+                    break;
+                default:
+                    writeValue(shapes[i], accessor.get(bean, ordinals[i]));
+            }
+        }
+        writeByte('}');
+        writeByte('\n');
+    }
+
+    public void writeAll(Iterable<? extends T> beans) throws IOException {
+        for (T bean : beans) {
+            write(bean);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        drain();
+        out.close();
+    }
+
+    private void writeValue(Shape shape, Object value) throws IOException {
+        if (value == null) {
+            writeBytes(NULL);
+            return;
+        }
+        switch (shape.kind) {
+            case Shape.ARRAY:
+                writeByte('[');
+                int length = Array.getLength(value);
+                for (int i = 0; i < length; i++) {
+                    if (i > 0) {
+                        writeByte(',');
+                    }
+                    writeValue(shape.element, Array.get(value, i));
+                }
+                writeByte(']');
+                break;
+            case Shape.COLLECTION:
+                writeByte('[');
+                boolean first = true;
+                for (Object element : (Collection<?>) value) {
+                    if (!first) {
+                        writeByte(',');
+                    }
+                    first = false;
+                    writeValue(shape.element, element);
+                }
+                writeByte(']');
+                break;
+            case Shape.MAP:
+                writeByte('{');
+                first = true;
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    if (!first) {
+                        writeByte(',');
+                    }
+                    first = false;
+                    shape.codec.encodeTo(entry.getKey(), text);
+                    writeString(text);
+                    writeByte(':');
+                    writeValue(shape.element, entry.getValue());
+                }
+                writeByte('}');
+                break;
+            default:
+                shape.codec.encodeTo(value, text);
+                if (shape.bare) {
+                    writeNumber(text);
+                } else {
+                    writeString(text);
+                }
+        }
+    }
+
+    /**
+     * writes (and clears) an encoded number or boolean - as a string if it isnt a valid json literal (NaN, Infinity)
+     */
+    private void writeNumber(StringBuilder encoded) throws IOException {
+        char first = encoded.length() > 0 ? encoded.charAt(0) : ' ';
+        char second = encoded.length() > 1 ? encoded.charAt(1) : ' ';
+        if ((first >= '0' && first <= '9') || (first == '-' && second >= '0' && second <= '9') || first == 't' || first == 'f') {
+            writeLiteral(encoded);
+        } else {
+            writeString(encoded);
+        }
+    }
+
+    /**
+     * writes (and clears) ascii text as-is
+     */
+    private void writeLiteral(StringBuilder literal) throws IOException {
+        for (int i = 0; i < literal.length(); i++) {
+            writeByte(literal.charAt(i));
+        }
+        literal.setLength(0);
+    }
+
+    /**
+     * writes (and clears) text as a quoted, escaped, utf-8 encoded json string
+     */
+    private void writeString(StringBuilder s) throws IOException {
+        writeByte('"');
+        int length = s.length();
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                if (c == '"' || c == '\\') {
+                    writeByte('\\');
+                    writeByte(c);
+                } else if (c < 0x20) {
+                    writeEscaped(c);
+                } else {
+                    writeByte(c);
+                }
+            } else if (c < 0x800) {
+                writeByte(0xC0 | (c >> 6));
+                writeByte(0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, s.charAt(++i));
+                writeByte(0xF0 | (codePoint >> 18));
+                writeByte(0x80 | ((codePoint >> 12) & 0x3F));
+                writeByte(0x80 | ((codePoint >> 6) & 0x3F));
+                writeByte(0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                writeEscaped(c); //unpaired, cant be utf-8 encoded
+            } else {
+                writeByte(0xE0 | (c >> 12));
+                writeByte(0x80 | ((c >> 6) & 0x3F));
+                writeByte(0x80 | (c & 0x3F));
+            }
+        }
+        writeByte('"');
+        s.setLength(0);
+    }
+
+    private void writeEscaped(char c) throws IOException {
+        switch (c) {
+            case '\n':
+                writeByte('\\');
+                writeByte('n');
+                break;
+            case '\r':
+                writeByte('\\');
+                writeByte('r');
+                break;
+            case '\t':
+                writeByte('\\');
+                writeByte('t');
+                break;
+            default:
+                writeByte('\\');
+                writeByte('u');
+                writeByte(HEX[(c >> 12) & 0xF]);
+                writeByte(HEX[(c >> 8) & 0xF]);
+                writeByte(HEX[(c >> 4) & 0xF]);
+                writeByte(HEX[c & 0xF]);
+        }
+    }
+
+    private void writeByte(int b) throws IOException {
+        if (position == buffer.length) {
+            drain();
+        }
+        buffer[position++] = (byte) b;
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        if (buffer.length - position < bytes.length) {
+            drain();
+            if (bytes.length > buffer.length) {
+                out.write(bytes);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void drain() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    /**
+     * appends a property name as a json string (only used for the precomputed prefixes)
+     */
+    private static void appendQuoted(String s, StringBuilder out) {
+        out.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c < 0x20) {
+                out.append(String.format("\\u%04x", (int) c));
+            } else {
+                out.append(c);
+            }
+        }
+        out.append('"');
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.json;
+
+import net.radai.beanz.api.Codec;
+import net.radai.beanz.api.PropertyDescriptor;
+import net.radai.beanz.codecs.Codecs;
+
+/**
+ * int, long, double and boolean properties that use the built-in codecs are read and written without boxing
+ */
+final class Primitives {
+    static final int OBJECT = 0;
+    static final int INT = 1;
+    static final int LONG = 2;
+    static final int DOUBLE = 3;
+    static final int BOOLEAN = 4;
+
+    private Primitives() {
+        //utility class
+    }
+
+    static int kindOf(PropertyDescriptor property, Codec codec) {
+        Object type = property.getValueType();
+        if (type == int.class && codec == Codecs.INT_CODEC) {
+            return INT;
+        }
+        if (type == long.class && codec == Codecs.LONG_CODEC) {
+            return LONG;
+        }
+        if (type == double.class && codec == Codecs.DOUBLE_CODEC) {
+            return DOUBLE;
+        }
+        if (type == boolean.class && codec == Codecs.BOOLEAN_CODEC) {
+            return BOOLEAN;
+        }
+        return OBJECT;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.json;
+
+import net.radai.beanz.api.ArrayPropertyDescriptor;
+import net.radai.beanz.api.BeanDescriptor;
+import net.radai.beanz.api.Codec;
+import net.radai.beanz.api.CollectionPropertyDescriptor;
+import net.radai.beanz.api.MapPropertyDescriptor;
+import net.radai.beanz.api.PropertyDescriptor;
+import net.radai.beanz.codecs.Codecs;
+import net.radai.beanz.codecs.PrimitiveCodec;
+import net.radai.beanz.codecs.SafeCodec;
+import net.radai.beanz.util.ReflectionUtil;
+
+import java.lang.reflect.Type;
+
+/**
+ * how a value of some type maps to json, resolved once per property. scalars are encoded with their codec -
+ * numbers and booleans as bare json literals, anything else as json strings. arrays and collections become
+ * json arrays, and maps become json objects (keys are encoded with the key codec).
+ */
+final class Shape {
+    static final int SCALAR = 0;
+    static final int ARRAY = 1;
+    static final int COLLECTION = 2;
+    static final int MAP = 3;
+
+    final int kind;
+    final Type type;
+    final Codec codec; //scalar codec, or the key codec of maps
+    final boolean bare; //scalars written as json literals rather than strings
+    final Shape element; //elements of arrays/collections, values of maps
+
+    private Shape(int kind, Type type, Codec codec, Shape element) {
+        this.kind = kind;
+        this.type = type;
+        this.codec = codec;
+        this.bare = kind == SCALAR && isBare(codec);
+        this.element = element;
+    }
+
+    /**
+     * @return the shape of a property, or null if some part of it has no codec
+     */
+    static Shape of(PropertyDescriptor property) {
+        BeanDescriptor bean = property.getContainingBeanDescriptor();
+        Type type = property.getValueType();
+        switch (property.getType()) {
+            case ARRAY:
+                return container(ARRAY, type, of(bean, ((ArrayPropertyDescriptor) property).getElementType()));
+            case COLLECTION:
+                return container(COLLECTION, type, of(bean, ((CollectionPropertyDescriptor) property).getElementType()));
+            case MAP:
+                MapPropertyDescriptor mapProperty = (MapPropertyDescriptor) property;
+                return map(type, bean.getCodec(mapProperty.getKeyType()), of(bean, mapProperty.getElementType()));
+            default:
+                return scalar(type, property.getCodec());
+        }
+    }
+
+    private static Shape of(BeanDescriptor bean, Type type) {
+        if (ReflectionUtil.isArray(type)) {
+            return container(ARRAY, type, of(bean, ReflectionUtil.getElementType(type)));
+        }
+        if (ReflectionUtil.isCollection(type)) {
+            return container(COLLECTION, type, of(bean, ReflectionUtil.getElementType(type)));
+        }
+        if (ReflectionUtil.isMap(type)) {
+            return map(type, bean.getCodec(ReflectionUtil.getKeyType(type)), of(bean, ReflectionUtil.getElementType(type)));
+        }
+        return scalar(type, bean.getCodec(type));
+    }
+
+    private static Shape scalar(Type type, Codec codec) {
+        return codec != null ? new Shape(SCALAR, type, codec, null) : null;
+    }
+
+    private static Shape container(int kind, Type type, Shape element) {
+        return element != null ? new Shape(kind, type, null, element) : null;
+    }
+
+    private static Shape map(Type type, Codec keyCodec, Shape value) {
+        return keyCodec != null && value != null ? new Shape(MAP, type, keyCodec, value) : null;
+    }
+
+    private static boolean isBare(Codec codec) {
+        if (codec instanceof SafeCodec) {
+            codec = ((SafeCodec) codec).getDelegate();
+        }
+        return codec instanceof PrimitiveCodec && codec != Codecs.CHAR_CODEC;
+    }
+}
@@ -0,0 +1,486 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.properties;
+
+import net.radai.beanz.api.AccessStrategy;
+import net.radai.beanz.api.FieldAccessMode;
+import net.radai.beanz.util.ReflectionUtil;
+import org.apache.commons.lang3.ClassUtils;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * builds the functions property descriptors use to read and write bean members.
+ * <br>
+ * all access paths (reflection, method handles, spun lambdas and generated accessors) fail the same way:
+ * a bean or value that does not fit the member is an IllegalArgumentException, and anything thrown by the
+ * member itself (checked or not) is wrapped in an IllegalStateException. errors propagate as-is.
+ */
+public class Accessors {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final VarHandles VAR_HANDLES = VarHandles.resolve();
+
+    public static Function<Object, Object> getter(Method getter, AccessStrategy strategy) {
+        if (getter == null) {
+            return null;
+        }
+        if (strategy == AccessStrategy.METHOD_HANDLES) {
+            Function<Object, Object> compiled = compileGetter(getter);
+            if (compiled != null) {
+                return compiled;
+            }
+        }
+        Class<?> owner = getter.getDeclaringClass();
+        return bean -> {
+            checkBean(owner, bean);
+            try {
+                return getter.invoke(bean);
+            } catch (InvocationTargetException e) {
+                throw invocationFailure(e.getCause());
+            } catch (IllegalAccessException e) {
+                //todo - support using private methods
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    public static BiConsumer<Object, Object> setter(Method setter, AccessStrategy strategy) {
+        if (setter == null) {
+            return null;
+        }
+        if (strategy == AccessStrategy.METHOD_HANDLES) {
+            BiConsumer<Object, Object> compiled = compileSetter(setter);
+            if (compiled != null) {
+                return compiled;
+            }
+        }
+        Class<?> owner = setter.getDeclaringClass();
+        return (bean, value) -> {
+            checkBean(owner, bean);
+            try {
+                setter.invoke(bean, value);
+            } catch (InvocationTargetException e) {
+                throw invocationFailure(e.getCause());
+            } catch (IllegalAccessException e) {
+                //todo - support using private methods
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    public static Function<Object, Object> getter(Field field, AccessStrategy strategy, FieldAccessMode mode) {
+        if (field == null) {
+            return null;
+        }
+        Class<?> owner = field.getDeclaringClass();
+        if (strategy == AccessStrategy.METHOD_HANDLES) {
+            MethodHandle handle = fieldHandle(field, mode, true);
+            if (handle != null) {
+                MethodHandle generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+                return bean -> {
+                    checkBean(owner, bean);
+                    try {
+                        return generic.invokeExact(bean);
+                    } catch (Throwable t) {
+                        throw invocationFailure(t);
+                    }
+                };
+            }
+        }
+        return bean -> {
+            checkBean(owner, bean);
+            try {
+                return field.get(bean);
+            } catch (IllegalAccessException e) {
+                //todo - support using private fields
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    /**
+     * @param field a field
+     * @param strategy access strategy
+     * @param mode memory semantics of field writes
+     * @return a BiConsumer writing to the field, or null if the field is not writable
+     */
+    public static BiConsumer<Object, Object> setter(Field field, AccessStrategy strategy, FieldAccessMode mode) {
+        if (field == null || !isWritable(field)) {
+            return null;
+        }
+        Class<?> owner = field.getDeclaringClass();
+        Class<?> type = field.getType();
+        if (strategy == AccessStrategy.METHOD_HANDLES) {
+            MethodHandle handle = fieldHandle(field, mode, false);
+            if (handle != null) {
+                MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+                return (bean, value) -> {
+                    checkBean(owner, bean);
+                    Object fitted = fit(type, value);
+                    try {
+                        generic.invokeExact(bean, fitted);
+                    } catch (Throwable t) {
+                        throw invocationFailure(t);
+                    }
+                };
+            }
+        }
+        return (bean, value) -> {
+            checkBean(owner, bean);
+            try {
+                field.set(bean, value);
+            } catch (IllegalAccessException e) {
+                //todo - support using private fields
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    /**
+     * primitive properties get exactly-typed method handles (regardless of access strategy,
+     * since reflection always boxes) so their values can be read and written without boxing
+     * @param getter getter method (or null)
+     * @param setter setter method (or null)
+     * @return non-boxing access to the property, or null if its not primitive or cannot be looked up
+     */
+    static PrimitiveAccess primitives(Method getter, Method setter) {
+        Class<?> type = getter != null ? getter.getReturnType() : setter.getParameterTypes()[0];
+        if (!type.isPrimitive()) {
+            return null;
+        }
+        MethodHandle getterHandle = getter != null ? unreflect(getter) : null;
+        MethodHandle setterHandle = setter != null ? unreflect(setter) : null;
+        Class<?> owner = getter != null ? getter.getDeclaringClass() : setter.getDeclaringClass();
+        return PrimitiveAccess.of(owner, type,
+                getterHandle != null ? getterHandle.asType(MethodType.methodType(type, Object.class)) : null,
+                setterHandle != null ? setterHandle.asType(MethodType.methodType(void.class, Object.class, type)) : null);
+    }
+
+    /**
+     * @param field a field (already made accessible, if possible)
+     * @param strategy access strategy. like the boxed accessors, modes other than PLAIN only apply
+     *                 under METHOD_HANDLES - otherwise the field is accessed with its declared semantics
+     * @param mode memory semantics of field access
+     * @return non-boxing access to the field, or null if its not primitive or cannot be looked up
+     */
+    static PrimitiveAccess primitives(Field field, AccessStrategy strategy, FieldAccessMode mode) {
+        Class<?> type = field.getType();
+        if (!type.isPrimitive()) {
+            return null;
+        }
+        if (strategy != AccessStrategy.METHOD_HANDLES) {
+            mode = FieldAccessMode.PLAIN;
+        }
+        MethodHandle getterHandle = fieldHandle(field, mode, true);
+        MethodHandle setterHandle = isWritable(field) ? fieldHandle(field, mode, false) : null;
+        return PrimitiveAccess.of(field.getDeclaringClass(), type,
+                getterHandle != null ? getterHandle.asType(MethodType.methodType(type, Object.class)) : null,
+                setterHandle != null ? setterHandle.asType(MethodType.methodType(void.class, Object.class, type)) : null);
+    }
+
+    public static boolean isWritable(Field field) {
+        return field.isAccessible() && !ReflectionUtil.isFinal(field);
+    }
+
+    /**
+     * @param failure something thrown by a bean member (a getter, setter or field access)
+     * @return the failure wrapped in an IllegalStateException, for the caller to throw
+     * @throws Error if the failure is an error, as-is
+     */
+    public static RuntimeException invocationFailure(Throwable failure) {
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        return new IllegalStateException(failure);
+    }
+
+    static void checkBean(Class<?> owner, Object bean) {
+        if (!owner.isInstance(bean)) {
+            throw new IllegalArgumentException("expected a " + owner.getName() + ", got " + (bean != null ? bean.getClass().getName() : null));
+        }
+    }
+
+    /**
+     * checks that a value can be set into a member of the given type, widening primitives like reflection would
+     * @return the value to set
+     * @throws IllegalArgumentException if the value does not fit
+     */
+    static Object fit(Class<?> type, Object value) {
+        if (value == null) {
+            if (type.isPrimitive()) {
+                throw new IllegalArgumentException("cannot set null into a " + type);
+            }
+            return null;
+        }
+        if (!type.isPrimitive()) {
+            if (!type.isInstance(value)) {
+                throw new IllegalArgumentException("cannot set a " + value.getClass().getName() + " into a " + type.getName());
+            }
+            return value;
+        }
+        if (ClassUtils.primitiveToWrapper(type).isInstance(value)) {
+            return value;
+        }
+        if (!ClassUtils.isAssignable(value.getClass(), type, true)) {
+            throw new IllegalArgumentException("cannot set a " + value.getClass().getName() + " into a " + type);
+        }
+        //a widening primitive conversion (so value is a Number or a Character)
+        long widened = value instanceof Character ? (Character) value : ((Number) value).longValue();
+        if (type == int.class) {
+            return (int) widened;
+        }
+        if (type == long.class) {
+            return widened;
+        }
+        if (type == float.class) {
+            return (float) widened;
+        }
+        if (type == double.class) {
+            return value instanceof Float ? (double) (Float) value : (double) widened;
+        }
+        return (short) widened; //a byte into a short
+    }
+
+    /**
+     * @param field a field (already made accessible, if possible)
+     * @param mode requested memory semantics
+     * @param read true for a getter handle, false for a setter handle
+     * @return a handle accessing the field, or null if the field cannot be looked up
+     */
+    private static MethodHandle fieldHandle(Field field, FieldAccessMode mode, boolean read) {
+        if (mode != null && mode != FieldAccessMode.PLAIN && VAR_HANDLES != null) {
+            MethodHandle handle = VAR_HANDLES.toMethodHandle(field, mode, read);
+            if (handle != null) {
+                return handle;
+            }
+        }
+        try {
+            //honors setAccessible(), so no access checks are done past this point
+            return read ? LOOKUP.unreflectGetter(field) : LOOKUP.unreflectSetter(field);
+        } catch (IllegalAccessException e) {
+            return null; //not permitted, caller falls back to reflection
+        }
+    }
+
+    /**
+     * @param getter a getter method
+     * @return a Function calling the getter, or null if the getter cannot be looked up
+     */
+    private static Function<Object, Object> compileGetter(Method getter) {
+        MethodHandle handle = unreflect(getter);
+        if (handle == null) {
+            return null;
+        }
+        Class<?> owner = getter.getDeclaringClass();
+        if (canSpin(getter)) {
+            try {
+                CallSite site = LambdaMetafactory.metafactory(
+                        LOOKUP, "apply", MethodType.methodType(Function.class),
+                        MethodType.methodType(Object.class, Object.class),
+                        handle,
+                        MethodType.methodType(ClassUtils.primitiveToWrapper(getter.getReturnType()), owner));
+                @SuppressWarnings("unchecked")
+                Function<Object, Object> spun = (Function<Object, Object>) site.getTarget().invoke();
+                return bean -> {
+                    checkBean(owner, bean);
+                    try {
+                        return spun.apply(bean);
+                    } catch (Throwable t) {
+                        throw invocationFailure(t);
+                    }
+                };
+            } catch (LambdaConversionException e) {
+                //fall back to a method handle below
+            } catch (Throwable t) {
+                throw new IllegalStateException("while compiling " + getter, t);
+            }
+        }
+        MethodHandle generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+        return bean -> {
+            checkBean(owner, bean);
+            try {
+                return generic.invokeExact(bean);
+            } catch (Throwable t) {
+                throw invocationFailure(t);
+            }
+        };
+    }
+
+    /**
+     * @param setter a setter method
+     * @return a BiConsumer calling the setter, or null if the setter cannot be looked up
+     */
+    private static BiConsumer<Object, Object> compileSetter(Method setter) {
+        MethodHandle handle = unreflect(setter);
+        if (handle == null) {
+            return null;
+        }
+        Class<?> owner = setter.getDeclaringClass();
+        Class<?> type = setter.getParameterTypes()[0];
+        if (canSpin(setter)) {
+            try {
+                CallSite site = LambdaMetafactory.metafactory(
+                        LOOKUP, "accept", MethodType.methodType(BiConsumer.class),
+                        MethodType.methodType(void.class, Object.class, Object.class),
+                        handle,
+                        MethodType.methodType(void.class, owner, ClassUtils.primitiveToWrapper(type)));
+                @SuppressWarnings("unchecked")
+                BiConsumer<Object, Object> spun = (BiConsumer<Object, Object>) site.getTarget().invoke();
+                return (bean, value) -> {
+                    checkBean(owner, bean);
+                    Object fitted = fit(type, value);
+                    try {
+                        spun.accept(bean, fitted);
+                    } catch (Throwable t) {
+                        throw invocationFailure(t);
+                    }
+                };
+            } catch (LambdaConversionException e) {
+                //fall back to a method handle below
+            } catch (Throwable t) {
+                throw new IllegalStateException("while compiling " + setter, t);
+            }
+        }
+        MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return (bean, value) -> {
+            checkBean(owner, bean);
+            Object fitted = fit(type, value);
+            try {
+                generic.invokeExact(bean, fitted);
+            } catch (Throwable t) {
+                throw invocationFailure(t);
+            }
+        };
+    }
+
+    private static MethodHandle unreflect(Method method) {
+        try {
+            return LOOKUP.unreflect(method);
+        } catch (IllegalAccessException e) {
+            return null; //not permitted, caller falls back to reflection
+        }
+    }
+
+    /**
+     * lambdas spun by LambdaMetafactory call their target directly, and so can only
+     * target public members of public classes that are visible from our own classloader
+     * @param method target method
+     * @return true if a lambda can be spun around the method
+     */
+    private static boolean canSpin(Method method) {
+        if (!Modifier.isPublic(method.getModifiers()) || !Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+            return false;
+        }
+        if (!isVisible(method.getDeclaringClass()) || !isVisible(method.getReturnType())) {
+            return false;
+        }
+        for (Class<?> paramType : method.getParameterTypes()) {
+            if (!isVisible(paramType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isVisible(Class<?> clazz) {
+        while (clazz.isArray()) {
+            clazz = clazz.getComponentType();
+        }
+        if (clazz.isPrimitive()) {
+            return true;
+        }
+        try {
+            return Class.forName(clazz.getName(), false, Accessors.class.getClassLoader()) == clazz;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * VarHandle plumbing, looked up reflectively so that we can still compile and run on java 8
+     * (where this is all unavailable and non-plain access modes fall back to plain access)
+     */
+    private static final class VarHandles {
+        private final Method privateLookupIn;
+        private final Method unreflectVarHandle;
+        private final Method toMethodHandle;
+        private final Object[] accessModes; //GET_VOLATILE, SET_VOLATILE, GET_OPAQUE, SET_OPAQUE
+
+        private VarHandles(Method privateLookupIn, Method unreflectVarHandle, Method toMethodHandle, Object[] accessModes) {
+            this.privateLookupIn = privateLookupIn;
+            this.unreflectVarHandle = unreflectVarHandle;
+            this.toMethodHandle = toMethodHandle;
+            this.accessModes = accessModes;
+        }
+
+        static VarHandles resolve() {
+            try {
+                Class<?> varHandleClass = Class.forName("java.lang.invoke.VarHandle");
+                Class<?> accessModeClass = Class.forName("java.lang.invoke.VarHandle$AccessMode");
+                String[] names = {"GET_VOLATILE", "SET_VOLATILE", "GET_OPAQUE", "SET_OPAQUE"};
+                Object[] accessModes = new Object[names.length];
+                for (Object constant : accessModeClass.getEnumConstants()) {
+                    String name = ((Enum<?>) constant).name();
+                    for (int i = 0; i < names.length; i++) {
+                        if (names[i].equals(name)) {
+                            accessModes[i] = constant;
+                        }
+                    }
+                }
+                return new VarHandles(
+                        MethodHandles.class.getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class),
+                        MethodHandles.Lookup.class.getMethod("unreflectVarHandle", Field.class),
+                        varHandleClass.getMethod("toMethodHandle", accessModeClass),
+                        accessModes
+                );
+            } catch (ClassNotFoundException | NoSuchMethodException e) {
+                return null; //java 8
+            }
+        }
+
+        MethodHandle toMethodHandle(Field field, FieldAccessMode mode, boolean read) {
+            int index = (mode == FieldAccessMode.VOLATILE ? 0 : 2) + (read ? 0 : 1);
+            try {
+                Object lookup = privateLookupIn.invoke(null, field.getDeclaringClass(), LOOKUP);
+                Object varHandle = unreflectVarHandle.invoke(lookup, field);
+                return (MethodHandle) toMethodHandle.invoke(varHandle, accessModes[index]);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                return null; //not permitted (module boundaries?)
+            }
+        }
+    }
+}
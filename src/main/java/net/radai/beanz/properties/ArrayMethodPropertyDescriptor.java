@@ -25,6 +25,7 @@
 
 package net.radai.beanz.properties;
 
+import net.radai.beanz.api.AccessStrategy;
 import net.radai.beanz.api.ArrayPropertyDescriptor;
 import net.radai.beanz.api.BeanDescriptor;
 
@@ -35,4 +36,8 @@ public class ArrayMethodPropertyDescriptor extends MethodPropertyDescriptor impl
     public ArrayMethodPropertyDescriptor(BeanDescriptor containingBeanDescriptor, String name, Type type, Method getter, Method setter) {
         super(containingBeanDescriptor, name, type, getter, setter);
     }
+
+    public ArrayMethodPropertyDescriptor(BeanDescriptor containingBeanDescriptor, String name, Type type, Method getter, Method setter, AccessStrategy accessStrategy) {
+        super(containingBeanDescriptor, name, type, getter, setter, accessStrategy);
+    }
 }
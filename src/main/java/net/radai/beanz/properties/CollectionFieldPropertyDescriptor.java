@@ -25,8 +25,10 @@
 
 package net.radai.beanz.properties;
 
+import net.radai.beanz.api.AccessStrategy;
 import net.radai.beanz.api.BeanDescriptor;
 import net.radai.beanz.api.CollectionPropertyDescriptor;
+import net.radai.beanz.api.FieldAccessMode;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Type;
@@ -35,4 +37,8 @@ public class CollectionFieldPropertyDescriptor extends FieldPropertyDescriptor i
     public CollectionFieldPropertyDescriptor(BeanDescriptor containingBeanDescriptor, String name, Type type, Field field) {
         super(containingBeanDescriptor, name, type, field);
     }
+
+    public CollectionFieldPropertyDescriptor(BeanDescriptor containingBeanDescriptor, String name, Type type, Field field, AccessStrategy accessStrategy, FieldAccessMode accessMode) {
+        super(containingBeanDescriptor, name, type, field, accessStrategy, accessMode);
+    }
 }
@@ -25,6 +25,7 @@
 
 package net.radai.beanz.properties;
 
+import net.radai.beanz.api.AccessStrategy;
 import net.radai.beanz.api.BeanDescriptor;
 import net.radai.beanz.api.CollectionPropertyDescriptor;
 
@@ -35,4 +36,8 @@ public class CollectionMethodPropertyDescriptor extends MethodPropertyDescriptor
     public CollectionMethodPropertyDescriptor(BeanDescriptor containingBeanDescriptor, String name, Type type, Method getter, Method setter) {
         super(containingBeanDescriptor, name, type, getter, setter);
     }
+
+    public CollectionMethodPropertyDescriptor(BeanDescriptor containingBeanDescriptor, String name, Type type, Method getter, Method setter, AccessStrategy accessStrategy) {
+        super(containingBeanDescriptor, name, type, getter, setter, accessStrategy);
+    }
 }
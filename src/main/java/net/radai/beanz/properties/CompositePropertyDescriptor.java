@@ -33,6 +33,7 @@ import java.lang.reflect.Type;
 
 public abstract class CompositePropertyDescriptor extends PropertyDescriptorBase {
     private final PropertyDescriptor[] delegates;
+    private final PrimitiveAccess primitives;
 
     public CompositePropertyDescriptor(BeanDescriptor containingBeanDescriptor, String name, Type type, PropertyDescriptor[] delegates) {
         super(containingBeanDescriptor, name, type);
@@ -45,6 +46,35 @@ public abstract class CompositePropertyDescriptor extends PropertyDescriptorBase
             }
         }
         this.delegates = delegates;
+        //read and write the same delegates get() and set() would
+        PrimitiveAccess reader = null;
+        PrimitiveAccess writer = null;
+        for (PropertyDescriptor delegate : delegates) {
+            if (delegate.isReadable()) {
+                reader = primitiveAccessOf(delegate);
+                break;
+            }
+        }
+        for (PropertyDescriptor delegate : delegates) {
+            if (delegate.isWritable()) {
+                writer = primitiveAccessOf(delegate);
+                break;
+            }
+        }
+        this.primitives = PrimitiveAccess.combine(reader, writer);
+    }
+
+    @Override
+    PrimitiveAccess primitiveAccess() {
+        return primitives;
+    }
+
+    private static PrimitiveAccess primitiveAccessOf(PropertyDescriptor delegate) {
+        return delegate instanceof PropertyDescriptorBase ? ((PropertyDescriptorBase) delegate).primitiveAccess() : null;
+    }
+
+    public PropertyDescriptor[] getDelegates() {
+        return delegates.clone();
     }
 
     @Override
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.properties;
+
+import net.radai.beanz.api.BeanAccessor;
+import net.radai.beanz.api.BeanDescriptor;
+import net.radai.beanz.api.PropertyDescriptor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * a BeanAccessor that simply delegates to the property descriptors of a bean.
+ * also serves as the base class for generated accessors, which fall back to
+ * the descriptors for anything they cannot access directly.
+ */
+public class DescriptorBeanAccessor implements BeanAccessor {
+    private final BeanDescriptor beanDescriptor;
+    private final PropertyDescriptor[] properties;
+    private final Map<String, Integer> indices;
+
+    public DescriptorBeanAccessor(BeanDescriptor beanDescriptor, PropertyDescriptor[] properties) {
+        if (beanDescriptor == null || properties == null) {
+            throw new IllegalArgumentException();
+        }
+        this.beanDescriptor = beanDescriptor;
+        this.properties = properties.clone();
+        this.indices = new HashMap<>();
+        for (int i = 0; i < properties.length; i++) {
+            indices.put(properties[i].getName(), i);
+        }
+    }
+
+    @Override
+    public BeanDescriptor getBeanDescriptor() {
+        return beanDescriptor;
+    }
+
+    @Override
+    public int size() {
+        return properties.length;
+    }
+
+    @Override
+    public int indexOf(String propName) {
+        Integer index = indices.get(propName);
+        return index != null ? index : -1;
+    }
+
+    @Override
+    public PropertyDescriptor getProperty(int propIndex) {
+        return properties[propIndex];
+    }
+
+    @Override
+    public Object get(Object bean, int propIndex) {
+        return properties[propIndex].get(bean);
+    }
+
+    @Override
+    public void set(Object bean, int propIndex, Object value) {
+        properties[propIndex].set(bean, value);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " for " + beanDescriptor;
+    }
+}
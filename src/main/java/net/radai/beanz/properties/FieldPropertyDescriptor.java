@@ -25,18 +25,31 @@
 
 package net.radai.beanz.properties;
 
+import net.radai.beanz.api.AccessStrategy;
 import net.radai.beanz.api.BeanDescriptor;
+import net.radai.beanz.api.FieldAccessMode;
 import net.radai.beanz.util.ReflectionUtil;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 public abstract class FieldPropertyDescriptor extends PropertyDescriptorBase {
     private final Field field;
+    private final FieldAccessMode accessMode;
+    private final boolean writable;
+    private final Function<Object, Object> getterFunction;
+    private final BiConsumer<Object, Object> setterFunction;
+    private final PrimitiveAccess primitives;
 
     public FieldPropertyDescriptor(BeanDescriptor containingBeanDescriptor, String name, Type type, Field field) {
+        this(containingBeanDescriptor, name, type, field, AccessStrategy.REFLECTION, FieldAccessMode.PLAIN);
+    }
+
+    public FieldPropertyDescriptor(BeanDescriptor containingBeanDescriptor, String name, Type type, Field field, AccessStrategy accessStrategy, FieldAccessMode accessMode) {
         super(containingBeanDescriptor, name, type);
         if (field == null) {
             throw new IllegalArgumentException();
@@ -49,6 +62,24 @@ public abstract class FieldPropertyDescriptor extends PropertyDescriptorBase {
                 //TODO - log a warning
             }
         }
+        this.accessMode = accessMode;
+        this.writable = Accessors.isWritable(field);
+        this.getterFunction = Accessors.getter(field, accessStrategy, accessMode);
+        this.setterFunction = Accessors.setter(field, accessStrategy, accessMode);
+        this.primitives = Accessors.primitives(field, accessStrategy, accessMode);
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public FieldAccessMode getAccessMode() {
+        return accessMode;
+    }
+
+    @Override
+    PrimitiveAccess primitiveAccess() {
+        return primitives;
     }
 
     @Override
@@ -58,30 +89,20 @@ public abstract class FieldPropertyDescriptor extends PropertyDescriptorBase {
 
     @Override
     public boolean isWritable() {
-        return field.isAccessible() && !ReflectionUtil.isFinal(field);
+        return writable;
     }
 
     @Override
     public Object get(Object bean) {
-        try {
-            return field.get(bean);
-        } catch (IllegalAccessException e) {
-            //todo - support using private fields
-            throw new IllegalStateException(e);
-        }
+        return getterFunction.apply(bean);
     }
 
     @Override
     public void set(Object bean, Object value) {
-        if (!isWritable()) {
+        if (!writable) {
             throw new IllegalStateException();
         }
-        try {
-            field.set(bean, value);
-        }  catch (IllegalAccessException e) {
-            //todo - support using private fields
-            throw new IllegalStateException(e);
-        }
+        setterFunction.accept(bean, value);
     }
 
     @Override
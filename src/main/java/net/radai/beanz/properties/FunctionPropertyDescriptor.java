@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.properties;
+
+import net.radai.beanz.api.BeanDescriptor;
+import net.radai.beanz.util.ReflectionUtil;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Type;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * a property accessed via a pair of functions (either of which may be missing) rather than via
+ * reflection. used by generated descriptors, where the functions are plain lambdas calling the
+ * getter/setter (or reading/writing the field) directly.
+ */
+public abstract class FunctionPropertyDescriptor extends PropertyDescriptorBase {
+    private final Function<Object, Object> getter;
+    private final BiConsumer<Object, Object> setter;
+    private volatile AnnotatedElement annotationSource; //resolved lazily, annotations are rarely needed
+
+    public FunctionPropertyDescriptor(BeanDescriptor containingBeanDescriptor, String name, Type type, Function<Object, Object> getter, BiConsumer<Object, Object> setter) {
+        super(containingBeanDescriptor, name, type);
+        if (getter == null && setter == null) {
+            throw new IllegalArgumentException();
+        }
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    @Override
+    public boolean isReadable() {
+        return getter != null;
+    }
+
+    @Override
+    public boolean isWritable() {
+        return setter != null;
+    }
+
+    @Override
+    public Object get(Object bean) {
+        if (!isReadable()) {
+            throw new IllegalStateException();
+        }
+        return getter.apply(bean);
+    }
+
+    @Override
+    public void set(Object bean, Object value) {
+        if (!isWritable()) {
+            throw new IllegalStateException();
+        }
+        setter.accept(bean, value);
+    }
+
+    /**
+     * same as the reflection-based descriptors: annotations come from the getter if there is one,
+     * from the field if this property is a field, and there are none for setter-only properties
+     */
+    @Override
+    public <A extends Annotation> A[] getAnnotations(Class<A> annotationClass) {
+        if (getter == null) {
+            return null;
+        }
+        AnnotatedElement source = annotationSource;
+        if (source == null) {
+            Class<?> beanClass = getContainingBeanDescriptor().getBeanClass();
+            source = ReflectionUtil.findGetter(beanClass, getName());
+            if (source == null) {
+                source = ReflectionUtil.findField(beanClass, getName());
+            }
+            if (source == null) {
+                return null;
+            }
+            annotationSource = source;
+        }
+        return source.getAnnotationsByType(annotationClass);
+    }
+
+    @Override
+    public String toString() {
+        String typeName = ReflectionUtil.prettyPrint(getValueType());
+        return typeName + " " + getName() + ": " + (getter != null ? "get" : "-") + " / " + (setter != null ? "set" : "-");
+    }
+}
@@ -25,7 +25,9 @@
 
 package net.radai.beanz.properties;
 
+import net.radai.beanz.api.AccessStrategy;
 import net.radai.beanz.api.BeanDescriptor;
+import net.radai.beanz.api.FieldAccessMode;
 import net.radai.beanz.api.MapPropertyDescriptor;
 
 import java.lang.reflect.Field;
@@ -35,4 +37,8 @@ public class MapFieldPropertyDescriptor extends FieldPropertyDescriptor implemen
     public MapFieldPropertyDescriptor(BeanDescriptor containingBeanDescriptor, String name, Type type, Field field) {
         super(containingBeanDescriptor, name, type, field);
     }
+
+    public MapFieldPropertyDescriptor(BeanDescriptor containingBeanDescriptor, String name, Type type, Field field, AccessStrategy accessStrategy, FieldAccessMode accessMode) {
+        super(containingBeanDescriptor, name, type, field, accessStrategy, accessMode);
+    }
 }
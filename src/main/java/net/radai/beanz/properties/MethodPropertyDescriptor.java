@@ -25,25 +25,50 @@
 
 package net.radai.beanz.properties;
 
+import net.radai.beanz.api.AccessStrategy;
 import net.radai.beanz.api.BeanDescriptor;
 import net.radai.beanz.util.ReflectionUtil;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 public abstract class MethodPropertyDescriptor extends PropertyDescriptorBase {
     private final Method getter;
     private final Method setter;
+    private final Function<Object, Object> getterFunction;
+    private final BiConsumer<Object, Object> setterFunction;
+    private final PrimitiveAccess primitives;
 
     public MethodPropertyDescriptor(BeanDescriptor containingBeanDescriptor, String name, Type type, Method getter, Method setter) {
+        this(containingBeanDescriptor, name, type, getter, setter, AccessStrategy.REFLECTION);
+    }
+
+    public MethodPropertyDescriptor(BeanDescriptor containingBeanDescriptor, String name, Type type, Method getter, Method setter, AccessStrategy accessStrategy) {
         super(containingBeanDescriptor, name, type);
         if (getter == null && setter == null) {
             throw new IllegalArgumentException();
         }
         this.getter = getter;
         this.setter = setter;
+        this.getterFunction = Accessors.getter(getter, accessStrategy);
+        this.setterFunction = Accessors.setter(setter, accessStrategy);
+        this.primitives = Accessors.primitives(getter, setter);
+    }
+
+    public Method getGetter() {
+        return getter;
+    }
+
+    public Method getSetter() {
+        return setter;
+    }
+
+    @Override
+    PrimitiveAccess primitiveAccess() {
+        return primitives;
     }
 
     @Override
@@ -61,12 +86,7 @@ public abstract class MethodPropertyDescriptor extends PropertyDescriptorBase {
         if (!isReadable()) {
             throw new IllegalStateException();
         }
-        try {
-            return getter.invoke(bean);
-        } catch (IllegalAccessException | InvocationTargetException e) {
-            //todo - support using private methods
-            throw new IllegalStateException(e);
-        }
+        return getterFunction.apply(bean);
     }
 
     @Override
@@ -74,12 +94,7 @@ public abstract class MethodPropertyDescriptor extends PropertyDescriptorBase {
         if (!isWritable()) {
             throw new IllegalStateException();
         }
-        try {
-            setter.invoke(bean, value);
-        } catch (IllegalAccessException | InvocationTargetException e) {
-            //todo - support using private methods
-            throw new IllegalStateException(e);
-        }
+        setterFunction.accept(bean, value);
     }
 
     @Override
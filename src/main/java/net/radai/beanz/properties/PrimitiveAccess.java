@@ -0,0 +1,159 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.properties;
+
+import java.lang.invoke.MethodHandle;
+
+/**
+ * reads and writes a primitive property through exactly-typed method handles, so values are
+ * never boxed. only covers the primitive types PropertyDescriptor has accessors for.
+ */
+final class PrimitiveAccess {
+    private final Class<?> owner; //bean class
+    private final Class<?> type;
+    private final MethodHandle getter; //(Object)type, null if not readable this way
+    private final MethodHandle setter; //(Object, type)void, null if not writable this way
+
+    private PrimitiveAccess(Class<?> owner, Class<?> type, MethodHandle getter, MethodHandle setter) {
+        this.owner = owner;
+        this.type = type;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    /**
+     * @param owner class declaring the property's members
+     * @param type property type
+     * @param getter exactly-typed getter handle (or null)
+     * @param setter exactly-typed setter handle (or null)
+     * @return primitive access for the given handles, or null if there's nothing to gain
+     */
+    static PrimitiveAccess of(Class<?> owner, Class<?> type, MethodHandle getter, MethodHandle setter) {
+        if (type == null || (type != int.class && type != long.class && type != double.class && type != boolean.class)) {
+            return null;
+        }
+        if (getter == null && setter == null) {
+            return null;
+        }
+        return new PrimitiveAccess(owner, type, getter, setter);
+    }
+
+    /**
+     * @param reader primitive access used for reading (or null)
+     * @param writer primitive access used for writing (or null)
+     * @return primitive access that reads via reader and writes via writer, or null if there's nothing to gain
+     */
+    static PrimitiveAccess combine(PrimitiveAccess reader, PrimitiveAccess writer) {
+        if (reader != null && writer != null && reader.type != writer.type) {
+            return null;
+        }
+        Class<?> type = reader != null ? reader.type : (writer != null ? writer.type : null);
+        //the bean has to fit both members, so the narrower of the two owners
+        Class<?> owner = reader == null ? (writer != null ? writer.owner : null)
+                : writer == null || writer.owner.isAssignableFrom(reader.owner) ? reader.owner : writer.owner;
+        return of(owner, type, reader != null ? reader.getter : null, writer != null ? writer.setter : null);
+    }
+
+    boolean canGet(Class<?> primitive) {
+        return getter != null && type == primitive;
+    }
+
+    boolean canSet(Class<?> primitive) {
+        return setter != null && type == primitive;
+    }
+
+    int getInt(Object bean) {
+        Accessors.checkBean(owner, bean);
+        try {
+            return (int) getter.invokeExact(bean);
+        } catch (Throwable t) {
+            throw Accessors.invocationFailure(t);
+        }
+    }
+
+    void setInt(Object bean, int value) {
+        Accessors.checkBean(owner, bean);
+        try {
+            setter.invokeExact(bean, value);
+        } catch (Throwable t) {
+            throw Accessors.invocationFailure(t);
+        }
+    }
+
+    long getLong(Object bean) {
+        Accessors.checkBean(owner, bean);
+        try {
+            return (long) getter.invokeExact(bean);
+        } catch (Throwable t) {
+            throw Accessors.invocationFailure(t);
+        }
+    }
+
+    void setLong(Object bean, long value) {
+        Accessors.checkBean(owner, bean);
+        try {
+            setter.invokeExact(bean, value);
+        } catch (Throwable t) {
+            throw Accessors.invocationFailure(t);
+        }
+    }
+
+    double getDouble(Object bean) {
+        Accessors.checkBean(owner, bean);
+        try {
+            return (double) getter.invokeExact(bean);
+        } catch (Throwable t) {
+            throw Accessors.invocationFailure(t);
+        }
+    }
+
+    void setDouble(Object bean, double value) {
+        Accessors.checkBean(owner, bean);
+        try {
+            setter.invokeExact(bean, value);
+        } catch (Throwable t) {
+            throw Accessors.invocationFailure(t);
+        }
+    }
+
+    boolean getBoolean(Object bean) {
+        Accessors.checkBean(owner, bean);
+        try {
+            return (boolean) getter.invokeExact(bean);
+        } catch (Throwable t) {
+            throw Accessors.invocationFailure(t);
+        }
+    }
+
+    void setBoolean(Object bean, boolean value) {
+        Accessors.checkBean(owner, bean);
+        try {
+            setter.invokeExact(bean, value);
+        } catch (Throwable t) {
+            throw Accessors.invocationFailure(t);
+        }
+    }
+}
@@ -34,6 +34,7 @@ public abstract class PropertyDescriptorBase implements PropertyDescriptor {
     private final BeanDescriptor containingBeanDescriptor;
     private final String name;
     private final Type type;
+    private volatile int ordinal = -1; //-1 until assigned by the containing bean descriptor
 
     public PropertyDescriptorBase(BeanDescriptor containingBeanDescriptor, String name, Type type) {
         this.containingBeanDescriptor = containingBeanDescriptor;
@@ -54,4 +55,98 @@ public abstract class PropertyDescriptorBase implements PropertyDescriptor {
     public Type getValueType() {
         return type;
     }
+
+    @Override
+    public int getOrdinal() {
+        int result = ordinal;
+        return result >= 0 ? result : PropertyDescriptor.super.getOrdinal(); //the lookup assigns it
+    }
+
+    @Override
+    public void setOrdinal(int ordinal) {
+        this.ordinal = ordinal;
+    }
+
+    /**
+     * @return non-boxing access to this property, or null if it doesnt have any
+     */
+    PrimitiveAccess primitiveAccess() {
+        return null;
+    }
+
+    @Override
+    public int getInt(Object bean) {
+        PrimitiveAccess primitives = primitiveAccess();
+        if (primitives != null && primitives.canGet(int.class)) {
+            return primitives.getInt(bean);
+        }
+        return PropertyDescriptor.super.getInt(bean);
+    }
+
+    @Override
+    public void setInt(Object bean, int value) {
+        PrimitiveAccess primitives = primitiveAccess();
+        if (primitives != null && primitives.canSet(int.class)) {
+            primitives.setInt(bean, value);
+            return;
+        }
+        PropertyDescriptor.super.setInt(bean, value);
+    }
+
+    @Override
+    public long getLong(Object bean) {
+        PrimitiveAccess primitives = primitiveAccess();
+        if (primitives != null && primitives.canGet(long.class)) {
+            return primitives.getLong(bean);
+        }
+        return PropertyDescriptor.super.getLong(bean);
+    }
+
+    @Override
+    public void setLong(Object bean, long value) {
+        PrimitiveAccess primitives = primitiveAccess();
+        if (primitives != null && primitives.canSet(long.class)) {
+            primitives.setLong(bean, value);
+            return;
+        }
+        PropertyDescriptor.super.setLong(bean, value);
+    }
+
+    @Override
+    public double getDouble(Object bean) {
+        PrimitiveAccess primitives = primitiveAccess();
+        if (primitives != null && primitives.canGet(double.class)) {
+            return primitives.getDouble(bean);
+        }
+        return PropertyDescriptor.super.getDouble(bean);
+    }
+
+    @Override
+    public void setDouble(Object bean, double value) {
+        PrimitiveAccess primitives = primitiveAccess();
+        if (primitives != null && primitives.canSet(double.class)) {
+            primitives.setDouble(bean, value);
+            return;
+        }
+        PropertyDescriptor.super.setDouble(bean, value);
+    }
+
+    @Override
+    public boolean getBoolean(Object bean) {
+        PrimitiveAccess primitives = primitiveAccess();
+        if (primitives != null && primitives.canGet(boolean.class)) {
+            return primitives.getBoolean(bean);
+        }
+        return PropertyDescriptor.super.getBoolean(bean);
+    }
+
+    @Override
+    public void setBoolean(Object bean, boolean value) {
+        PrimitiveAccess primitives = primitiveAccess();
+        if (primitives != null && primitives.canSet(boolean.class)) {
+            primitives.setBoolean(bean, value);
+            return;
+        }
+        PropertyDescriptor.super.setBoolean(bean, value);
+    }
 }
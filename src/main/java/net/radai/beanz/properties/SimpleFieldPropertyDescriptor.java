@@ -25,7 +25,9 @@
 
 package net.radai.beanz.properties;
 
+import net.radai.beanz.api.AccessStrategy;
 import net.radai.beanz.api.BeanDescriptor;
+import net.radai.beanz.api.FieldAccessMode;
 import net.radai.beanz.api.PropertyType;
 
 import java.lang.reflect.Field;
@@ -36,6 +38,10 @@ public class SimpleFieldPropertyDescriptor extends FieldPropertyDescriptor {
         super(containingBeanDescriptor, name, type, field);
     }
 
+    public SimpleFieldPropertyDescriptor(BeanDescriptor containingBeanDescriptor, String name, Type type, Field field, AccessStrategy accessStrategy, FieldAccessMode accessMode) {
+        super(containingBeanDescriptor, name, type, field, accessStrategy, accessMode);
+    }
+
     @Override
     public PropertyType getType() {
         return PropertyType.SIMPLE;
@@ -25,6 +25,7 @@
 
 package net.radai.beanz.properties;
 
+import net.radai.beanz.api.AccessStrategy;
 import net.radai.beanz.api.BeanDescriptor;
 import net.radai.beanz.api.PropertyType;
 
@@ -36,6 +37,10 @@ public class SimpleMethodPropertyDescriptor extends MethodPropertyDescriptor {
         super(containingBeanDescriptor, name, type, getter, setter);
     }
 
+    public SimpleMethodPropertyDescriptor(BeanDescriptor containingBeanDescriptor, String name, Type type, Method getter, Method setter, AccessStrategy accessStrategy) {
+        super(containingBeanDescriptor, name, type, getter, setter, accessStrategy);
+    }
+
     @Override
     public PropertyType getType() {
         return PropertyType.SIMPLE;
@@ -49,6 +49,62 @@ public class ReflectionUtil {
         return (Class) type;
     }
 
+    /**
+     * builds a parameterized type (like List&lt;String&gt;) without needing a field or method to
+     * reflect on. the result is interchangeable with types obtained through reflection.
+     * @param rawType generic class
+     * @param typeArguments actual type arguments, one per type parameter of rawType
+     * @return the parameterized type
+     */
+    public static ParameterizedType parameterize(Class<?> rawType, Type... typeArguments) {
+        return new ParameterizedTypeImpl(rawType, null, typeArguments);
+    }
+
+    /**
+     * @param componentType array component type
+     * @return an array type of the given component type - a Class for non-generic components
+     */
+    public static Type arrayOf(Type componentType) {
+        if (componentType instanceof Class<?>) {
+            return Array.newInstance((Class<?>) componentType, 0).getClass();
+        }
+        return new GenericArrayTypeImpl(componentType);
+    }
+
+    /**
+     * returns a canonical form of the given type, one that is equal (and hashes the same) no matter
+     * where it came from: generic arrays of plain classes become array classes, recursively.
+     * @param type a type (or null)
+     * @return the canonical form of the type, which is the type itself if its already canonical
+     */
+    public static Type canonicalize(Type type) {
+        if (type instanceof GenericArrayType) {
+            Type component = ((GenericArrayType) type).getGenericComponentType();
+            Type canonicalComponent = canonicalize(component);
+            if (canonicalComponent instanceof Class<?> || canonicalComponent != component) {
+                return arrayOf(canonicalComponent);
+            }
+            return type;
+        }
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Type owner = parameterizedType.getOwnerType();
+            Type canonicalOwner = canonicalize(owner);
+            Type[] arguments = parameterizedType.getActualTypeArguments();
+            boolean changed = canonicalOwner != owner;
+            for (int i = 0; i < arguments.length; i++) {
+                Type argument = canonicalize(arguments[i]);
+                changed |= argument != arguments[i];
+                arguments[i] = argument;
+            }
+            if (changed) {
+                return new ParameterizedTypeImpl((Class<?>) parameterizedType.getRawType(), canonicalOwner, arguments);
+            }
+            return type;
+        }
+        return type;
+    }
+
     public static Object instantiate(Type type) {
         Class<?> erased = erase(type);
         if (Collection.class.isAssignableFrom(erased)) {
@@ -82,6 +138,24 @@ public class ReflectionUtil {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * same as {@link #instantiateCollection(Class)}, but pre-sized (where possible) to hold the given number of elements
+     */
+    public static Collection<?> instantiateCollection(Class<?> collectionClass, int expectedSize) {
+        if (collectionClass == ArrayList.class
+                || (List.class.isAssignableFrom(collectionClass) && collectionClass.isAssignableFrom(ArrayList.class))) {
+            return new ArrayList<>(expectedSize);
+        }
+        if (collectionClass == HashSet.class
+                || (Set.class.isAssignableFrom(collectionClass) && collectionClass.isAssignableFrom(HashSet.class))) {
+            return new HashSet<>(hashCapacity(expectedSize));
+        }
+        if (collectionClass == LinkedHashSet.class) {
+            return new LinkedHashSet<>(hashCapacity(expectedSize));
+        }
+        return instantiateCollection(collectionClass);
+    }
+
     public static Object instatiateArray(Type elementType, int size) {
         Class<?> elementClass = erase(elementType);
         return Array.newInstance(elementClass, size);
@@ -102,6 +176,25 @@ public class ReflectionUtil {
         return new HashMap<>();
     }
 
+    /**
+     * same as {@link #instantiateMap(Class)}, but pre-sized (where possible) to hold the given number of entries
+     */
+    public static Map<?, ?> instantiateMap(Class<?> mapClass, int expectedSize) {
+        if (mapClass == HashMap.class
+                || (Map.class.isAssignableFrom(mapClass) && mapClass.isAssignableFrom(HashMap.class))) {
+            return new HashMap<>(hashCapacity(expectedSize));
+        }
+        if (mapClass == LinkedHashMap.class) {
+            return new LinkedHashMap<>(hashCapacity(expectedSize));
+        }
+        return instantiateMap(mapClass);
+    }
+
+    private static int hashCapacity(int expectedSize) {
+        //enough to not rehash at the default load factor
+        return Math.max(expectedSize, 0) * 4 / 3 + 1;
+    }
+
     public static boolean isPrimitive(Type type) {
         return erase(type).isPrimitive();
     }
@@ -25,11 +25,35 @@
 
 package net.radai.beanz;
 
+import net.radai.beanz.api.ArrayProperty;
 import net.radai.beanz.api.Bean;
+import net.radai.beanz.api.BeanDescriptor;
+import net.radai.beanz.api.CollectionProperty;
+import net.radai.beanz.api.MapProperty;
+import net.radai.beanz.api.Property;
+import net.radai.beanz.api.PropertyDescriptor;
+import net.radai.beanz.bytecode.AccessorGeneratorTest;
+import net.radai.beanz.codecs.Codecs;
+import net.radai.beanz.util.ReflectionUtil;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -42,6 +66,189 @@ public class BeanzTest {
         Assert.assertNotNull(bean);
     }
 
+    @Test
+    public void testPropertyViews() {
+        BeanClass instance = new BeanClass();
+        Bean<BeanClass> bean = Beanz.wrap(instance);
+        Property f1 = bean.getProperty("f1");
+        Assert.assertNotNull(f1);
+        Assert.assertNull(bean.getProperty("nope"));
+        Assert.assertTrue(bean.getProperty("f5") instanceof ArrayProperty);
+        Assert.assertTrue(bean.getProperty("f6") instanceof CollectionProperty);
+        Assert.assertTrue(bean.getProperty("f7") instanceof MapProperty);
+        f1.set("v");
+        Assert.assertEquals("v", instance.f1);
+        //views are created on demand, but are equal if they are of the same property of the same instance
+        Assert.assertEquals(f1, bean.getProperty("f1"));
+        Assert.assertEquals(f1.hashCode(), bean.getProperty("f1").hashCode());
+        Assert.assertEquals(f1, Beanz.wrap(instance).getProperty("f1"));
+        Assert.assertNotEquals(f1, bean.getProperty("f2"));
+        Assert.assertNotEquals(f1, Beanz.wrap(new BeanClass()).getProperty("f1"));
+
+        Map<String, Property> properties = bean.getProperties();
+        Assert.assertEquals(7, properties.size());
+        Assert.assertEquals(bean.getDescriptor().getProperties().keySet(), properties.keySet());
+        Assert.assertEquals("v", properties.get("f1").get());
+        for (Map.Entry<String, Property> entry : properties.entrySet()) {
+            Assert.assertEquals(entry.getKey(), entry.getValue().getName());
+            Assert.assertSame(instance, entry.getValue().getContainingBean().getBean());
+        }
+        try {
+            properties.remove("f1");
+            Assert.fail("expected properties to be read-only");
+        } catch (UnsupportedOperationException expected) {
+            //expected
+        }
+    }
+
+    @Test
+    public void testOrdinals() {
+        BeanDescriptor descriptor = Beanz.parse(BeanClass.class);
+        Assert.assertEquals(7, descriptor.getPropertyCount());
+        Assert.assertEquals(Arrays.asList("f1", "f2", "f3", "f4", "f5", "f6", "f7"), new ArrayList<>(descriptor.getProperties().keySet()));
+        Assert.assertEquals(-1, descriptor.indexOf("nope"));
+        BeanClass instance = new BeanClass();
+        for (int i = 0; i < descriptor.getPropertyCount(); i++) {
+            PropertyDescriptor property = descriptor.getProperty(i);
+            Assert.assertEquals(i, descriptor.indexOf(property.getName()));
+            Assert.assertEquals(i, property.getOrdinal());
+            Assert.assertEquals(i, descriptor.getAccessor().indexOf(property.getName()));
+        }
+        int f3 = descriptor.indexOf("f3");
+        descriptor.set(instance, f3, 5);
+        Assert.assertEquals(5, descriptor.get(instance, f3));
+        Assert.assertEquals(5, Beanz.wrap(instance).getProperty(f3).get());
+
+        //adding a property renumbers the rest
+        BeanDescriptor uncached = Beanz.parseUncached(BeanClass.class, Beanz.DEFAULT_IGNORE);
+        Assert.assertEquals(0, uncached.getProperty("f1").getOrdinal());
+        uncached.addProperty(Beanz.parseUncached(BeanClass.class, null).getProperty("class"));
+        Assert.assertEquals(1, uncached.getProperty("f1").getOrdinal());
+    }
+
+    @Test
+    public void testDescriptorCaching() {
+        BeanDescriptor descriptor = Beanz.parse(BeanClass.class);
+        Assert.assertSame(descriptor, Beanz.parse(BeanClass.class));
+        Assert.assertSame(descriptor, Beanz.parse(BeanClass.class, new HashSet<>(Beanz.DEFAULT_IGNORE)));
+        Assert.assertSame(descriptor, Beanz.wrap(new BeanClass()).getDescriptor());
+
+        BeanDescriptor ignoring = Beanz.parse(BeanClass.class, new HashSet<>(Collections.singletonList("f1")));
+        Assert.assertNotSame(descriptor, ignoring);
+        Assert.assertNull(ignoring.getProperty("f1"));
+        Assert.assertNotNull(descriptor.getProperty("f1"));
+
+        BeanDescriptor uncached = Beanz.parseUncached(BeanClass.class, Beanz.DEFAULT_IGNORE);
+        Assert.assertNotSame(descriptor, uncached);
+
+        //shared descriptors cant be modified, private ones can
+        Assert.assertTrue(descriptor.isFrozen());
+        try {
+            descriptor.addCodec(Integer.class, Codecs.BUILT_INS.get(Integer.class));
+            Assert.fail("expected a frozen descriptor");
+        } catch (IllegalStateException expected) {
+            //expected
+        }
+        try {
+            descriptor.getCodecs().put(Integer.class, Codecs.BUILT_INS.get(Integer.class));
+            Assert.fail("expected a frozen registry");
+        } catch (UnsupportedOperationException expected) {
+            //expected
+        }
+        Assert.assertFalse(uncached.isFrozen());
+        uncached.addCodec(Integer.class, Codecs.BUILT_INS.get(Integer.class));
+    }
+
+    @Test
+    public void testConcurrentParse() throws Exception {
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<BeanDescriptor>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return Beanz.parse(RacyBeanClass.class);
+                }));
+            }
+            start.countDown();
+            BeanDescriptor first = futures.get(0).get();
+            for (Future<BeanDescriptor> future : futures) {
+                Assert.assertSame(first, future.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSharedCodecs() {
+        BeanDescriptor descriptor = Beanz.parseUncached(BeanClass.class, Beanz.DEFAULT_IGNORE);
+        BeanDescriptor other = Beanz.parse(OtherBeanClass.class);
+        //resolved once, shared by every bean (and parse) that needs the same type
+        Assert.assertSame(Beanz.parse(BeanClass.class).getProperty("f4").getCodec(), descriptor.getProperty("f4").getCodec());
+        Assert.assertSame(descriptor.getProperty("f4").getCodec(), other.getProperty("uuid").getCodec());
+        Assert.assertSame(descriptor.getProperty("f7").getCodec(), other.getProperty("map").getCodec());
+        Assert.assertSame(descriptor.getCodec(Enum1.class), other.getCodec(Enum1.class));
+        Assert.assertNull(other.getProperty("object").getCodec());
+    }
+
+    @Test
+    public void testSharedCodecAnchors() throws Exception {
+        Class<?> broken = new MissingTypeClassLoader().loadClass(BrokenBeanClass.class.getName());
+        Class<?> sibling = new MissingTypeClassLoader().loadClass(BrokenBeanClass.class.getName());
+        Assert.assertSame(broken, ResolvedCodecs.anchor(ReflectionUtil.parameterize(Map.class, String.class, broken)));
+        Assert.assertSame(broken, ResolvedCodecs.anchor(ReflectionUtil.parameterize(Map.class, broken, BeanClass.class)));
+        //neither classloader should keep the other alive
+        Assert.assertNull(ResolvedCodecs.anchor(ReflectionUtil.parameterize(Map.class, broken, sibling)));
+    }
+
+    @Test
+    public void testPreload() throws Exception {
+        Map<Class<?>, BeanDescriptor> preloaded = Beanz.preload(Arrays.asList(BeanClass.class, OtherBeanClass.class, BeanClass.class));
+        Assert.assertEquals(2, preloaded.size());
+        Assert.assertSame(Beanz.parse(BeanClass.class), preloaded.get(BeanClass.class));
+        Assert.assertSame(Beanz.parse(OtherBeanClass.class), preloaded.get(OtherBeanClass.class));
+
+        preloaded = Beanz.preload(getClass().getClassLoader(), "net.radai.beanz.bytecode", true);
+        Assert.assertTrue(preloaded.containsKey(AccessorGeneratorTest.MixedBean.class));
+        Assert.assertSame(Beanz.parse(AccessorGeneratorTest.MixedBean.class), preloaded.get(AccessorGeneratorTest.MixedBean.class));
+
+        //a class that fails to parse is reported, and doesnt take the others down with it
+        Class<?> broken = new MissingTypeClassLoader().loadClass(BrokenBeanClass.class.getName());
+        Map<Class<?>, Throwable> failures = new HashMap<>();
+        preloaded = Beanz.preload(Arrays.asList(broken, BeanClass.class), false, ForkJoinPool.commonPool(), failures::put);
+        Assert.assertEquals(Collections.singleton(BeanClass.class), preloaded.keySet());
+        Assert.assertEquals(Collections.singleton(broken), failures.keySet());
+        Assert.assertTrue(failures.get(broken) instanceof NoClassDefFoundError);
+
+        //the default package
+        Assert.assertTrue(Preloader.scan(getClass().getClassLoader(), "").contains(BeanzTest.class));
+    }
+
+    @Test
+    public void testAccessorIndex() {
+        for (Class<?> clazz : Arrays.asList(BeanClass.class, AccessorGeneratorTest.MixedBean.class, TrickyBeanClass.class)) {
+            AccessorIndex index = new AccessorIndex(clazz);
+            List<String> names = new ArrayList<>();
+            for (Method method : clazz.getMethods()) {
+                if (ReflectionUtil.isGetter(method) || ReflectionUtil.isSetter(method)) {
+                    names.add(ReflectionUtil.propNameFrom(method));
+                }
+            }
+            for (Field field : index.getFields()) {
+                names.add(field.getName());
+            }
+            names.add("nonexistent");
+            for (String name : names) {
+                Assert.assertEquals(name, ReflectionUtil.findGetter(clazz, name), index.getter(name));
+                Assert.assertEquals(name, ReflectionUtil.findSetter(clazz, name), index.setter(name));
+                Assert.assertEquals(name, ReflectionUtil.findField(clazz, name), index.field(name));
+            }
+        }
+    }
+
     public enum Enum1 {
         V1, V2;
     }
@@ -55,4 +262,82 @@ public class BeanzTest {
         private List<Long> f6;
         private Map<Enum1, Short> f7;
     }
+
+    public static class OtherBeanClass {
+        public UUID uuid;
+        public Map<Enum1, Short> map;
+        public Object object;
+    }
+
+    public static class MissingType {
+    }
+
+    public static class BrokenBeanClass {
+        public MissingType getMissing() {
+            return null;
+        }
+    }
+
+    /**
+     * loads its own copy of BrokenBeanClass, which then cant see MissingType
+     */
+    private static class MissingTypeClassLoader extends ClassLoader {
+        MissingTypeClassLoader() {
+            super(BeanzTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (name.equals(MissingType.class.getName())) {
+                throw new ClassNotFoundException(name);
+            }
+            if (!name.equals(BrokenBeanClass.class.getName())) {
+                return super.loadClass(name, resolve);
+            }
+            Class<?> loaded = findLoadedClass(name);
+            if (loaded != null) {
+                return loaded;
+            }
+            try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                    bytes.write(buffer, 0, read);
+                }
+                return defineClass(name, bytes.toByteArray(), 0, bytes.size());
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+    }
+
+    public static class TrickyBeanClass extends BeanClass {
+        private long f1; //shadows the one in BeanClass
+        private static int global;
+        private boolean flag;
+
+        public boolean isFlag() {
+            return flag;
+        }
+
+        public Boolean getFlag() {
+            return flag;
+        }
+
+        public void setFlag(boolean flag) {
+            this.flag = flag;
+        }
+
+        public String isNotBoolean() {
+            return null;
+        }
+
+        public void setF1(long f1, long unused) {
+        }
+    }
+
+    public static class RacyBeanClass {
+        private int f1;
+        private String f2;
+    }
 }
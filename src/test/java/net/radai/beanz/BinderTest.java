@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+public class BinderTest {
+
+    @Test
+    public void testBind() {
+        Binder<Config> binder = Beanz.binder(Config.class);
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("port", "8080");
+        values.put("host", "localhost");
+        values.put("tags", "[a, b]");
+        values.put("nope", "1");
+        values.put("timeout", "forever");
+        values.put("readOnly", "x");
+        values.put("object", "x");
+        values.put("other", "2");
+
+        Binder.Result<Config> result = binder.bind(values);
+        Config config = result.getTarget();
+        Assert.assertEquals(8080, config.port);
+        Assert.assertEquals("localhost", config.getHost());
+        Assert.assertEquals(Arrays.asList("a", "b"), config.tags);
+        Assert.assertFalse(result.isSuccess());
+        Assert.assertEquals(Arrays.asList("nope", "other"), result.getUnknownKeys());
+        Assert.assertEquals(Arrays.asList("timeout", "readOnly", "object"), Arrays.asList(result.getFailures().keySet().toArray()));
+        Assert.assertTrue(result.getFailures().get("timeout") instanceof NumberFormatException);
+        try {
+            result.getOrThrow();
+            Assert.fail("expected to throw");
+        } catch (IllegalArgumentException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("nope"));
+            Assert.assertEquals(3, e.getSuppressed().length);
+        }
+
+        Properties properties = new Properties();
+        properties.setProperty("timeout", "30");
+        Properties withDefaults = new Properties(properties);
+        withDefaults.setProperty("port", "1");
+        result = binder.bind(withDefaults, config);
+        Assert.assertTrue(result.isSuccess());
+        Assert.assertSame(config, result.getOrThrow());
+        Assert.assertEquals(1, config.port);
+        Assert.assertEquals(30L, config.timeout);
+        Assert.assertEquals("localhost", config.getHost());
+    }
+
+    public static class Config {
+        public int port;
+        private String host;
+        public long timeout;
+        public List<String> tags;
+        public Object object;
+
+        public String getHost() {
+            return host;
+        }
+
+        public void setHost(String host) {
+            this.host = host;
+        }
+
+        public String getReadOnly() {
+            return "r";
+        }
+    }
+}
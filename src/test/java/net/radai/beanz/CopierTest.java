@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class CopierTest {
+
+    @Test
+    public void testCopy() {
+        Copier<Entity, Dto> copier = Beanz.copier(Entity.class, Dto.class);
+        Assert.assertEquals(Arrays.asList("count", "id", "names", "rank", "score", "tags"), copier.getPropertyNames());
+
+        Entity entity = new Entity();
+        entity.id = 7;
+        entity.count = "42";
+        entity.score = 1.5;
+        entity.names = Arrays.asList("a", "b");
+        entity.payload = new Object();
+        entity.tags = new ArrayList<>(Arrays.asList("x"));
+        entity.rank = 3;
+        Dto dto = copier.copy(entity);
+        Assert.assertEquals("7", dto.id);
+        Assert.assertEquals(42, dto.getCount());
+        Assert.assertEquals(Double.valueOf(1.5), dto.score);
+        Assert.assertSame(entity.names, dto.names);
+        Assert.assertSame(entity.tags, dto.tags); //assignable, so not converted
+        Assert.assertEquals(3, dto.rank);
+        Assert.assertNull(dto.payload);
+
+        //and back again
+        Entity copy = Beanz.copier(Dto.class, Entity.class).copy(dto, new Entity());
+        Assert.assertEquals(7, copy.id);
+        Assert.assertEquals("42", copy.count);
+        Assert.assertEquals(1.5, copy.score, 0);
+
+        //nulls go through (and need not be converted)
+        Entity empty = new Entity();
+        empty.count = "0";
+        dto = copier.copy(empty, dto);
+        Assert.assertNull(dto.names);
+        Assert.assertEquals("0", dto.id);
+        Assert.assertEquals(0, dto.getCount());
+        Assert.assertEquals(3, dto.rank); //null cant go into an int, so its left as-is
+    }
+
+    public static class Entity {
+        public int id;
+        public String count;
+        public double score;
+        public List<String> names;
+        public Object payload;
+        public ArrayList<String> tags;
+        public Integer rank;
+    }
+
+    public static class Dto {
+        public String id;
+        private int count;
+        public Double score;
+        public List<String> names;
+        public String payload;
+        public List<String> tags;
+        public int rank;
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+    }
+}
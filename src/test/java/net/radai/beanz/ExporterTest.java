@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ExporterTest {
+
+    @Test
+    public void testExport() {
+        Exporter<Event> exporter = Beanz.exporter(Event.class, false);
+        Assert.assertEquals(Arrays.asList("id", "name", "tags", "type"), exporter.getPropertyNames());
+
+        Event event = new Event();
+        event.id = 7;
+        event.tags = Arrays.asList("a", "b");
+        Map<String, String> exported = exporter.export(event);
+        Assert.assertEquals(Arrays.asList("id", "name", "tags", "type"), new ArrayList<>(exported.keySet()));
+        Assert.assertEquals("7", exported.get("id"));
+        Assert.assertNull(exported.get("name"));
+        Assert.assertEquals("[a, b]", exported.get("tags"));
+        Assert.assertEquals("event", exported.get("type"));
+
+        //skipping nulls, into a reused map
+        Exporter<Event> skipping = Beanz.exporter(Event.class, true);
+        Map<String, String> reused = new HashMap<>();
+        reused.put("other", "x");
+        event.name = "n";
+        event.tags = null;
+        Assert.assertSame(reused, skipping.export(event, reused));
+        Assert.assertEquals(4, reused.size());
+        Assert.assertEquals("n", reused.get("name"));
+        Assert.assertFalse(reused.containsKey("tags"));
+
+        //exporting another bean into the same map leaves nothing of the previous one
+        Event other = new Event();
+        other.tags = Arrays.asList("z");
+        skipping.export(other, reused);
+        Assert.assertEquals(4, reused.size());
+        Assert.assertEquals("0", reused.get("id"));
+        Assert.assertFalse(reused.containsKey("name"));
+        Assert.assertEquals("[z]", reused.get("tags"));
+        Assert.assertEquals("x", reused.get("other"));
+
+        List<String> pairs = new ArrayList<>();
+        skipping.forEach(event, (name, value) -> pairs.add(name + "=" + value));
+        Assert.assertEquals(Arrays.asList("id=7", "name=n", "type=event"), pairs);
+    }
+
+    public static class Event {
+        public int id;
+        public String name;
+        public List<String> tags;
+        public Object payload;
+
+        public String getType() {
+            return "event";
+        }
+
+        public void setWriteOnly(String writeOnly) {
+        }
+    }
+}
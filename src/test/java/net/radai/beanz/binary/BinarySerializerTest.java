@@ -0,0 +1,175 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.binary;
+
+import net.radai.beanz.Beanz;
+import net.radai.beanz.api.BinaryCodec;
+import net.radai.beanz.util.ReflectionUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+public class BinarySerializerTest {
+
+    @Test
+    public void testRoundTrip() {
+        BinarySerializer<Message> serializer = new BinarySerializer<>(Beanz.parse(Message.class));
+        Message message = new Message();
+        message.id = -7;
+        message.total = Long.MIN_VALUE;
+        message.ratio = 0.25;
+        message.active = true;
+        message.small = 3;
+        message.count = 300;
+        message.name = "ascii \u00e9 \u4e2d \ud83d\ude00";
+        message.tags = Arrays.asList("a", null, "");
+        message.matrix = new int[][] {{1, -2}, {}, null};
+        message.nested = new LinkedHashMap<>();
+        message.nested.put(Color.GREEN, new TreeSet<>(Arrays.asList(2, 1)));
+        message.nested.put(Color.RED, null);
+        message.date = new Date(1499990400000L);
+        message.uuid = UUID.randomUUID();
+
+        for (ByteBuffer buffer : Arrays.asList(ByteBuffer.allocate(1024), ByteBuffer.allocateDirect(1024))) {
+            serializer.write(message, buffer);
+            serializer.write(new Message(), buffer);
+            buffer.flip();
+            Message read = serializer.read(buffer);
+            Assert.assertEquals(message.id, read.id);
+            Assert.assertEquals(message.total, read.total);
+            Assert.assertEquals(message.ratio, read.ratio, 0);
+            Assert.assertEquals(message.active, read.active);
+            Assert.assertEquals(message.small, read.small);
+            Assert.assertEquals(message.count, read.count);
+            Assert.assertEquals(message.name, read.name);
+            Assert.assertEquals(message.tags, read.tags);
+            Assert.assertArrayEquals(message.matrix, read.matrix);
+            Assert.assertEquals(message.nested, read.nested);
+            Assert.assertEquals(message.date, read.date);
+            Assert.assertEquals(message.uuid, read.uuid);
+            serializer.readInto(buffer, read);
+            Assert.assertEquals(0, read.id);
+            Assert.assertNull(read.name);
+            Assert.assertFalse(buffer.hasRemaining());
+        }
+    }
+
+    @Test
+    public void testEncoding() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        for (int value : new int[] {0, -1, 1, 63, -64, 64, Integer.MAX_VALUE, Integer.MIN_VALUE}) {
+            buffer.clear();
+            BinaryCodecs.writeInt(value, buffer);
+            Assert.assertEquals(value >= -64 && value < 64 ? 1 : value == 64 ? 2 : 5, buffer.position());
+            buffer.flip();
+            Assert.assertEquals(value, BinaryCodecs.readInt(buffer));
+        }
+
+        //custom codecs take precedence over the built-in ones
+        BinaryCodec fixedInt = new BinaryCodec() {
+            @Override
+            public Type getType() {
+                return int.class;
+            }
+
+            @Override
+            public void write(Object value, ByteBuffer out) {
+                out.putInt((Integer) value);
+            }
+
+            @Override
+            public Object read(ByteBuffer in) {
+                return in.getInt();
+            }
+        };
+        BinarySerializer<Small> serializer = new BinarySerializer<>(Beanz.parse(Small.class), Collections.singletonMap(int.class, fixedInt));
+        Small small = new Small();
+        small.value = 1;
+        buffer.clear();
+        serializer.write(small, buffer);
+        Assert.assertEquals(5, buffer.position()); //a null marker and 4 bytes
+        buffer.flip();
+        Assert.assertEquals(1, serializer.read(buffer).value);
+    }
+
+    @Test
+    public void testCorruptSizes() {
+        Type[] types = {
+                int[].class,
+                String[].class,
+                ReflectionUtil.parameterize(List.class, String.class),
+                ReflectionUtil.parameterize(Map.class, String.class, Integer.class)
+        };
+        for (Type type : types) {
+            BinaryCodec codec = BinaryCodecs.resolve(type, Collections.emptyMap(), t -> null);
+            ByteBuffer buffer = ByteBuffer.allocate(16);
+            BinaryCodecs.writeVarint(Integer.MAX_VALUE, buffer);
+            buffer.put((byte) 0);
+            buffer.flip();
+            try {
+                codec.read(buffer);
+                Assert.fail("expected " + type + " to reject a size larger than the buffer");
+            } catch (IllegalArgumentException expected) {
+                //expected
+            }
+        }
+    }
+
+    public enum Color {
+        RED, GREEN
+    }
+
+    public static class Message {
+        public int id;
+        public long total;
+        public double ratio;
+        public boolean active;
+        public short small;
+        public Integer count;
+        public String name;
+        public List<String> tags;
+        public int[][] matrix;
+        public Map<Color, Set<Integer>> nested;
+        public Date date;
+        public UUID uuid;
+        public Object ignored;
+    }
+
+    public static class Small {
+        public int value;
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.binary;
+
+import net.radai.beanz.Beanz;
+import net.radai.beanz.api.Codec;
+import net.radai.beanz.codecs.Codecs;
+import net.radai.beanz.codecs.FunctionCodec;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+public class SchemaTest {
+
+    @Test
+    public void testFingerprint() {
+        Schema schema = Schema.of(Beanz.parse(V1.class));
+        Assert.assertEquals(schema, Schema.of(Beanz.parse(V1.class)));
+        Assert.assertEquals(schema, new Schema(schema.getNames(), schema.getEncodings()));
+        Assert.assertNotEquals(schema.getFingerprint(), Schema.of(Beanz.parse(V2.class)).getFingerprint());
+        Assert.assertTrue(schema.getEncodings().contains("int!"));
+        Assert.assertTrue(schema.getEncodings().contains("collection<string>"));
+        Assert.assertTrue(schema.getEncodings().contains("enum{RED,GREEN}"));
+        Assert.assertTrue(schema.getEncodings().contains("array<int!>"));
+        //names and encodings are hashed separately
+        Assert.assertNotEquals(
+                new Schema(Arrays.asList("ab"), Arrays.asList("c")).getFingerprint(),
+                new Schema(Arrays.asList("a"), Arrays.asList("bc")).getFingerprint());
+
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        schema.write(buffer);
+        buffer.flip();
+        Schema read = Schema.read(buffer);
+        Assert.assertEquals(schema, read);
+        Assert.assertEquals(schema.getFingerprint(), read.getFingerprint());
+    }
+
+    @Test
+    public void testTextCodecs() {
+        //same type, different text formats
+        Codec decimal = Codecs.BUILT_INS.get(Integer.class);
+        Codec hex = new Codec() {
+            @Override
+            public Type getType() {
+                return Integer.class;
+            }
+
+            @Override
+            public Object decode(String encoded) {
+                return Integer.valueOf(encoded, 16);
+            }
+
+            @Override
+            public String encode(Object object) {
+                return Integer.toHexString((Integer) object);
+            }
+        };
+        String decimalEncoding = Schema.describe(new TextBinaryCodec(decimal));
+        String hexEncoding = Schema.describe(new TextBinaryCodec(hex));
+        Assert.assertEquals("text(java.lang.Integer;" + decimal + ")", decimalEncoding);
+        Assert.assertEquals("text(java.lang.Integer;" + hex.getClass().getName() + ")", hexEncoding);
+        String functions = Schema.describe(new TextBinaryCodec(new FunctionCodec(Integer.class, Object::toString, Integer::valueOf)));
+        Assert.assertNotEquals(decimalEncoding, functions);
+        //and they can all still be skipped over
+        for (String encoding : Arrays.asList(decimalEncoding, hexEncoding, functions)) {
+            ByteBuffer buffer = ByteBuffer.allocate(16);
+            buffer.put((byte) 1);
+            BinaryCodecs.writeString("f", buffer);
+            buffer.flip();
+            Schema.skipper(encoding).skip(buffer);
+            Assert.assertFalse(encoding, buffer.hasRemaining());
+        }
+        ByteBuffer emptyMap = ByteBuffer.wrap(new byte[] {1, 0});
+        Schema.skipper("map<" + functions + "," + hexEncoding + ">").skip(emptyMap);
+        Assert.assertFalse(emptyMap.hasRemaining());
+    }
+
+    @Test
+    public void testTolerantRead() {
+        BinarySerializer<V1> s1 = new BinarySerializer<>(Beanz.parse(V1.class));
+        BinarySerializer<V2> s2 = new BinarySerializer<>(Beanz.parse(V2.class));
+        SchemaRegistry registry = new SchemaRegistry();
+        registry.register(s1.getSchema());
+        registry.register(s2.getSchema());
+        Assert.assertEquals(s1.getSchema().getFingerprint(), registry.register(s1.getSchema()));
+        Assert.assertEquals(2, registry.size());
+
+        V1 v1 = new V1();
+        v1.id = 7;
+        v1.name = "seven";
+        v1.removed = 42;
+        v1.tags = Arrays.asList("a", null);
+        v1.color = Color.GREEN;
+        v1.nums = new int[] {1, 2};
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        for (int i = 0; i < 3; i++) {
+            s1.writeWithHeader(v1, buffer);
+        }
+        buffer.flip();
+        for (int i = 0; i < 2; i++) { //2nd time around uses the cached plan
+            V2 v2 = s2.readWithHeader(buffer, registry);
+            Assert.assertEquals(Integer.valueOf(7), v2.id);
+            Assert.assertEquals("seven", v2.name);
+            Assert.assertEquals(0, v2.tags); //changed type, skipped
+            Assert.assertEquals(Color.GREEN, v2.color);
+            Assert.assertArrayEquals(new int[] {1, 2}, v2.nums);
+            Assert.assertEquals(0.5, v2.added, 0);
+        }
+        //same schema is read directly
+        V1 same = s1.readWithHeader(buffer, registry);
+        Assert.assertEquals(v1.tags, same.tags);
+        Assert.assertEquals(42, same.removed);
+        Assert.assertFalse(buffer.hasRemaining());
+
+        buffer.clear();
+        V2 v2 = new V2();
+        v2.name = "two";
+        v2.tags = 3;
+        s2.writeWithHeader(v2, buffer);
+        buffer.flip();
+        V1 target = new V1();
+        target.id = 5;
+        target.tags = Arrays.asList("x");
+        s1.readIntoWithHeader(buffer, target, registry);
+        Assert.assertEquals(5, target.id); //null into a primitive is ignored
+        Assert.assertEquals("two", target.name);
+        Assert.assertEquals(Arrays.asList("x"), target.tags);
+        Assert.assertNull(target.color);
+        Assert.assertNull(target.nums);
+        Assert.assertFalse(buffer.hasRemaining());
+
+        buffer.clear();
+        buffer.putLong(0L);
+        buffer.flip();
+        try {
+            s1.readWithHeader(buffer, registry);
+            Assert.fail("expected an unknown schema");
+        } catch (IllegalStateException expected) {
+            //expected
+        }
+    }
+
+    @Test
+    public void testChangedEnum() {
+        BinarySerializer<V1> s1 = new BinarySerializer<>(Beanz.parse(V1.class));
+        BinarySerializer<V3> s3 = new BinarySerializer<>(Beanz.parse(V3.class));
+        SchemaRegistry registry = new SchemaRegistry();
+        registry.register(s1.getSchema());
+        registry.register(s3.getSchema());
+        Assert.assertTrue(s3.getSchema().getEncodings().contains("enum{BLUE,GREEN,RED}"));
+
+        V1 v1 = new V1();
+        v1.name = "one";
+        v1.color = Color.GREEN;
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        s1.writeWithHeader(v1, buffer);
+        v1.color = null;
+        s1.writeWithHeader(v1, buffer);
+        buffer.flip();
+        V3 v3 = s3.readWithHeader(buffer, registry);
+        Assert.assertEquals("one", v3.name);
+        Assert.assertEquals(Shade.GREEN, v3.color); //by name, not ordinal
+        Assert.assertNull(s3.readWithHeader(buffer, registry).color);
+        Assert.assertFalse(buffer.hasRemaining());
+
+        buffer.clear();
+        v3.color = Shade.BLUE;
+        s3.writeWithHeader(v3, buffer);
+        v3.color = Shade.RED;
+        s3.writeWithHeader(v3, buffer);
+        buffer.flip();
+        Assert.assertNull(s1.readWithHeader(buffer, registry).color); //no BLUE in Color
+        V1 red = s1.readWithHeader(buffer, registry);
+        Assert.assertEquals(Color.RED, red.color);
+        Assert.assertEquals("one", red.name);
+        Assert.assertFalse(buffer.hasRemaining());
+    }
+
+    public enum Color {
+        RED, GREEN
+    }
+
+    public enum Shade {
+        BLUE, GREEN, RED
+    }
+
+    public static class V1 {
+        public int id;
+        public String name;
+        public long removed;
+        public List<String> tags;
+        public Color color;
+        public int[] nums;
+    }
+
+    public static class V2 {
+        public Integer id;
+        public String name;
+        public int tags;
+        public Color color;
+        public int[] nums;
+        public double added = 0.5;
+    }
+
+    public static class V3 {
+        public String name;
+        public Shade color;
+    }
+}
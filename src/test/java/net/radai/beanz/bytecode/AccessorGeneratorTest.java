@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.bytecode;
+
+import net.radai.beanz.Beanz;
+import net.radai.beanz.api.BeanAccessor;
+import net.radai.beanz.api.BeanDescriptor;
+import net.radai.beanz.properties.DescriptorBeanAccessor;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AccessorGeneratorTest {
+
+    @Test
+    public void testGeneratedAccessor() {
+        BeanDescriptor descriptor = Beanz.parse(MixedBean.class);
+        BeanAccessor accessor = descriptor.getAccessor();
+        Assert.assertNotEquals(DescriptorBeanAccessor.class, accessor.getClass());
+        Assert.assertSame(accessor, descriptor.getAccessor());
+        Assert.assertEquals(6, accessor.size());
+        Assert.assertEquals(-1, accessor.indexOf("nope"));
+
+        MixedBean bean = new MixedBean();
+        accessor.set(bean, accessor.indexOf("intProp"), 3);
+        accessor.set(bean, accessor.indexOf("strings"), Arrays.asList("a", "b"));
+        accessor.set(bean, accessor.indexOf("publicField"), 4.5);
+        accessor.set(bean, accessor.indexOf("privateField"), 'c');
+        accessor.set(bean, accessor.indexOf("composite"), true);
+        Assert.assertEquals(3, bean.getIntProp());
+        Assert.assertEquals(Arrays.asList("a", "b"), bean.getStrings());
+        Assert.assertEquals(4.5, bean.publicField, 0.0);
+        Assert.assertEquals('c', bean.privateField);
+        Assert.assertTrue(bean.composite);
+
+        Assert.assertEquals(3, accessor.get(bean, accessor.indexOf("intProp")));
+        Assert.assertEquals(Arrays.asList("a", "b"), accessor.get(bean, accessor.indexOf("strings")));
+        Assert.assertEquals(4.5, accessor.get(bean, accessor.indexOf("publicField")));
+        Assert.assertEquals('c', accessor.get(bean, accessor.indexOf("privateField")));
+        Assert.assertEquals(Boolean.TRUE, accessor.get(bean, accessor.indexOf("composite")));
+        Assert.assertEquals(7L, accessor.get(bean, accessor.indexOf("readOnly")));
+
+        try {
+            accessor.set(bean, accessor.indexOf("readOnly"), 8L);
+            Assert.fail("expected read-only property to fail");
+        } catch (IllegalStateException expected) {
+            //expected
+        }
+        try {
+            accessor.get(bean, accessor.size());
+            Assert.fail("expected bad index to fail");
+        } catch (IndexOutOfBoundsException expected) {
+            //expected
+        }
+    }
+
+    @Test
+    public void testInaccessibleBean() {
+        BeanDescriptor descriptor = Beanz.parse(HiddenBean.class);
+        BeanAccessor accessor = descriptor.getAccessor();
+        HiddenBean bean = new HiddenBean();
+        accessor.set(bean, accessor.indexOf("value"), "v");
+        Assert.assertEquals("v", accessor.get(bean, accessor.indexOf("value")));
+    }
+
+    public static class MixedBean {
+        private int intProp;
+        private List<String> strings;
+        public double publicField;
+        private char privateField;
+        private boolean composite;
+
+        public int getIntProp() {
+            return intProp;
+        }
+
+        public void setIntProp(int intProp) {
+            this.intProp = intProp;
+        }
+
+        public List<String> getStrings() {
+            return strings;
+        }
+
+        public void setStrings(List<String> strings) {
+            this.strings = strings;
+        }
+
+        public boolean isComposite() {
+            return composite;
+        }
+
+        public long getReadOnly() {
+            return 7L;
+        }
+    }
+
+    static class HiddenBean {
+        private String value;
+    }
+}
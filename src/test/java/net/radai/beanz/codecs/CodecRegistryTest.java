@@ -0,0 +1,132 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.codecs;
+
+import net.radai.beanz.Beanz;
+import net.radai.beanz.api.BeanDescriptor;
+import net.radai.beanz.api.Codec;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+public class CodecRegistryTest {
+
+    @Test
+    public void testLayering() {
+        CodecRegistry perBean = CodecRegistry.BUILT_INS.overlay();
+        CodecRegistry perCall = perBean.overlay();
+        Codec hex = new FunctionCodec(int.class, o -> Integer.toHexString((Integer) o), s -> Integer.parseInt(s, 16));
+        perCall.put(int.class, hex);
+
+        Assert.assertSame(hex, perCall.get(int.class));
+        Assert.assertSame(Codecs.INT_CODEC, perBean.get(int.class));
+        Assert.assertSame(Codecs.DATE_CODEC, perCall.get(Date.class));
+        Assert.assertNull(perCall.get(Object.class));
+        Assert.assertTrue(perBean.getLocalCodecs().isEmpty());
+        try {
+            perCall.put(int.class, hex);
+            Assert.fail("expected a duplicate in the same layer to fail");
+        } catch (IllegalArgumentException expected) {
+            //expected
+        }
+        try {
+            Codecs.BUILT_INS.put(Object.class, hex);
+            Assert.fail("expected the built-ins to be immutable");
+        } catch (UnsupportedOperationException expected) {
+            //expected
+        }
+    }
+
+    @Test
+    public void testBeanCodecs() {
+        BeanDescriptor descriptor = Beanz.parse(ListBean.class);
+        CodecRegistry codecs = descriptor.getCodecs();
+        //only the codecs the bean needed (on top of the built-ins) live in its own layer
+        Assert.assertEquals(1, codecs.getLocalCodecs().size());
+        Assert.assertSame(CodecRegistry.BUILT_INS, codecs.getParent());
+        Assert.assertSame(Codecs.NOP_CODEC, descriptor.getCodec(String.class));
+        Assert.assertTrue(descriptor.getProperty("strings").getCodec() instanceof CollectionCodec);
+    }
+
+    @Test
+    public void testParseWithRegistry() {
+        CodecRegistry perCall = CodecRegistry.BUILT_INS.overlay();
+        Codec hex = new FunctionCodec(int.class, o -> Integer.toHexString((Integer) o), s -> Integer.parseInt(s, 16));
+        perCall.put(int.class, hex);
+
+        BeanDescriptor descriptor = Beanz.parse(HexBean.class, perCall);
+        Assert.assertSame(perCall, descriptor.getCodecs().getParent());
+        Assert.assertSame(hex, descriptor.getProperty("number").getCodec());
+        HexBean bean = new HexBean();
+        descriptor.getProperty("number").setFromString(bean, "ff");
+        Assert.assertEquals(255, bean.number);
+
+        //cached per registry
+        Assert.assertSame(descriptor, Beanz.parse(HexBean.class, perCall));
+        BeanDescriptor plain = Beanz.parse(HexBean.class);
+        Assert.assertNotSame(descriptor, plain);
+        Assert.assertSame(plain, Beanz.parse(HexBean.class, CodecRegistry.BUILT_INS));
+        Assert.assertSame(Codecs.INT_CODEC, plain.getProperty("number").getCodec());
+        Assert.assertNotSame(descriptor, Beanz.parse(HexBean.class, CodecRegistry.BUILT_INS.overlay()));
+    }
+
+    @Test
+    public void testOverriddenElementCodecs() {
+        CodecRegistry perCall = CodecRegistry.BUILT_INS.overlay();
+        perCall.put(Integer.class, new FunctionCodec(Integer.class, o -> Integer.toHexString((Integer) o), s -> Integer.parseInt(s, 16)));
+        HexBean bean = new HexBean();
+        bean.numbers = Arrays.asList(255, 16);
+        bean.byName = Collections.singletonMap("a", 10);
+
+        BeanDescriptor descriptor = Beanz.parse(HexBean.class, perCall);
+        Assert.assertEquals("[ff, 10]", descriptor.getProperty("numbers").getAsString(bean));
+        Assert.assertEquals("{a=a}", descriptor.getProperty("byName").getAsString(bean));
+        descriptor.getProperty("numbers").setFromString(bean, "[a, b]");
+        Assert.assertEquals(Arrays.asList(10, 11), bean.numbers);
+
+        //the overrides dont leak into the (shared) codecs of other beans
+        BeanDescriptor plain = Beanz.parse(HexBean.class);
+        Assert.assertEquals("[10, 11]", plain.getProperty("numbers").getAsString(bean));
+        Assert.assertNotSame(plain.getProperty("numbers").getCodec(), descriptor.getProperty("numbers").getCodec());
+        Assert.assertSame(plain.getProperty("strings").getCodec(), descriptor.getProperty("strings").getCodec());
+    }
+
+    public static class HexBean {
+        public int number;
+        public List<Integer> numbers;
+        public Map<String, Integer> byName;
+        public List<String> strings;
+    }
+
+    public static class ListBean {
+        public List<String> strings;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.codecs;
+
+import net.radai.beanz.util.ReflectionUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class CollectionCodecTest {
+
+    @Test
+    public void testNestedAndEscaped() {
+        Type stringsType = ReflectionUtil.parameterize(List.class, String.class);
+        CollectionCodec stringsCodec = new CollectionCodec(stringsType, String.class, Codecs.NOP_CODEC);
+        Type nestedType = ReflectionUtil.parameterize(List.class, stringsType);
+        CollectionCodec nestedCodec = new CollectionCodec(nestedType, stringsType, stringsCodec);
+
+        List<List<String>> nested = Arrays.asList(
+                Arrays.asList("a", "b,c", "[d]"),
+                Collections.emptyList(),
+                Collections.singletonList("e=f\\g"));
+        String encoded = nestedCodec.encode(nested);
+        Assert.assertEquals("[[a, b\\,c, \\[d\\]], [], [e\\=f\\\\g]]", encoded);
+        Assert.assertEquals(nested, nestedCodec.decode(encoded));
+        Assert.assertEquals(nested, nestedCodec.decode("[ [a,b\\,c , \\[d\\] ],[ ],[e\\=f\\\\g] ]"));
+
+        Type mapType = ReflectionUtil.parameterize(Map.class, String.class, stringsType);
+        MapCodec mapCodec = new MapCodec(mapType, String.class, stringsType, Codecs.NOP_CODEC, stringsCodec);
+        Map<String, List<String>> map = new LinkedHashMap<>();
+        map.put("x", Arrays.asList("1", "2"));
+        map.put("y=z", Collections.singletonList("{}"));
+        Assert.assertEquals(map, mapCodec.decode(mapCodec.encode(map)));
+
+        //a wrapped composite codec still produces structure, rather than an escaped leaf
+        CollectionCodec safeNestedCodec = new CollectionCodec(nestedType, stringsType, new SafeCodec(stringsCodec, true, true, true));
+        Assert.assertEquals(encoded, safeNestedCodec.encode(nested));
+        Assert.assertEquals(nested, safeNestedCodec.decode(encoded));
+
+        for (String bad : new String[] {"[[a, b]", "[a], b]", "[a}]"}) {
+            try {
+                nestedCodec.decode(bad);
+                Assert.fail("expected " + bad + " to fail");
+            } catch (IllegalArgumentException expected) {
+                //expected
+            }
+        }
+    }
+
+    @Test
+    public void testUnescapedBackslashes() {
+        //data encoded before escaping was introduced, where a backslash was always literal
+        Type stringsType = ReflectionUtil.parameterize(List.class, String.class);
+        CollectionCodec stringsCodec = new CollectionCodec(stringsType, String.class, Codecs.NOP_CODEC);
+        List<String> decoded = Arrays.asList("C:\\temp", "a\\b", "\\n");
+        Assert.assertEquals(decoded, stringsCodec.decode("[C:\\temp, a\\b, \\n]"));
+        //and re-encoding escapes them
+        Assert.assertEquals("[C:\\\\temp, a\\\\b, \\\\n]", stringsCodec.encode(decoded));
+        Assert.assertEquals(decoded, stringsCodec.decode(stringsCodec.encode(decoded)));
+    }
+}
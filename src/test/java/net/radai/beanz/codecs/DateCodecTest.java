@@ -27,9 +27,17 @@ package net.radai.beanz.codecs;
 
 import net.radai.beanz.api.Codec;
 
+import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.Random;
 import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -71,4 +79,96 @@ public class DateCodecTest {
         Assert.assertNull(codec.decode(null));
         Assert.assertNull(codec.decode(""));
     }
+
+    @Test
+    public void testHandParsingMatchesFormatters() throws Exception {
+        //random values in the fixed layouts, including out of range fields and pre-gregorian dates
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            String date = String.format("%02d/%02d/%04d", random.nextInt(40), random.nextInt(14), random.nextInt(10000));
+            Assert.assertEquals(date, baseline(date), decodeOrFail(date));
+            String timestamp = String.format("%s %02d:%02d:%02d.%03d %c%02d%02d", date, random.nextInt(26),
+                    random.nextInt(62), random.nextInt(62), random.nextInt(1000), random.nextBoolean() ? '+' : '-',
+                    random.nextInt(25), random.nextInt(62));
+            Assert.assertEquals(timestamp, baseline(timestamp), decodeOrFail(timestamp));
+            long millis = random.nextLong() % (400L * 365 * 86_400_000L);
+            if (i % 2 == 0) {
+                millis -= Math.floorMod(millis, 86_400_000L);
+            }
+            Date value = new Date(millis);
+            Assert.assertEquals((i % 2 == 0 ? shortFormat : fullFormat).format(value), codec.encode(value));
+        }
+        //in place, and lenient like SimpleDateFormat
+        Assert.assertEquals(shortFormat.parse("03/03/2001"), codec.decode("x=31/02/2001", 2, 12));
+        Assert.assertEquals(shortFormat.parse("01/02/2000"), codec.decode("32/01/2000"));
+        Assert.assertEquals(shortFormat.parse("01/02/1956"), codec.decode("1/2/1956"));
+        Assert.assertEquals(-14806108800000L, ((Date) codec.decode("15/10/1500")).getTime()); //julian
+        Assert.assertEquals(fullFormat.parse("01/02/1956 01:02:03.004 GMT"), codec.decode("01/02/1956 1:2:3.4 GMT"));
+        Assert.assertEquals(shortFormat.parse("01/02/1956"), codec.decode("01/02/1956 and then some"));
+        for (String bad : new String[] {"01-02-1956", "nonsense"}) {
+            try {
+                codec.decode(bad);
+                Assert.fail("expected " + bad + " to fail");
+            } catch (IllegalArgumentException expected) {
+                //expected
+            }
+        }
+    }
+
+    /**
+     * what the original (SimpleDateFormat based) codec returned: the timestamp format, then the date format
+     */
+    private Object baseline(String encoded) {
+        try {
+            return fullFormat.parse(encoded);
+        } catch (ParseException e) {
+            try {
+                return shortFormat.parse(encoded);
+            } catch (ParseException e2) {
+                return "failed";
+            }
+        }
+    }
+
+    private Object decodeOrFail(String encoded) {
+        try {
+            return codec.decode(encoded);
+        } catch (IllegalArgumentException e) {
+            return "failed";
+        }
+    }
+
+    @Test
+    public void testConcurrentUse() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long seed = t;
+                //SimpleDateFormat isnt thread safe, so every thread gets its own reference formats
+                SimpleDateFormat shortReference = (SimpleDateFormat) shortFormat.clone();
+                SimpleDateFormat fullReference = (SimpleDateFormat) fullFormat.clone();
+                tasks.add(() -> {
+                    int failures = 0;
+                    for (int i = 0; i < 5000; i++) {
+                        //every thread works on different dates, alternating between the two formats
+                        long millis = (seed * 5000 + i) * 86_400_000L + (i % 2 == 0 ? 0 : 3_723_456L);
+                        Date date = new Date(millis);
+                        String encoded = codec.encode(date);
+                        String expected = (i % 2 == 0 ? shortReference : fullReference).format(date);
+                        if (!expected.equals(encoded) || !date.equals(codec.decode(encoded))) {
+                            failures++;
+                        }
+                    }
+                    return failures;
+                });
+            }
+            for (Future<Integer> result : executor.invokeAll(tasks)) {
+                Assert.assertEquals(0, (int) result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
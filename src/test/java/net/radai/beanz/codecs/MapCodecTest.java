@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.codecs;
+
+import net.radai.beanz.util.ReflectionUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class MapCodecTest {
+
+    @Test
+    public void testStreaming() throws Exception {
+        Type listType = ReflectionUtil.parameterize(List.class, Integer.class);
+        CollectionCodec listCodec = new CollectionCodec(listType, Integer.class, Codecs.BUILT_INS.get(Integer.class));
+        Type mapType = ReflectionUtil.parameterize(Map.class, String.class, Integer.class);
+        MapCodec mapCodec = new MapCodec(mapType, String.class, Integer.class, Codecs.NOP_CODEC, Codecs.BUILT_INS.get(Integer.class));
+
+        Map<String, Integer> map = new LinkedHashMap<>();
+        map.put("a", 1);
+        map.put("b", null);
+        StringWriter writer = new StringWriter();
+        mapCodec.encodeTo(map, writer);
+        writer.append(" | ");
+        listCodec.encodeTo(Arrays.asList(1, 2, 3), writer);
+        Assert.assertEquals("{a=1, b=null} | [1, 2, 3]", writer.toString());
+
+        StringBuilder sb = new StringBuilder("x={ a = 1 , b=2 };y=[ 4,5 ];z=[]");
+        Map<?, ?> decodedMap = (Map<?, ?>) mapCodec.decode(sb, 2, 17);
+        Assert.assertEquals(2, decodedMap.size());
+        Assert.assertEquals(1, decodedMap.get("a"));
+        Assert.assertEquals(2, decodedMap.get("b"));
+        Assert.assertEquals(Arrays.asList(4, 5), listCodec.decode(sb, 20, 27));
+        Assert.assertTrue(((List<?>) listCodec.decode(sb, 30, 32)).isEmpty());
+        Assert.assertEquals(mapCodec.encode(decodedMap), mapCodec.encode(mapCodec.decode(mapCodec.encode(decodedMap))));
+    }
+}
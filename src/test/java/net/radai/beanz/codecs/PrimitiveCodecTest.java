@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.codecs;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PrimitiveCodecTest {
+
+    @Test
+    public void testParseRanges() {
+        String s = "x-2147483648,9223372036854775807,+17,true";
+        Assert.assertEquals(Integer.MIN_VALUE, PrimitiveCodec.parseInt(s, 1, 12));
+        Assert.assertEquals(Long.MAX_VALUE, PrimitiveCodec.parseLong(s, 13, 32));
+        Assert.assertEquals(17, PrimitiveCodec.parseInt(new StringBuilder(s), 33, 36));
+        Assert.assertTrue(PrimitiveCodec.parseBoolean(s, 37, 41));
+        Assert.assertFalse(PrimitiveCodec.parseBoolean(s, 0, 1));
+        Assert.assertEquals(1.5, PrimitiveCodec.parseDouble("[1.5]", 1, 4), 0.0);
+        for (String bad : new String[] {"", "-", "+", "2147483648", "-2147483649", "1a", " 1"}) {
+            try {
+                PrimitiveCodec.parseInt(bad, 0, bad.length());
+                Assert.fail("expected \"" + bad + "\" to fail");
+            } catch (NumberFormatException expected) {
+                //expected
+            }
+        }
+        try {
+            PrimitiveCodec.parseByte("128", 0, 3);
+            Assert.fail("expected out of range to fail");
+        } catch (NumberFormatException expected) {
+            //expected
+        }
+    }
+
+    @Test
+    public void testEncodeDecode() throws Exception {
+        Assert.assertEquals(-5, Codecs.INT_CODEC.decode("-5"));
+        Assert.assertEquals(5L, Codecs.LONG_CODEC.decode("5"));
+        Assert.assertEquals((short) 5, Codecs.SHORT_CODEC.decode("5"));
+        Assert.assertEquals('c', Codecs.CHAR_CODEC.decode("c"));
+        Assert.assertEquals(Boolean.TRUE, Codecs.BOOLEAN_CODEC.decode("TRUE"));
+        Assert.assertEquals(2.5f, Codecs.FLOAT_CODEC.decode("2.5"));
+        Assert.assertNull(Codecs.INT_CODEC.decode(null));
+        Assert.assertEquals("1.0E10", Codecs.DOUBLE_CODEC.encode(1e10));
+        Assert.assertEquals("-5", Codecs.INT_CODEC.encode(-5));
+
+        StringBuilder sb = new StringBuilder();
+        Codecs.LONG_CODEC.encodeTo(7L, sb);
+        sb.append(',');
+        Codecs.BOOLEAN_CODEC.encodeTo(false, (Appendable) sb);
+        Assert.assertEquals("7,false", sb.toString());
+
+        //wrappers are null/empty safe
+        Assert.assertNull(Codecs.BUILT_INS.get(Integer.class).decode(""));
+        Assert.assertNull(Codecs.BUILT_INS.get(Character.class).decode(""));
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.csv;
+
+import net.radai.beanz.Beanz;
+import net.radai.beanz.api.BeanDescriptor;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class CsvTest {
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        BeanDescriptor descriptor = Beanz.parse(Row.class);
+        Row first = new Row();
+        first.id = 1;
+        first.amount = 2.5;
+        first.active = true;
+        first.name = "plain";
+        first.tags = Arrays.asList("a", "b");
+        Row second = new Row();
+        second.id = -2;
+        second.total = 3000000000L;
+        second.name = "with \"quotes\", commas\r\nand line breaks";
+        second.count = 7;
+        Row third = new Row();
+        third.name = "";
+
+        StringWriter csv = new StringWriter();
+        try (CsvWriter<Row> writer = new CsvWriter<>(descriptor, csv)) {
+            writer.writeAll(Arrays.asList(first, second, third));
+        }
+        Assert.assertEquals(
+                "active,amount,count,id,name,tags,total\r\n" +
+                "true,2.5,,1,plain,\"[a, b]\",0\r\n" +
+                "false,0.0,7,-2,\"with \"\"quotes\"\", commas\r\nand line breaks\",,3000000000\r\n" +
+                "false,0.0,,0,\"\",,0\r\n", csv.toString());
+
+        try (CsvReader<Row> reader = new CsvReader<>(descriptor, new StringReader(csv.toString()))) {
+            Assert.assertEquals(Arrays.asList("active", "amount", "count", "id", "name", "tags", "total"), reader.getHeader());
+            for (Row expected : Arrays.asList(first, second, third)) {
+                Row actual = reader.read();
+                Assert.assertEquals(expected.id, actual.id);
+                Assert.assertEquals(expected.total, actual.total);
+                Assert.assertEquals(expected.amount, actual.amount, 0);
+                Assert.assertEquals(expected.active, actual.active);
+                Assert.assertEquals(expected.count, actual.count);
+                Assert.assertEquals(expected.name, actual.name);
+                Assert.assertEquals(expected.tags, actual.tags);
+            }
+            Assert.assertNull(reader.read());
+        }
+    }
+
+    @Test
+    public void testReuseAndErrors() throws Exception {
+        BeanDescriptor descriptor = Beanz.parse(Row.class);
+        String csv = "id,unknown,name\n1,x,one\n\n2,y,\"two\"\n3,z,three,extra\nfour,w,four\n";
+        try (CsvReader<Row> reader = new CsvReader<>(descriptor, new StringReader(csv))) {
+            Row row = new Row();
+            Assert.assertTrue(reader.readInto(row));
+            Assert.assertEquals(1, row.id);
+            Assert.assertEquals("one", row.name);
+            Assert.assertTrue(reader.readInto(row));
+            Assert.assertEquals(2, row.id);
+            Assert.assertEquals("two", row.name);
+            try {
+                reader.readInto(row);
+                Assert.fail("expected to throw");
+            } catch (IllegalArgumentException e) {
+                Assert.assertTrue(e.getMessage(), e.getMessage().contains("record 4"));
+            }
+            try {
+                reader.readInto(row);
+                Assert.fail("expected to throw");
+            } catch (IllegalArgumentException e) {
+                Assert.assertTrue(e.getMessage(), e.getMessage().contains("record 5"));
+                Assert.assertTrue(e.getCause() instanceof NumberFormatException);
+            }
+            Assert.assertFalse(reader.readInto(row));
+        }
+
+        try {
+            new CsvWriter<Row>(descriptor, Arrays.asList("id", "nope"), new StringWriter());
+            Assert.fail("expected to throw");
+        } catch (IllegalArgumentException expected) {
+            //expected
+        }
+    }
+
+    @Test
+    public void testSingleColumnAndNoRecords() throws Exception {
+        BeanDescriptor descriptor = Beanz.parse(Row.class);
+        Row named = new Row();
+        named.name = "n";
+        StringWriter csv = new StringWriter();
+        try (CsvWriter<Row> writer = new CsvWriter<>(descriptor, Arrays.asList("name"), csv)) {
+            writer.writeAll(Arrays.asList(new Row(), named, new Row()));
+        }
+        Assert.assertEquals("name\r\n\r\nn\r\n\r\n", csv.toString());
+        try (CsvReader<Row> reader = new CsvReader<>(descriptor, new StringReader(csv.toString()))) {
+            named.name = "not null";
+            Assert.assertTrue(reader.readInto(named));
+            Assert.assertNull(named.name); //an empty line is a null value, not skipped
+            Assert.assertEquals("n", reader.read().name);
+            Assert.assertNull(reader.read().name);
+            Assert.assertNull(reader.read());
+        }
+
+        //no records still means a header
+        csv = new StringWriter();
+        try (CsvWriter<Row> writer = new CsvWriter<>(descriptor, Arrays.asList("id", "name"), csv)) {
+            writer.writeAll(Collections.emptyList());
+        }
+        Assert.assertEquals("id,name\r\n", csv.toString());
+        try (CsvReader<Row> reader = new CsvReader<>(descriptor, new StringReader(csv.toString()))) {
+            Assert.assertEquals(Arrays.asList("id", "name"), reader.getHeader());
+            Assert.assertNull(reader.read());
+        }
+    }
+
+    public static class Row {
+        public int id;
+        public long total;
+        public double amount;
+        public boolean active;
+        public Integer count;
+        public String name;
+        public List<String> tags;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.json;
+
+import net.radai.beanz.Beanz;
+import net.radai.beanz.api.BeanDescriptor;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+public class JsonTest {
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        BeanDescriptor descriptor = Beanz.parse(Doc.class);
+        Doc doc = new Doc();
+        doc.id = 7;
+        doc.total = -3000000000L;
+        doc.ratio = Double.NaN;
+        doc.active = true;
+        doc.count = 3;
+        doc.name = "quote\" backslash\\ newline\n tab\t \u00e9\u4e2d\ud83d\ude00 \u0001";
+        doc.tags = Arrays.asList("a", null, "b,c");
+        doc.matrix = new int[][] {{1, 2}, {}, {3}};
+        doc.scores = new LinkedHashMap<>();
+        doc.scores.put("x", 1.5);
+        doc.scores.put("y", null);
+        doc.nested = new LinkedHashMap<>();
+        doc.nested.put(Color.RED, new TreeSet<>(Arrays.asList(2, 1)));
+        doc.date = new Date(1499990400000L);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonWriter<Doc> writer = new JsonWriter<>(descriptor, out)) {
+            writer.write(doc);
+            writer.write(new Doc());
+        }
+        String json = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        String[] lines = json.split("\n");
+        Assert.assertEquals(2, lines.length);
+        Assert.assertEquals("{\"active\":false,\"count\":null,\"date\":null,\"id\":0,\"matrix\":null,\"name\":null,"
+                + "\"nested\":null,\"ratio\":0.0,\"scores\":null,\"tags\":null,\"total\":0}", lines[1]);
+        Assert.assertTrue(lines[0], lines[0].contains("\"matrix\":[[1,2],[],[3]]"));
+        Assert.assertTrue(lines[0], lines[0].contains("\"ratio\":\"NaN\""));
+        Assert.assertTrue(lines[0], lines[0].contains("\"scores\":{\"x\":1.5,\"y\":null}"));
+        Assert.assertTrue(lines[0], lines[0].contains("\"nested\":{\"RED\":[1,2]}"));
+
+        try (JsonReader<Doc> reader = new JsonReader<>(descriptor, new ByteArrayInputStream(out.toByteArray()))) {
+            Doc read = reader.read();
+            Assert.assertEquals(doc.id, read.id);
+            Assert.assertEquals(doc.total, read.total);
+            Assert.assertTrue(Double.isNaN(read.ratio));
+            Assert.assertEquals(doc.active, read.active);
+            Assert.assertEquals(doc.count, read.count);
+            Assert.assertEquals(doc.name, read.name);
+            Assert.assertEquals(doc.tags, read.tags);
+            Assert.assertArrayEquals(doc.matrix, read.matrix);
+            Assert.assertEquals(doc.scores, read.scores);
+            Assert.assertEquals(doc.nested, read.nested);
+            Assert.assertEquals(doc.date, read.date);
+            Assert.assertTrue(reader.readInto(read));
+            Assert.assertEquals(0, read.id);
+            Assert.assertNull(read.name);
+            Assert.assertNull(reader.read());
+        }
+    }
+
+    @Test
+    public void testLenientAndMalformed() throws Exception {
+        BeanDescriptor descriptor = Beanz.parse(Doc.class);
+        String json = "{ \"unknown\" : {\"a\": [1, \"]\", {}]}, \"id\": \"12\", \"n\\u0061me\": \"x\\/y\", \"count\": 4 }\n"
+                + "{\"id\": 1.5}";
+        try (JsonReader<Doc> reader = new JsonReader<>(descriptor, new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))) {
+            Doc doc = reader.read();
+            Assert.assertEquals(12, doc.id);
+            Assert.assertEquals("x/y", doc.name);
+            Assert.assertEquals(Integer.valueOf(4), doc.count);
+            try {
+                reader.readInto(doc);
+                Assert.fail("expected to throw");
+            } catch (IllegalArgumentException e) {
+                Assert.assertTrue(e.getMessage(), e.getMessage().contains("id"));
+                Assert.assertTrue(e.getCause() instanceof NumberFormatException);
+            }
+        }
+        try (JsonReader<Doc> reader = new JsonReader<>(descriptor, new ByteArrayInputStream("{\"id\" 1}".getBytes(StandardCharsets.UTF_8)))) {
+            reader.read();
+            Assert.fail("expected to throw");
+        } catch (IllegalArgumentException expected) {
+            //expected
+        }
+    }
+
+    public enum Color {
+        RED, GREEN
+    }
+
+    public static class Doc {
+        public int id;
+        public long total;
+        public double ratio;
+        public boolean active;
+        public Integer count;
+        public String name;
+        public List<String> tags;
+        public int[][] matrix;
+        public Map<String, Double> scores;
+        public Map<Color, Set<Integer>> nested;
+        public Date date;
+        public Object ignored;
+    }
+}
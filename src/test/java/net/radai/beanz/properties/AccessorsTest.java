@@ -0,0 +1,261 @@
+/*
+ * Copyright 2017 Radai Rosenblat
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package net.radai.beanz.properties;
+
+import net.radai.beanz.Beanz;
+import net.radai.beanz.api.AccessStrategy;
+import net.radai.beanz.api.BeanAccessor;
+import net.radai.beanz.api.BeanDescriptor;
+import net.radai.beanz.api.FieldAccessMode;
+import net.radai.beanz.api.PropertyDescriptor;
+
+import java.io.IOException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AccessorsTest {
+
+    @Test
+    public void testMethodHandleAccess() throws Exception {
+        BeanDescriptor descriptor = Beanz.parse(MethodBean.class, Beanz.DEFAULT_IGNORE, AccessStrategy.METHOD_HANDLES);
+        Assert.assertNotSame(descriptor, Beanz.parse(MethodBean.class));
+        MethodBean bean = new MethodBean();
+
+        PropertyDescriptor intProp = descriptor.getProperty("intProp");
+        intProp.set(bean, 7);
+        Assert.assertEquals(7, bean.getIntProp());
+        Assert.assertEquals(7, intProp.get(bean));
+
+        PropertyDescriptor strProp = descriptor.getProperty("strProp");
+        strProp.set(bean, "bob");
+        Assert.assertEquals("bob", strProp.get(bean));
+        strProp.set(bean, null);
+        Assert.assertNull(strProp.get(bean));
+    }
+
+    @Test
+    public void testNonPublicClass() throws Exception {
+        Function<Object, Object> getter = Accessors.getter(HiddenBean.class.getMethod("getProp"), AccessStrategy.METHOD_HANDLES);
+        BiConsumer<Object, Object> setter = Accessors.setter(HiddenBean.class.getMethod("setProp", long.class), AccessStrategy.METHOD_HANDLES);
+        HiddenBean bean = new HiddenBean();
+        setter.accept(bean, 5L);
+        Assert.assertEquals(5L, getter.apply(bean));
+    }
+
+    @Test
+    public void testExceptions() throws Exception {
+        //same failures regardless of how members are accessed
+        for (AccessStrategy strategy : AccessStrategy.values()) {
+            Function<Object, Object> broken = Accessors.getter(MethodBean.class.getMethod("getBroken"), strategy);
+            Function<Object, Object> checked = Accessors.getter(MethodBean.class.getMethod("getChecked"), strategy);
+            BiConsumer<Object, Object> setter = Accessors.setter(MethodBean.class.getMethod("setIntProp", int.class), strategy);
+            assertFailure(IllegalStateException.class, UnsupportedOperationException.class, () -> broken.apply(new MethodBean()));
+            assertFailure(IllegalStateException.class, IOException.class, () -> checked.apply(new MethodBean()));
+            assertFailure(IllegalArgumentException.class, null, () -> broken.apply("not a bean"));
+            assertFailure(IllegalArgumentException.class, null, () -> setter.accept(new MethodBean(), null));
+            assertFailure(IllegalArgumentException.class, null, () -> setter.accept(new MethodBean(), "7"));
+
+            BeanAccessor accessor = Beanz.parse(MethodBean.class, Beanz.DEFAULT_IGNORE, strategy).getAccessor();
+            MethodBean bean = new MethodBean();
+            int intProp = accessor.indexOf("intProp");
+            assertFailure(IllegalStateException.class, UnsupportedOperationException.class, () -> accessor.get(bean, accessor.indexOf("broken")));
+            assertFailure(IllegalStateException.class, IOException.class, () -> accessor.get(bean, accessor.indexOf("checked")));
+            assertFailure(IllegalArgumentException.class, null, () -> accessor.get("not a bean", intProp));
+            assertFailure(IllegalArgumentException.class, null, () -> accessor.set(bean, intProp, null));
+            assertFailure(IllegalArgumentException.class, null, () -> accessor.set(bean, intProp, 7L));
+            accessor.set(bean, intProp, (short) 7); //widening is fine
+            Assert.assertEquals(7, bean.getIntProp());
+        }
+    }
+
+    private static void assertFailure(Class<? extends Throwable> expected, Class<? extends Throwable> cause, Runnable action) {
+        try {
+            action.run();
+            Assert.fail("expected a " + expected.getSimpleName());
+        } catch (Throwable t) {
+            Assert.assertEquals(expected, t.getClass());
+            if (cause != null) {
+                Assert.assertEquals(cause, t.getCause().getClass());
+            }
+        }
+    }
+
+    @Test
+    public void testFieldAccessModes() throws Exception {
+        for (AccessStrategy strategy : AccessStrategy.values()) {
+            for (FieldAccessMode mode : FieldAccessMode.values()) {
+                BeanDescriptor descriptor = Beanz.parse(FieldBean.class, Beanz.DEFAULT_IGNORE, strategy, mode);
+                FieldBean bean = new FieldBean();
+
+                PropertyDescriptor intField = descriptor.getProperty("intField");
+                Assert.assertTrue(intField.isWritable());
+                intField.set(bean, 3);
+                Assert.assertEquals(3, intField.get(bean));
+
+                PropertyDescriptor volatileField = descriptor.getProperty("volatileField");
+                volatileField.set(bean, "x");
+                Assert.assertEquals("x", volatileField.get(bean));
+
+                PropertyDescriptor finalField = descriptor.getProperty("finalField");
+                Assert.assertFalse(finalField.isWritable());
+                Assert.assertEquals(42L, finalField.get(bean));
+                try {
+                    finalField.set(bean, 43L);
+                    Assert.fail("final fields should not be writable");
+                } catch (IllegalStateException expected) {
+                    //expected
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPrimitiveAccess() throws Exception {
+        for (AccessStrategy strategy : AccessStrategy.values()) {
+            for (FieldAccessMode mode : FieldAccessMode.values()) {
+                BeanDescriptor descriptor = Beanz.parse(PrimitiveBean.class, Beanz.DEFAULT_IGNORE, strategy, mode);
+                PrimitiveBean bean = new PrimitiveBean();
+
+                PropertyDescriptor doubleField = descriptor.getProperty("doubleField");
+                doubleField.setDouble(bean, 1.5);
+                Assert.assertEquals(1.5, bean.doubleField, 0.0);
+                Assert.assertEquals(1.5, doubleField.getDouble(bean), 0.0);
+
+                PropertyDescriptor longProp = descriptor.getProperty("longProp");
+                longProp.setLong(bean, 7L);
+                Assert.assertEquals(7L, longProp.getLong(bean));
+                Assert.assertEquals(7.0, longProp.getDouble(bean), 0.0); //not native, goes through get() and widens
+                try {
+                    longProp.getInt(bean);
+                    Assert.fail("expected narrowing to fail");
+                } catch (IllegalArgumentException expected) {
+                    //expected
+                }
+
+                PropertyDescriptor flag = descriptor.getProperty("flag"); //getter + field
+                flag.setBoolean(bean, true);
+                Assert.assertTrue(flag.getBoolean(bean));
+
+                PropertyDescriptor boxed = descriptor.getProperty("boxed");
+                boxed.setInt(bean, 3);
+                Assert.assertEquals(3, boxed.getInt(bean));
+                boxed.set(bean, null);
+                try {
+                    boxed.getInt(bean);
+                    Assert.fail("expected null to not fit in an int");
+                } catch (NullPointerException expected) {
+                    //expected
+                }
+
+                //widening, like java would
+                PropertyDescriptor boxedLong = descriptor.getProperty("boxedLong");
+                boxedLong.setInt(bean, 5);
+                Assert.assertEquals(Long.valueOf(5), bean.boxedLong);
+                PropertyDescriptor number = descriptor.getProperty("number");
+                number.setLong(bean, 6L);
+                Assert.assertEquals(Long.valueOf(6), bean.number);
+                doubleField.setLong(bean, 7L);
+                Assert.assertEquals(7.0, bean.doubleField, 0.0);
+                try {
+                    boxedLong.setDouble(bean, 1.5);
+                    Assert.fail("expected narrowing to fail");
+                } catch (IllegalArgumentException expected) {
+                    //expected
+                }
+            }
+        }
+    }
+
+    public static class PrimitiveBean {
+        private double doubleField;
+        private long longProp;
+        private boolean flag;
+        private Integer boxed;
+        private Long boxedLong;
+        private Number number;
+
+        public long getLongProp() {
+            return longProp;
+        }
+
+        public void setLongProp(long longProp) {
+            this.longProp = longProp;
+        }
+
+        public boolean isFlag() {
+            return flag;
+        }
+    }
+
+    public static class FieldBean {
+        private int intField;
+        private volatile String volatileField;
+        private final long finalField = 42L;
+    }
+
+    public static class MethodBean {
+        private int intProp;
+        private String strProp;
+
+        public int getIntProp() {
+            return intProp;
+        }
+
+        public void setIntProp(int intProp) {
+            this.intProp = intProp;
+        }
+
+        public String getStrProp() {
+            return strProp;
+        }
+
+        public void setStrProp(String strProp) {
+            this.strProp = strProp;
+        }
+
+        public String getBroken() {
+            throw new UnsupportedOperationException();
+        }
+
+        public String getChecked() throws IOException {
+            throw new IOException("checked");
+        }
+    }
+
+    static class HiddenBean {
+        private long prop;
+
+        public long getProp() {
+            return prop;
+        }
+
+        public void setProp(long prop) {
+            this.prop = prop;
+        }
+    }
+}
@@ -26,7 +26,9 @@
 package net.radai.beanz.util;
 
 
+import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.Type;
+import java.util.List;
 import java.util.Map;
 import org.junit.Assert;
 import org.junit.Test;
@@ -35,6 +37,8 @@ import org.junit.Test;
 public class ReflectionUtilTest {
     @SuppressWarnings("unused") //it is, via reflection
     private Map<String, String> map;
+    @SuppressWarnings("unused")
+    private Map.Entry<String, Integer>[] entries;
 
     @Test
     public void testErase() throws Exception {
@@ -42,4 +46,36 @@ public class ReflectionUtilTest {
         Assert.assertNotEquals(Map.class, mapType);
         Assert.assertEquals(Map.class, ReflectionUtil.erase(mapType));
     }
+
+    @Test
+    public void testParameterize() throws Exception {
+        Type mapType = getClass().getDeclaredField("map").getGenericType();
+        Type built = ReflectionUtil.parameterize(Map.class, String.class, String.class);
+        Assert.assertEquals(mapType, built);
+        Assert.assertEquals(built, mapType);
+        Assert.assertEquals(mapType.hashCode(), built.hashCode());
+        Assert.assertNotEquals(mapType, ReflectionUtil.parameterize(Map.class, String.class, Integer.class));
+
+        Type entriesType = getClass().getDeclaredField("entries").getGenericType();
+        Type builtEntries = ReflectionUtil.arrayOf(ReflectionUtil.parameterize(Map.Entry.class, String.class, Integer.class));
+        Assert.assertEquals(entriesType, builtEntries);
+        Assert.assertEquals(builtEntries, entriesType);
+        Assert.assertEquals(entriesType.hashCode(), builtEntries.hashCode());
+        Assert.assertEquals(String[].class, ReflectionUtil.arrayOf(String.class));
+
+        //a generic array of a plain class isnt equal to the array class, until canonicalized
+        GenericArrayType stringArray = () -> String.class;
+        Type listOfArrays = ReflectionUtil.parameterize(List.class, stringArray);
+        Assert.assertNotEquals(ReflectionUtil.parameterize(List.class, String[].class), listOfArrays);
+        Assert.assertEquals(ReflectionUtil.parameterize(List.class, String[].class), ReflectionUtil.canonicalize(listOfArrays));
+        Assert.assertSame(mapType, ReflectionUtil.canonicalize(mapType));
+        Assert.assertSame(entriesType, ReflectionUtil.canonicalize(entriesType));
+
+        try {
+            ReflectionUtil.parameterize(List.class, String.class, String.class);
+            Assert.fail("expected wrong number of type arguments to fail");
+        } catch (IllegalArgumentException expected) {
+            //expected
+        }
+    }
 }